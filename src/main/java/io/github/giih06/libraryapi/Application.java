@@ -3,9 +3,11 @@ package io.github.giih06.libraryapi;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableJpaAuditing // Habbilita anotações de auditoria na aplicação
+@EnableScheduling // Habilita as tarefas agendadas (ex.: reconciliação dos contadores de livros dos autores)
 public class Application {
 
 	public static void main(String[] args) {
@@ -0,0 +1,452 @@
+package io.github.giih06.libraryapi.busca;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Árvore de prefixos (radix tree) em memória para sugestões de autocompletar.
+ *
+ * Cada item é indexado pelo seu texto normalizado (sem acentos, em minúsculas e com a pontuação
+ * trocada por espaços) e possui uma popularidade. Trechos sem ramificação ficam em um único nó,
+ * então a árvore tem no máximo dois nós por item.
+ *
+ * Cada nó guarda os itens mais populares da sua subárvore (até {@code maximoSugestoes}), atualizados
+ * a cada alteração apenas ao longo do caminho do item. A sugestão percorre somente os caracteres do
+ * prefixo e devolve a lista já pronta do nó, então o custo não depende da quantidade de itens.
+ *
+ * A classe é segura para uso concorrente: várias sugestões podem ser feitas em paralelo e as
+ * alterações são exclusivas.
+ *
+ * @param <K> tipo da chave que identifica cada item
+ */
+public class ArvorePrefixos<K> {
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{Alnum}]+");
+
+    // mais populares primeiro; em caso de empate, em ordem alfabética
+    private static final Comparator<Item<?>> ORDEM = Comparator
+            .comparingLong((Item<?> item) -> item.popularidade()).reversed()
+            .thenComparing(Item::normalizado)
+            .thenComparing(Item::texto);
+
+    private final int maximoSugestoes;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<K, Item<K>> itens = new HashMap<>();
+    private final No<K> raiz = new No<>("");
+
+    /**
+     * @param maximoSugestoes quantidade máxima de sugestões guardadas em cada nó (e retornadas por consulta)
+     */
+    public ArvorePrefixos(int maximoSugestoes) {
+        this.maximoSugestoes = maximoSugestoes;
+    }
+
+    /**
+     * Adiciona o item à árvore, substituindo o texto e a popularidade caso já esteja indexado.
+     *
+     * @param chave        identificador do item
+     * @param texto        texto sugerido, usado também na busca pelo prefixo
+     * @param popularidade ordem das sugestões (maior primeiro)
+     */
+    public void definir(K chave, String texto, long popularidade) {
+        Item<K> item = new Item<>(chave, texto, normalizar(texto), popularidade);
+        lock.writeLock().lock();
+        try {
+            substituir(itens.put(chave, item), item);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Soma a variação à popularidade do item. Não faz nada se o item não estiver indexado.
+     *
+     * @param chave    identificador do item
+     * @param variacao valor somado à popularidade (negativo para diminuir)
+     * @return nova popularidade, ou null se o item não estiver indexado
+     */
+    public Long somarPopularidade(K chave, long variacao) {
+        lock.writeLock().lock();
+        try {
+            Item<K> atual = itens.get(chave);
+            if (atual == null) {
+                return null;
+            }
+
+            Item<K> item = new Item<>(chave, atual.texto(), atual.normalizado(), atual.popularidade() + variacao);
+            substituir(itens.put(chave, item), item);
+            return item.popularidade();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove o item da árvore. Não faz nada se o item não estiver indexado.
+     *
+     * @param chave identificador do item
+     */
+    public void remover(K chave) {
+        lock.writeLock().lock();
+        try {
+            Item<K> item = itens.remove(chave);
+            if (item != null) {
+                substituir(item, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param chave identificador do item
+     * @return texto e popularidade do item, ou null se não estiver indexado
+     */
+    public Item<K> obter(K chave) {
+        lock.readLock().lock();
+        try {
+            return itens.get(chave);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return quantidade de itens indexados
+     */
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return itens.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna os itens mais populares cujo texto começa com o prefixo, ignorando acentos,
+     * maiúsculas/minúsculas e pontuação (a pontuação ou os espaços ao final contam como o fim de uma palavra).
+     *
+     * @param prefixo    início do texto digitado
+     * @param quantidade quantidade máxima de sugestões (limitada a {@code maximoSugestoes})
+     * @return itens encontrados, do mais popular para o menos popular
+     */
+    public List<Item<K>> sugerir(String prefixo, int quantidade) {
+        // o espaço ao final é mantido: "o pequeno " não sugere "o pequenos"
+        String normalizado = separar(semAcentos(prefixo)).stripLeading();
+        lock.readLock().lock();
+        try {
+            No<K> no = raiz;
+            int posicao = 0;
+            while (posicao < normalizado.length()) {
+                No<K> filho = no.filho(normalizado.charAt(posicao));
+                if (filho == null) {
+                    return List.of();
+                }
+
+                String restante = normalizado.substring(posicao);
+                if (restante.length() <= filho.rotulo.length()) {
+                    // o prefixo termina no meio (ou no fim) do rótulo do filho
+                    if (!filho.rotulo.startsWith(restante)) {
+                        return List.of();
+                    }
+                    no = filho;
+                    break;
+                }
+                if (!restante.startsWith(filho.rotulo)) {
+                    return List.of();
+                }
+                no = filho;
+                posicao += filho.rotulo.length();
+            }
+
+            return no.melhores.subList(0, Math.min(quantidade, no.melhores.size()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Normaliza o texto para a busca por prefixo: sem acentos, em minúsculas, com qualquer sequência
+     * de caracteres que não sejam letras ou números trocada por um único espaço.
+     */
+    static String normalizar(String texto) {
+        return separar(semAcentos(texto)).strip();
+    }
+
+    private static String semAcentos(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        return ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    private static String separar(String texto) {
+        return SEPARADORES.matcher(texto).replaceAll(" ");
+    }
+
+    /**
+     * Troca a versão anterior do item (ou null, se é novo) pela nova (ou null, para remover).
+     * Se o texto não mudou, apenas os mais populares do caminho são atualizados.
+     */
+    private void substituir(Item<K> anterior, Item<K> novo) {
+        if (anterior != null && novo != null && anterior.normalizado().equals(novo.normalizado())) {
+            List<No<K>> caminho = caminho(novo.normalizado());
+            List<Item<K>> itensDoNo = caminho.get(caminho.size() - 1).itens;
+            itensDoNo.set(itensDoNo.indexOf(anterior), novo);
+            for (int i = caminho.size() - 1; i >= 0; i--) {
+                atualizarMelhores(caminho.get(i), anterior, novo);
+            }
+            return;
+        }
+
+        if (anterior != null) {
+            removerItem(anterior);
+        }
+        if (novo != null) {
+            inserir(novo);
+        }
+    }
+
+    /**
+     * Insere o item no nó do seu texto normalizado, dividindo rótulos quando necessário,
+     * e atualiza os mais populares do caminho.
+     */
+    private void inserir(Item<K> item) {
+        String texto = item.normalizado();
+        List<No<K>> caminho = new ArrayList<>();
+        caminho.add(raiz);
+
+        No<K> no = raiz;
+        int posicao = 0;
+        while (posicao < texto.length()) {
+            No<K> filho = no.filho(texto.charAt(posicao));
+            if (filho == null) {
+                filho = new No<>(texto.substring(posicao));
+                no.adicionarFilho(filho);
+                no = filho;
+                caminho.add(no);
+                break;
+            }
+
+            int comum = prefixoComum(filho.rotulo, texto, posicao);
+            if (comum < filho.rotulo.length()) {
+                filho = dividir(no, filho, comum);
+            }
+            no = filho;
+            caminho.add(no);
+            posicao += comum;
+        }
+
+        no.itens.add(item);
+        for (int i = caminho.size() - 1; i >= 0; i--) {
+            atualizarMelhores(caminho.get(i), null, item);
+        }
+    }
+
+    private void removerItem(Item<K> item) {
+        List<No<K>> caminho = caminho(item.normalizado());
+        No<K> no = caminho.get(caminho.size() - 1);
+        no.itens.remove(item);
+
+        for (int i = caminho.size() - 1; i >= 0; i--) {
+            No<K> atual = caminho.get(i);
+            if (i > 0) {
+                compactar(caminho.get(i - 1), atual);
+            }
+            atualizarMelhores(atual, item, null);
+        }
+    }
+
+    /**
+     * Nós do caminho da raiz até o nó do texto normalizado, que deve existir na árvore.
+     */
+    private List<No<K>> caminho(String texto) {
+        List<No<K>> caminho = new ArrayList<>();
+        caminho.add(raiz);
+
+        No<K> no = raiz;
+        int posicao = 0;
+        while (posicao < texto.length()) {
+            no = no.filho(texto.charAt(posicao));
+            caminho.add(no);
+            posicao += no.rotulo.length();
+        }
+        return caminho;
+    }
+
+    /**
+     * Remove o nó sem itens e sem filhos, ou junta o nó sem itens ao seu único filho,
+     * mantendo no máximo um nó por trecho sem ramificação.
+     */
+    private void compactar(No<K> pai, No<K> no) {
+        if (!no.itens.isEmpty()) {
+            return;
+        }
+        if (no.filhos.length == 0) {
+            pai.removerFilho(no);
+        } else if (no.filhos.length == 1) {
+            No<K> filho = no.filhos[0];
+            filho.rotulo = no.rotulo + filho.rotulo;
+            pai.substituirFilho(no, filho);
+        }
+    }
+
+    /**
+     * Divide o rótulo do filho após {@code comum} caracteres, criando um nó intermediário.
+     */
+    private No<K> dividir(No<K> pai, No<K> filho, int comum) {
+        No<K> intermediario = new No<>(filho.rotulo.substring(0, comum));
+        pai.substituirFilho(filho, intermediario);
+        filho.rotulo = filho.rotulo.substring(comum);
+        intermediario.adicionarFilho(filho);
+        intermediario.melhores = filho.melhores;
+        return intermediario;
+    }
+
+    /**
+     * Atualiza os mais populares do nó após a troca de um item da subárvore (anterior ou novo podem ser null).
+     *
+     * Só recalcula a partir dos filhos quando um item que estava entre os mais populares piorou ou saiu,
+     * pois outro item pode ter passado à frente; nos demais casos basta posicionar o novo item na lista.
+     */
+    private void atualizarMelhores(No<K> no, Item<K> anterior, Item<K> novo) {
+        boolean continha = anterior != null && no.melhores.contains(anterior);
+        if (continha && (novo == null || ORDEM.compare(novo, anterior) > 0)) {
+            recalcular(no);
+            return;
+        }
+        if (novo == null) {
+            return;
+        }
+
+        List<Item<K>> melhores = new ArrayList<>(no.melhores);
+        if (continha) {
+            melhores.remove(anterior);
+        }
+        int posicao = Collections.binarySearch(melhores, novo, ORDEM);
+        if (posicao < 0) {
+            posicao = -posicao - 1;
+        }
+        // se o item anterior estava na lista, o novo (que não é pior) ocupa no máximo a mesma posição
+        if (posicao < maximoSugestoes) {
+            melhores.add(posicao, novo);
+            if (melhores.size() > maximoSugestoes) {
+                melhores.remove(melhores.size() - 1);
+            }
+            no.melhores = List.copyOf(melhores);
+        }
+    }
+
+    /**
+     * Recalcula os mais populares do nó a partir dos seus itens e dos mais populares de cada filho.
+     */
+    private void recalcular(No<K> no) {
+        List<Item<K>> candidatos = new ArrayList<>(no.itens);
+        for (No<K> filho : no.filhos) {
+            candidatos.addAll(filho.melhores);
+        }
+        candidatos.sort(ORDEM);
+        no.melhores = List.copyOf(candidatos.subList(0, Math.min(maximoSugestoes, candidatos.size())));
+    }
+
+    private static int prefixoComum(String rotulo, String texto, int posicao) {
+        int limite = Math.min(rotulo.length(), texto.length() - posicao);
+        int comum = 0;
+        while (comum < limite && rotulo.charAt(comum) == texto.charAt(posicao + comum)) {
+            comum++;
+        }
+        return comum;
+    }
+
+    /**
+     * Item sugerido.
+     *
+     * @param chave        identificador do item
+     * @param texto        texto original
+     * @param normalizado  texto normalizado, usado na busca pelo prefixo
+     * @param popularidade ordem das sugestões (maior primeiro)
+     */
+    public record Item<K>(K chave, String texto, String normalizado, long popularidade) {
+    }
+
+    /**
+     * Nó da árvore. Os filhos ficam em vetores ordenados pelo primeiro caractere do rótulo,
+     * em vez de um mapa, para ocupar menos memória.
+     */
+    private static final class No<K> {
+
+        private static final char[] SEM_PRIMEIROS = new char[0];
+
+        // trecho do texto entre o nó pai e este nó
+        private String rotulo;
+        private char[] primeiros = SEM_PRIMEIROS;
+        private No<K>[] filhos = novoVetor(0);
+        // itens cujo texto normalizado termina neste nó (textos iguais de itens diferentes)
+        private final List<Item<K>> itens = new ArrayList<>(1);
+        // itens mais populares da subárvore, já ordenados
+        private List<Item<K>> melhores = List.of();
+
+        No(String rotulo) {
+            this.rotulo = rotulo;
+        }
+
+        No<K> filho(char primeiro) {
+            int indice = Arrays.binarySearch(primeiros, primeiro);
+            return indice < 0 ? null : filhos[indice];
+        }
+
+        void adicionarFilho(No<K> filho) {
+            int indice = -Arrays.binarySearch(primeiros, filho.rotulo.charAt(0)) - 1;
+            char[] novosPrimeiros = new char[primeiros.length + 1];
+            No<K>[] novosFilhos = novoVetor(filhos.length + 1);
+
+            System.arraycopy(primeiros, 0, novosPrimeiros, 0, indice);
+            System.arraycopy(filhos, 0, novosFilhos, 0, indice);
+            novosPrimeiros[indice] = filho.rotulo.charAt(0);
+            novosFilhos[indice] = filho;
+            System.arraycopy(primeiros, indice, novosPrimeiros, indice + 1, primeiros.length - indice);
+            System.arraycopy(filhos, indice, novosFilhos, indice + 1, filhos.length - indice);
+
+            primeiros = novosPrimeiros;
+            filhos = novosFilhos;
+        }
+
+        void removerFilho(No<K> filho) {
+            int indice = Arrays.binarySearch(primeiros, filho.rotulo.charAt(0));
+            char[] novosPrimeiros = new char[primeiros.length - 1];
+            No<K>[] novosFilhos = novoVetor(filhos.length - 1);
+
+            System.arraycopy(primeiros, 0, novosPrimeiros, 0, indice);
+            System.arraycopy(filhos, 0, novosFilhos, 0, indice);
+            System.arraycopy(primeiros, indice + 1, novosPrimeiros, indice, primeiros.length - indice - 1);
+            System.arraycopy(filhos, indice + 1, novosFilhos, indice, filhos.length - indice - 1);
+
+            primeiros = novosPrimeiros;
+            filhos = novosFilhos;
+        }
+
+        // o novo filho começa com o mesmo caractere do anterior, então a posição não muda
+        void substituirFilho(No<K> anterior, No<K> novo) {
+            filhos[Arrays.binarySearch(primeiros, anterior.rotulo.charAt(0))] = novo;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <K> No<K>[] novoVetor(int tamanho) {
+            return (No<K>[]) new No[tamanho];
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package io.github.giih06.libraryapi.busca;
+
+import java.util.UUID;
+
+/**
+ * Dados de um autor carregados no índice de sugestões em memória.
+ *
+ * @param id   identificador do autor
+ * @param nome nome do autor
+ */
+public record DocumentoAutor(UUID id, String nome) {
+}
@@ -0,0 +1,56 @@
+package io.github.giih06.libraryapi.busca;
+
+import io.github.giih06.libraryapi.model.GeneroLivro;
+import io.github.giih06.libraryapi.model.Livro;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Dados de um livro mantidos no índice de busca em memória.
+ *
+ * @param id             identificador do livro
+ * @param isbn           ISBN do livro
+ * @param titulo         título do livro
+ * @param idAutor        identificador do autor
+ * @param nomeAutor      nome do autor
+ * @param genero         gênero do livro, usado para filtrar os resultados
+ * @param dataPublicacao data de publicação do livro, usada para filtrar os resultados pelo ano
+ */
+public record DocumentoLivro(
+        UUID id,
+        String isbn,
+        String titulo,
+        UUID idAutor,
+        String nomeAutor,
+        GeneroLivro genero,
+        LocalDate dataPublicacao) {
+
+    /**
+     * Cria o documento a partir da entidade. O autor do livro precisa estar carregado.
+     */
+    public static DocumentoLivro de(Livro livro) {
+        return de(livro, livro.getAutor().getNome());
+    }
+
+    /**
+     * Cria o documento a partir da entidade com o nome do autor informado.
+     */
+    public static DocumentoLivro de(Livro livro, String nomeAutor) {
+        return new DocumentoLivro(
+                livro.getId(),
+                livro.getIsbn(),
+                livro.getTitulo(),
+                livro.getAutor().getId(),
+                nomeAutor,
+                livro.getGenero(),
+                livro.getDataPublicacao());
+    }
+
+    /**
+     * @return cópia do documento com outro nome de autor
+     */
+    public DocumentoLivro comNomeAutor(String nome) {
+        return new DocumentoLivro(id, isbn, titulo, idAutor, nome, genero, dataPublicacao);
+    }
+}
@@ -0,0 +1,568 @@
+package io.github.giih06.libraryapi.busca;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido em memória sobre o título, o ISBN e o nome do autor dos livros.
+ *
+ * Cada campo possui seu próprio índice (termo -> livros que contêm o termo), e os resultados
+ * são ordenados pelo BM25. Os termos pesquisados são normalizados (sem acentos e em minúsculas)
+ * e aceitam erros de digitação: termos com até 2 caracteres precisam ser exatos, até 5 aceitam
+ * uma edição e os maiores, até duas (inserção, remoção, substituição ou troca de caracteres vizinhos).
+ * Números e o ISBN só são encontrados de forma exata, pois um dígito diferente já é outro valor.
+ *
+ * Todos os termos pesquisados precisam ser encontrados no campo, assim como na busca por LIKE.
+ * A classe é segura para uso concorrente: várias buscas podem ser feitas em paralelo e as
+ * alterações são exclusivas.
+ */
+public class IndiceInvertido {
+
+    /**
+     * Campos indexados de cada livro.
+     */
+    public enum Campo { TITULO, ISBN, AUTOR }
+
+    // parâmetros padrão do BM25
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // peso do termo encontrado conforme a quantidade de edições (0, 1 ou 2)
+    private static final double[] PESO_EDICOES = {1.0, 0.6, 0.35};
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{Alnum}]+");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, DocumentoLivro> documentos = new HashMap<>();
+    private final Map<UUID, Set<UUID>> livrosPorAutor = new HashMap<>();
+    private final Map<Campo, IndiceCampo> campos = new EnumMap<>(Campo.class);
+
+    public IndiceInvertido() {
+        for (Campo campo : Campo.values()) {
+            campos.put(campo, new IndiceCampo(campo != Campo.ISBN));
+        }
+    }
+
+    /**
+     * Adiciona o livro ao índice, substituindo a versão anterior caso já esteja indexado.
+     *
+     * @param documento dados do livro
+     */
+    public void indexar(DocumentoLivro documento) {
+        lock.writeLock().lock();
+        try {
+            removerDocumento(documento.id());
+            adicionarDocumento(documento);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove o livro do índice. Não faz nada se o livro não estiver indexado.
+     *
+     * @param id identificador do livro
+     */
+    public void remover(UUID id) {
+        lock.writeLock().lock();
+        try {
+            removerDocumento(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reindexa o nome do autor em todos os livros dele.
+     *
+     * @param idAutor identificador do autor
+     * @param nome    novo nome do autor
+     */
+    public void atualizarAutor(UUID idAutor, String nome) {
+        lock.writeLock().lock();
+        try {
+            List<DocumentoLivro> livros = livrosPorAutor.getOrDefault(idAutor, Set.of())
+                    .stream()
+                    .map(documentos::get)
+                    .toList();
+
+            for (DocumentoLivro livro : livros) {
+                removerDocumento(livro.id());
+                adicionarDocumento(livro.comNomeAutor(nome));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna o nome do autor registrado nos livros dele já indexados.
+     *
+     * @param idAutor identificador do autor
+     * @return nome do autor, ou vazio se nenhum livro do autor estiver indexado
+     */
+    public Optional<String> nomeAutor(UUID idAutor) {
+        lock.readLock().lock();
+        try {
+            return livrosPorAutor.getOrDefault(idAutor, Set.of())
+                    .stream()
+                    .findAny()
+                    .map(id -> documentos.get(id).nomeAutor());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return quantidade de livros indexados
+     */
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return documentos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Pesquisa os livros pelos termos informados, ignorando os parâmetros nulos ou vazios.
+     * Quando mais de um campo é pesquisado, o livro precisa atender a todos eles e a
+     * pontuação final é a soma das pontuações de cada campo.
+     *
+     * @param titulo    termos pesquisados no título
+     * @param isbn      ISBN pesquisado (pontuação e hífens são ignorados)
+     * @param nomeAutor termos pesquisados no nome do autor
+     * @param limite    quantidade máxima de resultados
+     * @return IDs dos livros encontrados, do mais relevante para o menos relevante
+     */
+    public List<UUID> buscar(String titulo, String isbn, String nomeAutor, int limite) {
+        return buscar(titulo, isbn, nomeAutor, documento -> true, limite).ids();
+    }
+
+    /**
+     * Pesquisa os livros pelos termos informados considerando apenas os que atendem ao filtro.
+     *
+     * O filtro é aplicado antes do limite, de modo que os resultados e o total correspondem
+     * a todos os livros encontrados que o atendem.
+     *
+     * @param titulo    termos pesquisados no título
+     * @param isbn      ISBN pesquisado (pontuação e hífens são ignorados)
+     * @param nomeAutor termos pesquisados no nome do autor
+     * @param filtro    condição que os livros encontrados precisam atender
+     * @param limite    quantidade máxima de IDs retornados
+     * @return IDs dos livros mais relevantes e o total de livros encontrados
+     */
+    public Resultado buscar(String titulo, String isbn, String nomeAutor,
+                            Predicate<DocumentoLivro> filtro, int limite) {
+        lock.readLock().lock();
+        try {
+            List<ConsultaCampo> consultas = new ArrayList<>();
+            for (Campo campo : Campo.values()) {
+                String texto = switch (campo) {
+                    case TITULO -> titulo;
+                    case ISBN -> isbn;
+                    case AUTOR -> nomeAutor;
+                };
+                if (texto != null && !texto.isBlank()) {
+                    IndiceCampo indiceCampo = campos.get(campo);
+                    consultas.add(new ConsultaCampo(indiceCampo, indiceCampo.preparar(termos(campo, texto))));
+                }
+            }
+
+            // o campo mais seletivo é pesquisado primeiro; os demais só pontuam os livros já encontrados
+            consultas.sort(Comparator.comparingInt(consulta -> consulta.indice().menorQuantidadeLivros(consulta.termos())));
+
+            Map<UUID, Double> pontuacao = null;
+            for (ConsultaCampo consulta : consultas) {
+                Map<UUID, Double> pontuacaoCampo = consulta.indice()
+                        .pontuar(consulta.termos(), pontuacao == null ? null : pontuacao.keySet());
+                if (pontuacao == null) {
+                    pontuacao = pontuacaoCampo;
+                } else {
+                    Map<UUID, Double> anterior = pontuacao;
+                    pontuacao = new HashMap<>(pontuacaoCampo);
+                    pontuacao.replaceAll((id, valor) -> valor + anterior.get(id));
+                }
+            }
+
+            if (pontuacao == null) {
+                return new Resultado(List.of(), 0);
+            }
+
+            // pontuar pode devolver um mapa imutável, então os filtrados vão para um novo mapa
+            Map<UUID, Double> filtrados = new HashMap<>();
+            pontuacao.forEach((id, valor) -> {
+                if (filtro.test(documentos.get(id))) {
+                    filtrados.put(id, valor);
+                }
+            });
+
+            return new Resultado(melhores(filtrados, limite), filtrados.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Seleciona os livros de maior pontuação (em caso de empate, pelo ID) sem ordenar todos os resultados.
+     */
+    private static List<UUID> melhores(Map<UUID, Double> pontuacao, int limite) {
+        Comparator<Map.Entry<UUID, Double>> relevancia = Map.Entry.<UUID, Double>comparingByValue()
+                .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder()));
+
+        // fila com os piores no topo, para descartá-los quando passar do limite
+        PriorityQueue<Map.Entry<UUID, Double>> fila = new PriorityQueue<>(relevancia);
+        for (Map.Entry<UUID, Double> entrada : pontuacao.entrySet()) {
+            fila.offer(entrada);
+            if (fila.size() > limite) {
+                fila.poll();
+            }
+        }
+
+        List<UUID> resultado = new ArrayList<>(fila.size());
+        while (!fila.isEmpty()) {
+            resultado.add(fila.poll().getKey());
+        }
+        Collections.reverse(resultado);
+        return resultado;
+    }
+
+    private void adicionarDocumento(DocumentoLivro documento) {
+        documentos.put(documento.id(), documento);
+        livrosPorAutor.computeIfAbsent(documento.idAutor(), id -> new HashSet<>()).add(documento.id());
+        for (Campo campo : Campo.values()) {
+            campos.get(campo).adicionar(documento.id(), termos(campo, valor(campo, documento)));
+        }
+    }
+
+    private void removerDocumento(UUID id) {
+        DocumentoLivro documento = documentos.remove(id);
+        if (documento == null) {
+            return;
+        }
+
+        Set<UUID> livrosDoAutor = livrosPorAutor.get(documento.idAutor());
+        if (livrosDoAutor != null) {
+            livrosDoAutor.remove(id);
+            if (livrosDoAutor.isEmpty()) {
+                livrosPorAutor.remove(documento.idAutor());
+            }
+        }
+
+        for (Campo campo : Campo.values()) {
+            campos.get(campo).remover(id, termos(campo, valor(campo, documento)));
+        }
+    }
+
+    private static String valor(Campo campo, DocumentoLivro documento) {
+        return switch (campo) {
+            case TITULO -> documento.titulo();
+            case ISBN -> documento.isbn();
+            case AUTOR -> documento.nomeAutor();
+        };
+    }
+
+    /**
+     * Quebra o texto em termos normalizados. O ISBN é tratado como um único termo,
+     * sem hífens ou espaços.
+     */
+    static List<String> termos(Campo campo, String texto) {
+        if (texto == null) {
+            return List.of();
+        }
+
+        String normalizado = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+
+        if (campo == Campo.ISBN) {
+            String isbn = SEPARADORES.matcher(normalizado).replaceAll("");
+            return isbn.isEmpty() ? List.of() : List.of(isbn);
+        }
+
+        return Arrays.stream(SEPARADORES.split(normalizado))
+                .filter(termo -> !termo.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Quantidade de edições aceitas conforme o tamanho do termo pesquisado (zero para números).
+     */
+    static int edicoesPermitidas(String termo) {
+        if (termo.length() <= 2 || termo.chars().anyMatch(Character::isDigit)) {
+            return 0;
+        }
+        return termo.length() <= 5 ? 1 : 2;
+    }
+
+    /**
+     * Distância de edição entre dois termos (Damerau-Levenshtein restrita), considerando
+     * a troca de dois caracteres vizinhos como uma única edição.
+     *
+     * Interrompe o cálculo assim que a distância ultrapassa o máximo e, nesse caso,
+     * retorna {@code maximo + 1}.
+     */
+    static int distancia(String a, String b, int maximo) {
+        if (Math.abs(a.length() - b.length()) > maximo) {
+            return maximo + 1;
+        }
+
+        int[] anterior2 = new int[b.length() + 1];
+        int[] anterior = new int[b.length() + 1];
+        int[] atual = new int[b.length() + 1];
+
+        for (int j = 0; j <= b.length(); j++) {
+            anterior[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            atual[0] = i;
+            int menorDaLinha = atual[0];
+
+            for (int j = 1; j <= b.length(); j++) {
+                int custo = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                atual[j] = Math.min(Math.min(anterior[j] + 1, atual[j - 1] + 1), anterior[j - 1] + custo);
+
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    atual[j] = Math.min(atual[j], anterior2[j - 2] + 1);
+                }
+                menorDaLinha = Math.min(menorDaLinha, atual[j]);
+            }
+
+            if (menorDaLinha > maximo) {
+                return maximo + 1;
+            }
+
+            int[] descartada = anterior2;
+            anterior2 = anterior;
+            anterior = atual;
+            atual = descartada;
+        }
+
+        return Math.min(anterior[b.length()], maximo + 1);
+    }
+
+    /**
+     * Resultado de uma pesquisa no índice.
+     *
+     * @param ids   IDs dos livros mais relevantes, limitados pela quantidade pedida
+     * @param total quantidade de livros encontrados, sem o limite
+     */
+    public record Resultado(List<UUID> ids, int total) {
+    }
+
+    private record ConsultaCampo(IndiceCampo indice, List<Map<String, Integer>> termos) {
+    }
+
+    /**
+     * Índice de um único campo: lista de livros por termo, tamanho de cada documento
+     * (em termos) e o vocabulário agrupado por tamanho, usado na busca aproximada.
+     */
+    private static final class IndiceCampo {
+
+        // indica se o campo aceita termos aproximados
+        private final boolean aproximado;
+
+        private final Map<String, Map<UUID, Integer>> livrosPorTermo = new HashMap<>();
+        private final Map<Integer, Set<String>> termosPorTamanho = new HashMap<>();
+        private final Map<UUID, Integer> tamanhos = new HashMap<>();
+        private long somaTamanhos;
+
+        IndiceCampo(boolean aproximado) {
+            this.aproximado = aproximado;
+        }
+
+        void adicionar(UUID id, List<String> termos) {
+            if (termos.isEmpty()) {
+                return;
+            }
+
+            tamanhos.put(id, termos.size());
+            somaTamanhos += termos.size();
+
+            for (String termo : termos) {
+                livrosPorTermo.computeIfAbsent(termo, novo -> {
+                    // só entram no vocabulário da busca aproximada os termos que aceitam edições
+                    if (aproximado && edicoesPermitidas(novo) > 0) {
+                        termosPorTamanho.computeIfAbsent(novo.length(), tamanho -> new HashSet<>()).add(novo);
+                    }
+                    return new HashMap<>();
+                }).merge(id, 1, Integer::sum);
+            }
+        }
+
+        void remover(UUID id, List<String> termos) {
+            Integer tamanho = tamanhos.remove(id);
+            if (tamanho == null) {
+                return;
+            }
+            somaTamanhos -= tamanho;
+
+            for (String termo : new HashSet<>(termos)) {
+                Map<UUID, Integer> livros = livrosPorTermo.get(termo);
+                if (livros == null) {
+                    continue;
+                }
+
+                livros.remove(id);
+                if (livros.isEmpty()) {
+                    livrosPorTermo.remove(termo);
+                    Set<String> mesmoTamanho = termosPorTamanho.get(termo.length());
+                    if (mesmoTamanho != null && mesmoTamanho.remove(termo) && mesmoTamanho.isEmpty()) {
+                        termosPorTamanho.remove(termo.length());
+                    }
+                }
+            }
+        }
+
+        /**
+         * Calcula a pontuação BM25 dos livros que contêm todos os termos da consulta.
+         * Para cada termo é considerada a melhor variação encontrada no livro
+         * (o próprio termo ou um termo aproximado, com peso menor).
+         *
+         * Os termos são avaliados do mais raro para o mais comum: só o primeiro percorre a lista
+         * completa de livros, e os demais apenas conferem os livros que ainda são candidatos.
+         *
+         * @param termos    termos pesquisados, preparados por {@link #preparar}
+         * @param restricao livros já selecionados por outro campo (null para considerar todos)
+         */
+        Map<UUID, Double> pontuar(List<Map<String, Integer>> termos, Set<UUID> restricao) {
+            if (termos.isEmpty() || tamanhos.isEmpty()) {
+                return Map.of();
+            }
+
+            Map<UUID, Double> resultado = null;
+            for (Map<String, Integer> candidatos : termos) {
+                if (resultado == null && restricao == null) {
+                    resultado = pontuarTodos(candidatos);
+                } else {
+                    resultado = pontuarCandidatos(candidatos, resultado != null ? resultado : mapaVazio(restricao));
+                }
+
+                if (resultado.isEmpty()) {
+                    break;
+                }
+            }
+            return resultado;
+        }
+
+        /**
+         * Encontra as variações de cada termo pesquisado no vocabulário e ordena os termos
+         * do mais raro para o mais comum.
+         */
+        List<Map<String, Integer>> preparar(List<String> consulta) {
+            return new LinkedHashSet<>(consulta)
+                    .stream()
+                    .map(this::candidatos)
+                    .sorted(Comparator.comparingInt(this::quantidadeLivros))
+                    .toList();
+        }
+
+        /**
+         * Quantidade de livros do termo mais raro, usada para escolher o campo mais seletivo.
+         */
+        int menorQuantidadeLivros(List<Map<String, Integer>> termos) {
+            return termos.isEmpty() ? 0 : quantidadeLivros(termos.get(0));
+        }
+
+        private Map<UUID, Double> mapaVazio(Set<UUID> ids) {
+            Map<UUID, Double> mapa = new HashMap<>();
+            ids.forEach(id -> mapa.put(id, 0.0));
+            return mapa;
+        }
+
+        private int quantidadeLivros(Map<String, Integer> candidatos) {
+            return candidatos.keySet().stream().mapToInt(termo -> livrosPorTermo.get(termo).size()).sum();
+        }
+
+        /**
+         * Pontua todos os livros que contêm alguma variação do termo.
+         */
+        private Map<UUID, Double> pontuarTodos(Map<String, Integer> candidatos) {
+            Map<UUID, Double> pontuacao = new HashMap<>();
+            for (Map.Entry<String, Integer> candidato : candidatos.entrySet()) {
+                Map<UUID, Integer> livros = livrosPorTermo.get(candidato.getKey());
+                for (Map.Entry<UUID, Integer> livro : livros.entrySet()) {
+                    double pontos = bm25(livros.size(), livro.getValue(), livro.getKey(), candidato.getValue());
+                    pontuacao.merge(livro.getKey(), pontos, Math::max);
+                }
+            }
+            return pontuacao;
+        }
+
+        /**
+         * Soma a pontuação do termo aos livros já selecionados, descartando os que não o contêm.
+         */
+        private Map<UUID, Double> pontuarCandidatos(Map<String, Integer> candidatos, Map<UUID, Double> selecionados) {
+            Map<UUID, Double> pontuacao = new HashMap<>();
+            for (Map.Entry<UUID, Double> selecionado : selecionados.entrySet()) {
+                double melhor = -1;
+                for (Map.Entry<String, Integer> candidato : candidatos.entrySet()) {
+                    Map<UUID, Integer> livros = livrosPorTermo.get(candidato.getKey());
+                    Integer frequencia = livros.get(selecionado.getKey());
+                    if (frequencia != null) {
+                        melhor = Math.max(melhor,
+                                bm25(livros.size(), frequencia, selecionado.getKey(), candidato.getValue()));
+                    }
+                }
+                if (melhor >= 0) {
+                    pontuacao.put(selecionado.getKey(), selecionado.getValue() + melhor);
+                }
+            }
+            return pontuacao;
+        }
+
+        private double bm25(int livrosComTermo, int frequencia, UUID id, int edicoes) {
+            double totalLivros = tamanhos.size();
+            double tamanhoMedio = (double) somaTamanhos / tamanhos.size();
+            double idf = Math.log(1 + (totalLivros - livrosComTermo + 0.5) / (livrosComTermo + 0.5));
+            double normalizacao = K1 * (1 - B + B * tamanhos.get(id) / tamanhoMedio);
+            return PESO_EDICOES[edicoes] * idf * frequencia * (K1 + 1) / (frequencia + normalizacao);
+        }
+
+        /**
+         * Termos do vocabulário que correspondem ao termo pesquisado, com a quantidade de edições.
+         * Só compara termos cujo tamanho difere no máximo pela quantidade de edições permitidas.
+         */
+        private Map<String, Integer> candidatos(String termo) {
+            Map<String, Integer> candidatos = new HashMap<>();
+            if (livrosPorTermo.containsKey(termo)) {
+                candidatos.put(termo, 0);
+            }
+
+            int maximo = aproximado ? edicoesPermitidas(termo) : 0;
+            for (int tamanho = termo.length() - maximo; tamanho <= termo.length() + maximo; tamanho++) {
+                for (String vizinho : termosPorTamanho.getOrDefault(tamanho, Set.of())) {
+                    if (vizinho.equals(termo)) {
+                        continue;
+                    }
+                    int edicoes = distancia(termo, vizinho, maximo);
+                    if (edicoes <= maximo) {
+                        candidatos.put(vizinho, edicoes);
+                    }
+                }
+            }
+            return candidatos;
+        }
+    }
+}
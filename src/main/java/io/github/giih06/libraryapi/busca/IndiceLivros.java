@@ -0,0 +1,180 @@
+package io.github.giih06.libraryapi.busca;
+
+import io.github.giih06.libraryapi.model.Autor;
+import io.github.giih06.libraryapi.model.GeneroLivro;
+import io.github.giih06.libraryapi.model.Livro;
+import io.github.giih06.libraryapi.repository.LivroRepository;
+import io.github.giih06.libraryapi.service.AutorAlteradoEvent;
+import io.github.giih06.libraryapi.service.LivroAlteradoEvent;
+import io.github.giih06.libraryapi.service.LivroRemovidoEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Mantém o índice de busca em memória dos livros ({@link IndiceInvertido}).
+ *
+ * O índice é carregado do banco quando a aplicação termina de iniciar e, a partir daí,
+ * é atualizado pelos eventos de cadastro, atualização e remoção de livros e de atualização
+ * de autores. Até o fim da carga (ou se estiver desabilitado), o índice fica indisponível
+ * e as pesquisas devem usar outro mecanismo de busca.
+ *
+ * As alterações recebidas durante a carga são guardadas e aplicadas ao final dela: a leitura do
+ * banco pode ter obtido o livro antes da alteração e indexá-lo depois que o evento já foi tratado.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IndiceLivros {
+
+    private final LivroRepository repository;
+    private final IndiceInvertido indice = new IndiceInvertido();
+
+    @Value("${libraryapi.busca.indice.habilitado:true}")
+    private boolean habilitado;
+
+    @Value("${libraryapi.busca.indice.maximo-resultados:1000}")
+    private int maximoResultados;
+
+    private volatile boolean disponivel;
+
+    // alterações recebidas durante a carga; carregando e pendentes são protegidos por pendentes
+    private final List<Runnable> pendentes = new ArrayList<>();
+    private boolean carregando;
+
+    /**
+     * Carrega todos os livros no índice ao final da inicialização da aplicação.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregar() {
+        if (!habilitado) {
+            log.info("Índice de busca de livros desabilitado");
+            return;
+        }
+
+        long inicio = System.currentTimeMillis();
+        synchronized (pendentes) {
+            carregando = true;
+        }
+        try (Stream<DocumentoLivro> documentos = repository.listarDocumentosIndice()) {
+            documentos.forEach(indice::indexar);
+        } finally {
+            synchronized (pendentes) {
+                pendentes.forEach(Runnable::run);
+                pendentes.clear();
+                carregando = false;
+            }
+        }
+        disponivel = true;
+        log.info("Índice de busca carregado com {} livros em {} ms",
+                indice.tamanho(), System.currentTimeMillis() - inicio);
+    }
+
+    /**
+     * @return true se o índice já foi carregado e pode atender pesquisas
+     */
+    public boolean isDisponivel() {
+        return disponivel;
+    }
+
+    /**
+     * Pesquisa os livros no índice, filtrando pelo gênero e pelo ano de publicação antes do limite.
+     * Ver {@link IndiceInvertido#buscar}.
+     *
+     * @param limite quantidade máxima de IDs retornados
+     * @return IDs dos livros mais relevantes e o total de livros encontrados
+     */
+    public IndiceInvertido.Resultado buscar(String titulo, String isbn, String nomeAutor,
+                                            GeneroLivro genero, Integer anoPublicacao, int limite) {
+        return indice.buscar(titulo, isbn, nomeAutor, filtro(genero, anoPublicacao), limite);
+    }
+
+    /**
+     * Pesquisa os livros no índice para uso como filtro de outra consulta.
+     *
+     * @return IDs dos livros encontrados, do mais relevante para o menos relevante,
+     *         limitados a {@code libraryapi.busca.indice.maximo-resultados}
+     */
+    public List<UUID> buscar(String titulo, String isbn, String nomeAutor,
+                             GeneroLivro genero, Integer anoPublicacao) {
+        return buscar(titulo, isbn, nomeAutor, genero, anoPublicacao, maximoResultados).ids();
+    }
+
+    /**
+     * Indexa o livro cadastrado ou atualizado.
+     *
+     * O autor do livro pode ser apenas uma referência não carregada (ver {@code LivroMapper#toEntity});
+     * nesse caso o nome do autor é obtido dos livros dele já indexados e o autor só é buscado no
+     * banco se ainda não houver nenhum.
+     *
+     * Os listeners do índice executam antes da invalidação de {@code CachePesquisaLivros}: uma pesquisa
+     * que obtiver a nova geração já encontra o índice atualizado, e não guarda o resultado anterior.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void livroAlterado(LivroAlteradoEvent evento) {
+        if (!habilitado) {
+            return;
+        }
+
+        Livro livro = evento.livro();
+        Autor autor = livro.getAutor();
+        String nomeAutor = Hibernate.isInitialized(autor)
+                ? autor.getNome()
+                : indice.nomeAutor(autor.getId()).orElseGet(autor::getNome);
+        DocumentoLivro documento = DocumentoLivro.de(livro, nomeAutor);
+        aplicar(() -> indice.indexar(documento));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void livroRemovido(LivroRemovidoEvent evento) {
+        if (habilitado) {
+            aplicar(() -> indice.remover(evento.id()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void autorAlterado(AutorAlteradoEvent evento) {
+        if (habilitado) {
+            UUID idAutor = evento.autor().getId();
+            String nome = evento.autor().getNome();
+            aplicar(() -> indice.atualizarAutor(idAutor, nome));
+        }
+    }
+
+    /**
+     * Aplica a alteração no índice ou, durante a carga, guarda-a para o final dela.
+     */
+    private void aplicar(Runnable alteracao) {
+        synchronized (pendentes) {
+            if (carregando) {
+                pendentes.add(alteracao);
+                return;
+            }
+        }
+        alteracao.run();
+    }
+
+    private static Predicate<DocumentoLivro> filtro(GeneroLivro genero, Integer anoPublicacao) {
+        return documento -> (genero == null || genero == documento.genero())
+                && (anoPublicacao == null || (documento.dataPublicacao() != null
+                        && documento.dataPublicacao().getYear() == anoPublicacao));
+    }
+}
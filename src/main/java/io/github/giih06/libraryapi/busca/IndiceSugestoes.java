@@ -0,0 +1,223 @@
+package io.github.giih06.libraryapi.busca;
+
+import io.github.giih06.libraryapi.exceptions.CampoInvalidoException;
+import io.github.giih06.libraryapi.model.Livro;
+import io.github.giih06.libraryapi.repository.AutorRepository;
+import io.github.giih06.libraryapi.repository.LivroRepository;
+import io.github.giih06.libraryapi.service.AutorAlteradoEvent;
+import io.github.giih06.libraryapi.service.AutorRemovidoEvent;
+import io.github.giih06.libraryapi.service.LivroAlteradoEvent;
+import io.github.giih06.libraryapi.service.LivroRemovidoEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Mantém os índices de prefixos em memória ({@link ArvorePrefixos}) usados no autocompletar
+ * de títulos de livros e de nomes de autores.
+ *
+ * Os títulos são agrupados pelo texto normalizado e ordenados pela quantidade de livros com o título;
+ * os autores, pela quantidade de livros de cada um. As quantidades são contadas na carga e mantidas
+ * pelos eventos de cadastro, atualização e remoção de livros e autores.
+ *
+ * Os índices são carregados do banco quando a aplicação termina de iniciar. Até o fim da carga
+ * (ou se estiver desabilitado), não há sugestões. Os eventos recebidos durante a carga aguardam o
+ * seu fim e são aplicados em seguida; aplicar o mesmo evento mais de uma vez não altera as quantidades.
+ */
+@Component
+@Slf4j
+public class IndiceSugestoes {
+
+    private final LivroRepository livroRepository;
+    private final AutorRepository autorRepository;
+    private final boolean habilitado;
+    private final int maximoSugestoes;
+
+    // título normalizado -> título exibido, popularidade = quantidade de livros com o título
+    private final ArvorePrefixos<String> titulos;
+    // ID do autor -> nome, popularidade = quantidade de livros do autor
+    private final ArvorePrefixos<UUID> autores;
+    // título normalizado e autor de cada livro indexado, para descontar a versão anterior
+    private final Map<UUID, LivroIndexado> livros = new HashMap<>();
+
+    private volatile boolean disponivel;
+
+    public IndiceSugestoes(
+            LivroRepository livroRepository,
+            AutorRepository autorRepository,
+            @Value("${libraryapi.busca.sugestoes.habilitado:true}") boolean habilitado,
+            @Value("${libraryapi.busca.sugestoes.maximo-sugestoes:10}") int maximoSugestoes) {
+        this.livroRepository = livroRepository;
+        this.autorRepository = autorRepository;
+        this.habilitado = habilitado;
+        this.maximoSugestoes = maximoSugestoes;
+        this.titulos = new ArvorePrefixos<>(maximoSugestoes);
+        this.autores = new ArvorePrefixos<>(maximoSugestoes);
+    }
+
+    /**
+     * Carrega os títulos e autores ao final da inicialização da aplicação. As quantidades são contadas
+     * antes, para que cada título e autor seja inserido uma única vez.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void carregar() {
+        if (!habilitado) {
+            log.info("Índice de sugestões desabilitado");
+            return;
+        }
+
+        long inicio = System.currentTimeMillis();
+        Map<String, SugestaoTitulo> contagemTitulos = new HashMap<>();
+        Map<UUID, Long> contagemAutores = new HashMap<>();
+
+        try (Stream<DocumentoLivro> documentos = livroRepository.listarDocumentosIndice()) {
+            documentos.forEach(documento -> {
+                String titulo = ArvorePrefixos.normalizar(documento.titulo());
+                livros.put(documento.id(), new LivroIndexado(titulo, documento.idAutor()));
+                contagemTitulos.merge(titulo, new SugestaoTitulo(documento.titulo(), 1),
+                        (atual, novo) -> new SugestaoTitulo(atual.titulo(), atual.quantidadeLivros() + 1));
+                contagemAutores.merge(documento.idAutor(), 1L, Long::sum);
+            });
+        }
+        contagemTitulos.forEach((titulo, sugestao) ->
+                titulos.definir(titulo, sugestao.titulo(), sugestao.quantidadeLivros()));
+
+        try (Stream<DocumentoAutor> documentos = autorRepository.listarDocumentosSugestao()) {
+            documentos.forEach(autor ->
+                    autores.definir(autor.id(), autor.nome(), contagemAutores.getOrDefault(autor.id(), 0L)));
+        }
+
+        disponivel = true;
+        log.info("Índice de sugestões carregado com {} títulos e {} autores em {} ms",
+                titulos.tamanho(), autores.tamanho(), System.currentTimeMillis() - inicio);
+    }
+
+    /**
+     * Sugere os títulos mais populares que começam com o prefixo, ignorando acentos e maiúsculas/minúsculas.
+     *
+     * @param prefixo    início do título digitado
+     * @param quantidade quantidade máxima de sugestões
+     * @return títulos encontrados, vazio enquanto o índice não estiver carregado
+     * @throws CampoInvalidoException se a quantidade for menor que 1 ou maior que {@code libraryapi.busca.sugestoes.maximo-sugestoes}
+     */
+    public List<SugestaoTitulo> sugerirTitulos(String prefixo, int quantidade) {
+        validarQuantidade(quantidade);
+        if (!disponivel) {
+            return List.of();
+        }
+        return titulos.sugerir(prefixo, quantidade)
+                .stream()
+                .map(item -> new SugestaoTitulo(item.texto(), item.popularidade()))
+                .toList();
+    }
+
+    /**
+     * Sugere os autores com mais livros cujo nome começa com o prefixo, ignorando acentos e maiúsculas/minúsculas.
+     *
+     * @param prefixo    início do nome digitado
+     * @param quantidade quantidade máxima de sugestões
+     * @return autores encontrados, vazio enquanto o índice não estiver carregado
+     * @throws CampoInvalidoException se a quantidade for menor que 1 ou maior que {@code libraryapi.busca.sugestoes.maximo-sugestoes}
+     */
+    public List<SugestaoAutor> sugerirAutores(String prefixo, int quantidade) {
+        validarQuantidade(quantidade);
+        if (!disponivel) {
+            return List.of();
+        }
+        return autores.sugerir(prefixo, quantidade)
+                .stream()
+                .map(item -> new SugestaoAutor(item.chave(), item.texto(), item.popularidade()))
+                .toList();
+    }
+
+    /**
+     * Indexa o título do livro cadastrado ou atualizado, descontando o título e o autor anteriores.
+     * O autor do livro pode ser apenas uma referência não carregada; só o ID é usado.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void livroAlterado(LivroAlteradoEvent evento) {
+        if (!habilitado) {
+            return;
+        }
+
+        Livro livro = evento.livro();
+        String titulo = ArvorePrefixos.normalizar(livro.getTitulo());
+        UUID idAutor = livro.getAutor().getId();
+
+        LivroIndexado anterior = livros.put(livro.getId(), new LivroIndexado(titulo, idAutor));
+        if (anterior != null) {
+            descontarTitulo(anterior.titulo());
+            autores.somarPopularidade(anterior.idAutor(), -1);
+        }
+
+        if (titulos.somarPopularidade(titulo, 1) == null) {
+            titulos.definir(titulo, livro.getTitulo(), 1);
+        }
+        autores.somarPopularidade(idAutor, 1);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void livroRemovido(LivroRemovidoEvent evento) {
+        if (!habilitado) {
+            return;
+        }
+
+        LivroIndexado anterior = livros.remove(evento.id());
+        if (anterior != null) {
+            descontarTitulo(anterior.titulo());
+            autores.somarPopularidade(anterior.idAutor(), -1);
+        }
+    }
+
+    /**
+     * Indexa o autor cadastrado ou atualizado, mantendo a quantidade de livros já contada.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void autorAlterado(AutorAlteradoEvent evento) {
+        if (!habilitado) {
+            return;
+        }
+
+        UUID id = evento.autor().getId();
+        ArvorePrefixos.Item<UUID> atual = autores.obter(id);
+        autores.definir(id, evento.autor().getNome(), atual == null ? 0 : atual.popularidade());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void autorRemovido(AutorRemovidoEvent evento) {
+        if (habilitado) {
+            autores.remover(evento.id());
+        }
+    }
+
+    private void validarQuantidade(int quantidade) {
+        if (quantidade < 1 || quantidade > maximoSugestoes) {
+            throw new CampoInvalidoException("quantidade",
+                    "A quantidade de sugestões deve estar entre 1 e " + maximoSugestoes);
+        }
+    }
+
+    /**
+     * Desconta um livro do título e remove o título quando não restar nenhum livro com ele.
+     */
+    private void descontarTitulo(String titulo) {
+        Long quantidade = titulos.somarPopularidade(titulo, -1);
+        if (quantidade != null && quantidade <= 0) {
+            titulos.remover(titulo);
+        }
+    }
+
+    private record LivroIndexado(String titulo, UUID idAutor) {
+    }
+}
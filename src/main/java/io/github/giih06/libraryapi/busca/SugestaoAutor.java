@@ -0,0 +1,13 @@
+package io.github.giih06.libraryapi.busca;
+
+import java.util.UUID;
+
+/**
+ * Autor sugerido pelo autocompletar de autores.
+ *
+ * @param id               identificador do autor
+ * @param nome             nome do autor
+ * @param quantidadeLivros quantidade de livros do autor, usada como popularidade
+ */
+public record SugestaoAutor(UUID id, String nome, long quantidadeLivros) {
+}
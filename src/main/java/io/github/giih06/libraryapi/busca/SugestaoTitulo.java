@@ -0,0 +1,10 @@
+package io.github.giih06.libraryapi.busca;
+
+/**
+ * Título sugerido pelo autocompletar de livros.
+ *
+ * @param titulo           título do livro (livros com o mesmo título normalizado são agrupados)
+ * @param quantidadeLivros quantidade de livros com o título, usada como popularidade
+ */
+public record SugestaoTitulo(String titulo, long quantidadeLivros) {
+}
@@ -0,0 +1,163 @@
+package io.github.giih06.libraryapi.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.giih06.libraryapi.model.GeneroLivro;
+import io.github.giih06.libraryapi.service.TipoBusca;
+import io.github.giih06.libraryapi.service.TipoContagem;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache dos resultados de {@code LivroService.pesquisa}: para cada combinação de filtros e página, guarda
+ * apenas os IDs dos livros encontrados e o total (ou se existe próxima página), e não os livros.
+ *
+ * Em um acerto, os livros são buscados pela chave primária em uma única consulta, então preço e demais
+ * dados exibidos estão sempre atualizados; o que pode ficar desatualizado é apenas quais livros atendem
+ * à pesquisa, por no máximo {@code libraryapi.busca.cache.expiracao}.
+ *
+ * Cada resultado guarda a geração dos dados de que depende, e as escritas de livros e autores
+ * ({@link InvalidacaoCacheEvent}) incrementam as gerações afetadas: a do gênero do livro e a das pesquisas
+ * sem filtro de gênero, ou todas quando a escrita pode afetar qualquer pesquisa. Resultados com geração
+ * anterior à atual são descartados na leitura. A alteração apenas do preço não invalida nenhum resultado.
+ */
+@Component
+public class CachePesquisaLivros {
+
+    private final boolean habilitado;
+    private final Cache<ChavePesquisa, ResultadoPesquisa> resultados;
+
+    // pesquisas filtradas por gênero dependem da geração do gênero; as demais, da geração sem filtro de gênero
+    private final Map<GeneroLivro, AtomicLong> geracoesPorGenero = new EnumMap<>(GeneroLivro.class);
+    private final AtomicLong geracaoTodosGeneros = new AtomicLong();
+    // incrementada pelas escritas que podem afetar qualquer pesquisa
+    private final AtomicLong geracaoGeral = new AtomicLong();
+
+    public CachePesquisaLivros(
+            @Value("${libraryapi.busca.cache.habilitado:true}") boolean habilitado,
+            @Value("${libraryapi.busca.cache.tamanho-maximo:10000}") long tamanhoMaximo,
+            @Value("${libraryapi.busca.cache.expiracao:30s}") Duration expiracao,
+            MeterRegistry registry) {
+        this.habilitado = habilitado;
+        this.resultados = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(expiracao)
+                .recordStats()
+                .build();
+
+        for (GeneroLivro genero : GeneroLivro.values()) {
+            geracoesPorGenero.put(genero, new AtomicLong());
+        }
+        CaffeineCacheMetrics.monitor(registry, resultados, "pesquisa-livros");
+    }
+
+    /**
+     * Busca o resultado de uma pesquisa, desde que nenhum livro que possa afetá-la tenha sido alterado.
+     *
+     * @param chave filtros e página da pesquisa
+     * @return IDs e total da pesquisa, ou vazio se não estiver em cache ou estiver desatualizado
+     */
+    public Optional<ResultadoPesquisa> buscar(ChavePesquisa chave) {
+        if (!habilitado) {
+            return Optional.empty();
+        }
+
+        ResultadoPesquisa resultado = resultados.getIfPresent(chave);
+        if (resultado == null) {
+            return Optional.empty();
+        }
+        if (resultado.geracao() != geracaoAtual(chave)) {
+            resultados.invalidate(chave);
+            return Optional.empty();
+        }
+        return Optional.of(resultado);
+    }
+
+    /**
+     * @param chave filtros e página da pesquisa
+     * @return geração atual dos dados de que a pesquisa depende; deve ser obtida antes de executá-la
+     */
+    public long geracaoAtual(ChavePesquisa chave) {
+        AtomicLong geracaoFiltro = chave.genero() == null ? geracaoTodosGeneros : geracoesPorGenero.get(chave.genero());
+        return geracaoGeral.get() + geracaoFiltro.get();
+    }
+
+    /**
+     * Guarda o resultado de uma pesquisa executada a partir da geração informada. Se houve escritas durante
+     * a pesquisa, a geração já é anterior à atual e o resultado será descartado na próxima leitura.
+     *
+     * @param chave           filtros e página da pesquisa
+     * @param ids             IDs dos livros da página, na ordem do resultado
+     * @param total           total de livros da pesquisa, ou null se não foi contado
+     * @param proximaPagina   se existe próxima página
+     * @param geracaoInicial  geração obtida com {@link #geracaoAtual} antes de executar a pesquisa
+     */
+    public void guardar(ChavePesquisa chave, List<UUID> ids, Long total, boolean proximaPagina, long geracaoInicial) {
+        if (habilitado) {
+            resultados.put(chave, new ResultadoPesquisa(List.copyOf(ids), total, proximaPagina, geracaoInicial));
+        }
+    }
+
+    /**
+     * Incrementa as gerações afetadas por uma escrita de livro ou autor, após o commit.
+     *
+     * Executa depois da atualização do índice de busca ({@code IndiceLivros}), para que nenhuma pesquisa
+     * da nova geração seja feita no índice ainda desatualizado.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void invalidar(InvalidacaoCacheEvent evento) {
+        for (String chaveSubstituta : evento.chavesSubstitutas()) {
+            if (chaveSubstituta.equals(ChavesSubstitutas.PESQUISA_LIVROS)) {
+                geracaoGeral.incrementAndGet();
+            } else if (chaveSubstituta.equals(ChavesSubstitutas.PESQUISA_LIVROS_TODOS_GENEROS)) {
+                geracaoTodosGeneros.incrementAndGet();
+            } else {
+                geracoesPorGenero.forEach((genero, geracao) -> {
+                    if (chaveSubstituta.equals(ChavesSubstitutas.pesquisaLivrosPorGenero(genero))) {
+                        geracao.incrementAndGet();
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Filtros, página e estratégias de uma pesquisa de livros.
+     */
+    public record ChavePesquisa(
+            String isbn,
+            String titulo,
+            String nomeAutor,
+            GeneroLivro genero,
+            Integer anoPublicacao,
+            Integer pagina,
+            Integer tamanhoPagina,
+            TipoContagem contagem,
+            TipoBusca busca) {
+    }
+
+    /**
+     * Resultado guardado de uma pesquisa.
+     *
+     * @param ids           IDs dos livros da página, na ordem do resultado
+     * @param total         total de livros da pesquisa, ou null se não foi contado
+     * @param proximaPagina se existe próxima página
+     * @param geracao       geração dos dados no momento da pesquisa
+     */
+    public record ResultadoPesquisa(List<UUID> ids, Long total, boolean proximaPagina, long geracao) {
+    }
+}
@@ -0,0 +1,221 @@
+package io.github.giih06.libraryapi.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Cache em memória das respostas de leitura do catálogo ({@code GET /livros} e {@code GET /autores}).
+ *
+ * As respostas são guardadas já serializadas, por requisição normalizada (caminho e parâmetros ordenados)
+ * e pelas roles do usuário, já que a autorização dos endpoints depende apenas delas. O cache é limitado
+ * em bytes ({@code libraryapi.cache.respostas.tamanho-maximo}) e o Caffeine escolhe o que descartar pela
+ * frequência de uso (W-TinyLFU), então pesquisas raras não expulsam as mais acessadas.
+ *
+ * Os controllers marcam cada resposta com as chaves substitutas dos dados exibidos
+ * ({@link ChavesSubstitutas}), e as escritas publicam um {@link InvalidacaoCacheEvent} com as chaves
+ * que afetaram; apenas as respostas marcadas com essas chaves são removidas. Os acertos e erros ficam
+ * nas métricas {@code cache.gets} ({@code cache=respostas}) do actuator.
+ */
+@Component
+@Slf4j
+public class CacheRespostas {
+
+    private static final String ATRIBUTO_CHAVES_SUBSTITUTAS = CacheRespostas.class.getName() + ".chavesSubstitutas";
+
+    private final boolean habilitado;
+    private final Cache<String, RespostaCacheada> respostas;
+    private final Map<String, Set<String>> chavesPorChaveSubstituta = new ConcurrentHashMap<>();
+    private final Counter invalidacoes;
+
+    // incrementada a cada invalidação: respostas montadas antes dela podem conter dados antigos
+    private final AtomicLong geracao = new AtomicLong();
+    private final ReadWriteLock trava = new ReentrantReadWriteLock();
+
+    public CacheRespostas(
+            @Value("${libraryapi.cache.respostas.habilitado:true}") boolean habilitado,
+            @Value("${libraryapi.cache.respostas.tamanho-maximo:64MB}") DataSize tamanhoMaximo,
+            @Value("${libraryapi.cache.respostas.expiracao:10m}") Duration expiracao,
+            MeterRegistry registry) {
+        this.habilitado = habilitado;
+        this.respostas = Caffeine.newBuilder()
+                .maximumWeight(tamanhoMaximo.toBytes())
+                .weigher((String chave, RespostaCacheada resposta) -> resposta.peso(chave))
+                .expireAfterWrite(expiracao)
+                .evictionListener((String chave, RespostaCacheada resposta, RemovalCause causa) -> desindexar(chave, resposta))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(registry, respostas, "respostas");
+        this.invalidacoes = Counter.builder("cache.respostas.invalidacoes")
+                .description("Respostas removidas do cache por escritas de livros e autores")
+                .register(registry);
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    /**
+     * Gera a chave de uma requisição: método, caminho, parâmetros ordenados por nome e as roles do usuário.
+     *
+     * @param request        requisição de leitura
+     * @param authentication autenticação do usuário (null se anônimo)
+     * @return chave da resposta no cache
+     */
+    public String gerarChave(HttpServletRequest request, Authentication authentication) {
+        String parametros = new TreeMap<>(request.getParameterMap())
+                .entrySet()
+                .stream()
+                .map(parametro -> codificar(parametro.getKey()) + "=" + Arrays.stream(parametro.getValue())
+                        .map(this::codificar)
+                        .collect(Collectors.joining(",")))
+                .collect(Collectors.joining("&"));
+
+        String roles = authentication == null ? "" : authentication.getAuthorities()
+                .stream()
+                .map(GrantedAuthority::getAuthority)
+                .sorted()
+                .collect(Collectors.joining(","));
+
+        String caminho = request.getRequestURI().substring(request.getContextPath().length()).toLowerCase();
+        return request.getMethod() + " " + caminho + "?" + parametros + " " + roles;
+    }
+
+    private String codificar(String valor) {
+        return URLEncoder.encode(valor, StandardCharsets.UTF_8);
+    }
+
+    public RespostaCacheada buscar(String chave) {
+        return respostas.getIfPresent(chave);
+    }
+
+    /**
+     * @return geração atual do cache, a ser informada em {@link #guardar} pela requisição que montou a resposta
+     */
+    public long geracaoAtual() {
+        return geracao.get();
+    }
+
+    /**
+     * Guarda uma resposta, desde que nenhuma invalidação tenha ocorrido desde {@code geracaoInicial};
+     * caso contrário, a resposta pode ter sido montada com dados anteriores à escrita e é descartada.
+     *
+     * @param chave          chave da requisição
+     * @param resposta       resposta a ser guardada
+     * @param geracaoInicial geração do cache no início da requisição
+     */
+    public void guardar(String chave, RespostaCacheada resposta, long geracaoInicial) {
+        trava.readLock().lock();
+        try {
+            if (geracao.get() != geracaoInicial) {
+                return;
+            }
+            respostas.put(chave, resposta);
+            // o conjunto é alterado dentro do compute para não concorrer com a remoção feita em desindexar
+            resposta.chavesSubstitutas().forEach(chaveSubstituta -> chavesPorChaveSubstituta
+                    .compute(chaveSubstituta, (c, chaves) -> {
+                        Set<String> conjunto = chaves != null ? chaves : ConcurrentHashMap.newKeySet();
+                        conjunto.add(chave);
+                        return conjunto;
+                    }));
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Marca a resposta da requisição atual com chaves substitutas. Somente respostas marcadas são guardadas.
+     *
+     * @param chavesSubstitutas chaves dos dados exibidos na resposta (ver {@link ChavesSubstitutas})
+     */
+    public void marcar(String... chavesSubstitutas) {
+        RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+        if (atributos == null) {
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<String> marcadas = (Set<String>) atributos.getAttribute(ATRIBUTO_CHAVES_SUBSTITUTAS, RequestAttributes.SCOPE_REQUEST);
+        if (marcadas == null) {
+            marcadas = new HashSet<>();
+            atributos.setAttribute(ATRIBUTO_CHAVES_SUBSTITUTAS, marcadas, RequestAttributes.SCOPE_REQUEST);
+        }
+        marcadas.addAll(Arrays.asList(chavesSubstitutas));
+    }
+
+    /**
+     * @return chaves substitutas marcadas na requisição (vazio se a resposta não deve ser guardada)
+     */
+    @SuppressWarnings("unchecked")
+    public Set<String> chavesMarcadas(HttpServletRequest request) {
+        Set<String> marcadas = (Set<String>) request.getAttribute(ATRIBUTO_CHAVES_SUBSTITUTAS);
+        return marcadas == null ? Set.of() : Set.copyOf(marcadas);
+    }
+
+    /**
+     * Remove as respostas marcadas com as chaves substitutas do evento, após o commit da escrita.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void invalidar(InvalidacaoCacheEvent evento) {
+        trava.writeLock().lock();
+        try {
+            geracao.incrementAndGet();
+
+            Set<String> chaves = new HashSet<>();
+            evento.chavesSubstitutas().forEach(chaveSubstituta -> {
+                Set<String> marcadas = chavesPorChaveSubstituta.remove(chaveSubstituta);
+                if (marcadas != null) {
+                    chaves.addAll(marcadas);
+                }
+            });
+
+            respostas.invalidateAll(chaves);
+            invalidacoes.increment(chaves.size());
+            log.debug("Cache de respostas: {} respostas invalidadas por {}", chaves.size(), evento.chavesSubstitutas());
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retira do índice de chaves substitutas uma resposta descartada por tamanho ou expiração.
+     */
+    private void desindexar(String chave, RespostaCacheada resposta) {
+        if (chave == null || resposta == null) {
+            return;
+        }
+        resposta.chavesSubstitutas().forEach(chaveSubstituta -> chavesPorChaveSubstituta
+                .computeIfPresent(chaveSubstituta, (c, chaves) -> {
+                    chaves.remove(chave);
+                    return chaves.isEmpty() ? null : chaves;
+                }));
+    }
+}
@@ -0,0 +1,95 @@
+package io.github.giih06.libraryapi.cache;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Filtro que responde os GETs de livros e autores a partir do {@link CacheRespostas}.
+ *
+ * Executa depois da cadeia do Spring Security (ordem padrão dos filtros), então a requisição já está
+ * autenticada quando a chave é gerada. Em caso de acerto, o controller não é chamado; em caso de erro,
+ * a resposta é capturada e guardada se tiver status 200 e tiver sido marcada pelo controller.
+ * O cabeçalho {@code X-Cache} indica se a resposta veio do cache (HIT) ou não (MISS).
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheRespostasFilter extends OncePerRequestFilter {
+
+    // GET /livros, /livros/{id}, /autores e /autores/{id}; a exportação não é guardada
+    private static final Pattern CAMINHOS = Pattern.compile("/(livros|autores)(/[0-9a-fA-F-]{36})?/?");
+
+    private final CacheRespostas cache;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+        return !cache.isHabilitado()
+                || !HttpMethod.GET.matches(request.getMethod())
+                || !CAMINHOS.matcher(caminho).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        String chave = cache.gerarChave(request, SecurityContextHolder.getContext().getAuthentication());
+
+        RespostaCacheada cacheada = cache.buscar(chave);
+        if (cacheada != null) {
+            escrever(cacheada, request, response);
+            return;
+        }
+
+        long geracao = cache.geracaoAtual();
+        var resposta = new ContentCachingResponseWrapper(response);
+        try {
+            resposta.setHeader("X-Cache", "MISS");
+            filterChain.doFilter(request, resposta);
+
+            Set<String> chavesSubstitutas = cache.chavesMarcadas(request);
+            if (resposta.getStatus() == HttpServletResponse.SC_OK && !chavesSubstitutas.isEmpty()) {
+                cache.guardar(chave, new RespostaCacheada(
+                        resposta.getContentAsByteArray(),
+                        resposta.getContentType(),
+                        resposta.getHeader(HttpHeaders.ETAG),
+                        chavesSubstitutas), geracao);
+            }
+        } finally {
+            resposta.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * Escreve a resposta guardada, ou 304 se a requisição enviar a mesma ETag em If-None-Match.
+     */
+    private void escrever(RespostaCacheada cacheada, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader("X-Cache", "HIT");
+        if (cacheada.etag() != null && new ServletWebRequest(request, response).checkNotModified(cacheada.etag())) {
+            return;
+        }
+
+        if (cacheada.etag() != null) {
+            response.setHeader(HttpHeaders.ETAG, cacheada.etag());
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(cacheada.contentType());
+        response.setContentLength(cacheada.corpo().length);
+        response.getOutputStream().write(cacheada.corpo());
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.giih06.libraryapi.cache;
+
+import io.github.giih06.libraryapi.model.GeneroLivro;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Chaves substitutas (surrogate keys) usadas para marcar as respostas guardadas no {@link CacheRespostas}.
+ *
+ * Cada resposta é marcada com as chaves dos dados que ela contém, e cada escrita invalida apenas
+ * as chaves que afetou:
+ * - {@code livro:<id>} e {@code autor:<id>}: respostas que exibem o livro ou o autor;
+ * - {@code autor:<id>:livros}: respostas que exibem a quantidade de livros do autor;
+ * - {@code livros:genero:<GENERO>}: pesquisas de livros filtradas pelo gênero;
+ * - {@code livros:genero:*}: pesquisas de livros sem filtro de gênero;
+ * - {@code livros:pesquisa} e {@code autores:pesquisa}: todas as pesquisas de livros ou de autores.
+ */
+public final class ChavesSubstitutas {
+
+    public static final String PESQUISA_LIVROS = "livros:pesquisa";
+    public static final String PESQUISA_LIVROS_TODOS_GENEROS = "livros:genero:*";
+    public static final String PESQUISA_AUTORES = "autores:pesquisa";
+
+    private ChavesSubstitutas() {
+    }
+
+    public static String livro(UUID id) {
+        return "livro:" + id;
+    }
+
+    public static String autor(UUID id) {
+        return "autor:" + id;
+    }
+
+    public static String quantidadeLivros(UUID idAutor) {
+        return "autor:" + idAutor + ":livros";
+    }
+
+    public static String pesquisaLivrosPorGenero(GeneroLivro genero) {
+        return genero == null ? PESQUISA_LIVROS_TODOS_GENEROS : "livros:genero:" + genero.name();
+    }
+
+    /**
+     * Pesquisas de livros cujo resultado pode mudar quando um livro do gênero entra ou sai do catálogo:
+     * as filtradas pelo próprio gênero e as sem filtro de gênero.
+     *
+     * @param genero gênero do livro cadastrado, alterado ou removido
+     * @return chaves das pesquisas afetadas
+     */
+    public static Set<String> pesquisasLivrosAfetadas(GeneroLivro genero) {
+        return Set.of(pesquisaLivrosPorGenero(genero), PESQUISA_LIVROS_TODOS_GENEROS);
+    }
+}
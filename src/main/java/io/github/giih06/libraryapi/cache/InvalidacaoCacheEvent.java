@@ -0,0 +1,14 @@
+package io.github.giih06.libraryapi.cache;
+
+import java.util.Set;
+
+/**
+ * Evento publicado pelas escritas de livros e autores com as chaves substitutas que elas afetaram.
+ * As respostas marcadas com essas chaves são removidas do {@link CacheRespostas} e os resultados de
+ * pesquisa que dependem delas são invalidados no {@link CachePesquisaLivros}, após o commit.
+ * Também marca as estatísticas do catálogo para atualização ({@code AtualizacaoEstatisticasLivros}).
+ *
+ * @param chavesSubstitutas chaves afetadas pela escrita (ver {@link ChavesSubstitutas})
+ */
+public record InvalidacaoCacheEvent(Set<String> chavesSubstitutas) {
+}
@@ -0,0 +1,28 @@
+package io.github.giih06.libraryapi.cache;
+
+import java.util.Set;
+
+/**
+ * Resposta de um GET guardada no {@link CacheRespostas}.
+ *
+ * @param corpo             corpo da resposta já serializado
+ * @param contentType       Content-Type da resposta
+ * @param etag              ETag da resposta, ou null se não houver
+ * @param chavesSubstitutas chaves que invalidam a resposta (ver {@link ChavesSubstitutas})
+ */
+public record RespostaCacheada(byte[] corpo, String contentType, String etag, Set<String> chavesSubstitutas) {
+
+    // estimativa do espaço ocupado além do corpo: objetos, cabeçalhos e entradas no índice de chaves substitutas
+    private static final int CUSTO_FIXO = 256;
+
+    /**
+     * Peso da entrada no cache, em bytes aproximados, usado no limite {@code libraryapi.cache.respostas.tamanho-maximo}.
+     *
+     * @param chave chave da resposta no cache
+     * @return tamanho aproximado da entrada
+     */
+    public int peso(String chave) {
+        int chaves = chavesSubstitutas.stream().mapToInt(String::length).sum();
+        return corpo.length + 2 * (chave.length() + chaves) + CUSTO_FIXO;
+    }
+}
@@ -1,11 +1,13 @@
 package io.github.giih06.libraryapi.config;
 
-import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.RSAKey;
-import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
 import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.proc.SecurityContext;
+import io.github.giih06.libraryapi.securty.CacheSecretsClients;
+import io.github.giih06.libraryapi.securty.ChavesJwk;
+import io.github.giih06.libraryapi.securty.CodificadorSenhas;
 import io.github.giih06.libraryapi.securty.CustomAuthentication;
+import io.github.giih06.libraryapi.securty.JwtCustomAuthenticationFilter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
@@ -13,10 +15,10 @@ import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.server.authorization.OAuth2TokenType;
+import org.springframework.security.oauth2.server.authorization.authentication.ClientSecretAuthenticationProvider;
 import org.springframework.security.oauth2.server.authorization.config.annotation.web.configuration.OAuth2AuthorizationServerConfiguration;
 import org.springframework.security.oauth2.server.authorization.config.annotation.web.configurers.OAuth2AuthorizationServerConfigurer;
 import org.springframework.security.oauth2.server.authorization.settings.AuthorizationServerSettings;
@@ -27,14 +29,9 @@ import org.springframework.security.oauth2.server.authorization.token.JwtEncodin
 import org.springframework.security.oauth2.server.authorization.token.OAuth2TokenCustomizer;
 import org.springframework.security.web.SecurityFilterChain;
 
-import java.security.KeyPair;
-import java.security.KeyPairGenerator;
-import java.security.interfaces.RSAPrivateKey;
-import java.security.interfaces.RSAPublicKey;
 import java.time.Duration;
 import java.util.Collection;
 import java.util.List;
-import java.util.UUID;
 
 /**
  * Configuração do servidor de autorização OAuth2, definindo filtros de segurança,
@@ -48,19 +45,31 @@ public class AuthorizationServerConfiguration {
      * Configura a SecurityFilterChain para o Authorization Server,
      * habilitando endpoints OAuth2, OIDC e JWT Resource Server.
      *
-     * @param http objeto configurador de segurança HTTP
+     * A verificação do client secret usa o {@link CacheSecretsClients}, para não repetir o BCrypt
+     * a cada token emitido para o mesmo client.
+     *
+     * @param http                objeto configurador de segurança HTTP
+     * @param cacheSecretsClients cache das verificações de client secret
      * @return a cadeia de filtros de segurança construída
      * @throws Exception em caso de erro na configuração do HttpSecurity
      */
     @Bean
     @Order(1)
-    public SecurityFilterChain authServerSecurityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain authServerSecurityFilterChain(
+            HttpSecurity http,
+            CacheSecretsClients cacheSecretsClients) throws Exception {
         // Aplica configurações padrão para Authorization Server
         OAuth2AuthorizationServerConfiguration.applyDefaultSecurity(http);
 
         // Habilita suporte a OpenID Connect
         http.getConfigurer(OAuth2AuthorizationServerConfigurer.class)
-                .oidc(Customizer.withDefaults());
+                .oidc(Customizer.withDefaults())
+                .clientAuthentication(clientAuthentication -> clientAuthentication
+                        .authenticationProviders(providers -> providers.forEach(provider -> {
+                            if (provider instanceof ClientSecretAuthenticationProvider clientSecretProvider) {
+                                clientSecretProvider.setPasswordEncoder(cacheSecretsClients.getPasswordEncoder());
+                            }
+                        })));
 
         // Configura JWT como metodo de validação de resource server
         http.oauth2ResourceServer(oauth2Rs -> oauth2Rs.jwt(Customizer.withDefaults()));
@@ -72,13 +81,23 @@ public class AuthorizationServerConfiguration {
     }
 
     /**
-     * Bean para codificação de senhas usando BCrypt com strength 10.
+     * Bean para codificação de senhas e client secrets, com algoritmo e custo configuráveis
+     * (ver {@link CodificadorSenhas}). As senhas gravadas com outros parâmetros continuam válidas
+     * e são refeitas no próximo login.
      *
+     * @param algoritmo       algoritmo das senhas novas (bcrypt ou pbkdf2)
+     * @param custoBcrypt     custo do BCrypt
+     * @param iteracoesPbkdf2 iterações do PBKDF2
+     * @param iteracoesPbkdf2Anteriores iterações do PBKDF2 usadas antes, aceitas apenas na verificação
      * @return o PasswordEncoder configurado
      */
     @Bean
-    public PasswordEncoder passwordEncoder(){
-        return new BCryptPasswordEncoder(10);
+    public PasswordEncoder passwordEncoder(
+            @Value("${libraryapi.seguranca.senhas.algoritmo:bcrypt}") String algoritmo,
+            @Value("${libraryapi.seguranca.senhas.custo-bcrypt:10}") int custoBcrypt,
+            @Value("${libraryapi.seguranca.senhas.iteracoes-pbkdf2:310000}") int iteracoesPbkdf2,
+            @Value("${libraryapi.seguranca.senhas.iteracoes-pbkdf2-anteriores:}") int[] iteracoesPbkdf2Anteriores){
+        return CodificadorSenhas.criar(algoritmo, custoBcrypt, iteracoesPbkdf2, iteracoesPbkdf2Anteriores);
     }
 
     /**
@@ -110,42 +129,7 @@ public class AuthorizationServerConfiguration {
     }
 
     /**
-     * Gera e expõe um JWKSource baseado em par de chaves RSA.
-     *
-     * @return fonte de chaves JSON Web Key imutável
-     * @throws Exception se ocorrer erro na geração do par de chaves
-     */
-    @Bean
-    public JWKSource<SecurityContext> jwkSource() throws Exception {
-        // JWK - JSON Web Key
-        RSAKey rsaKey = gerarChaveRSA();
-        JWKSet jwkSet = new JWKSet(rsaKey);
-        return new ImmutableJWKSet<>(jwkSet);
-    }
-
-    /**
-     * Gera um par de chaves RSA 2048 bits e associa um key ID gerado aleatoriamente.
-     *
-     * @return RSAKey contendo chave pública e privada
-     * @throws Exception em caso de falha na instância do gerador RSA
-     */
-    private RSAKey gerarChaveRSA() throws Exception {
-        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
-        keyPairGenerator.initialize(2048);
-        KeyPair keyPair = keyPairGenerator.generateKeyPair();
-
-        RSAPublicKey chavePublica = (RSAPublicKey) keyPair.getPublic();
-        RSAPrivateKey chavePrivada = (RSAPrivateKey) keyPair.getPrivate();
-
-        return new RSAKey
-                .Builder(chavePublica)
-                .privateKey(chavePrivada)
-                .keyID(UUID.randomUUID().toString())
-                .build();
-    }
-
-    /**
-     * Configura o JwtDecoder baseado no JWKSource gerado.
+     * Configura o JwtDecoder baseado no conjunto de chaves persistido ({@link ChavesJwk}).
      *
      * @param jwkSource fonte de chaves JWK
      * @return JwtDecoder configurado pelo OAuth2AuthorizationServerConfiguration
@@ -181,13 +165,20 @@ public class AuthorizationServerConfiguration {
     }
 
     /**
-     * Personaliza o conteúdo dos tokens JWT para incluir autoridades e email do usuário autenticado.
+     * Personaliza o conteúdo dos tokens JWT para incluir o ID, as autoridades e o email do usuário autenticado.
+     * O ID e as autoridades permitem ao JwtCustomAuthenticationFilter montar a autenticação sem consultar o banco.
+     * Todos os tokens são assinados com a chave ativa do {@link ChavesJwk}, indicada nos cabeçalhos {@code alg} e {@code kid}.
      *
+     * @param chavesJwk conjunto de chaves de assinatura
      * @return OAuth2TokenCustomizer que insere claims adicionais no token de acesso
      */
     @Bean
-    public OAuth2TokenCustomizer<JwtEncodingContext> tokenCustomizer(){
+    public OAuth2TokenCustomizer<JwtEncodingContext> tokenCustomizer(ChavesJwk chavesJwk){
         return context -> {
+            context.getJwsHeader()
+                    .algorithm(chavesJwk.getAlgoritmoChaveAtiva())
+                    .keyId(chavesJwk.getIdChaveAtiva());
+
             var principal = context.getPrincipal();
 
             if(principal instanceof CustomAuthentication authentication){
@@ -200,7 +191,8 @@ public class AuthorizationServerConfiguration {
 
                     context
                             .getClaims()
-                            .claim("authorities", authoritiesList)
+                            .claim(JwtCustomAuthenticationFilter.CLAIM_ID_USUARIO, authentication.getIdUsuario().toString())
+                            .claim(JwtCustomAuthenticationFilter.CLAIM_ROLES, authoritiesList)
                             .claim("email", authentication.getUsuario().getEmail());
                 }
             }
@@ -0,0 +1,55 @@
+package io.github.giih06.libraryapi.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.query.sqm.function.SqmFunctionRegistry;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registra no Hibernate as funções de busca textual do PostgreSQL, permitindo utilizá-las
+ * em Specifications através de {@code cb.function(...)}.
+ *
+ * As expressões dependem das extensões {@code unaccent} e {@code pg_trgm} e da função
+ * {@code f_unaccent}, criadas em comandos-sql.txt. Elas repetem exatamente as expressões
+ * dos índices GIN para que o PostgreSQL consiga utilizá-los.
+ *
+ * Registrado via META-INF/services/org.hibernate.boot.model.FunctionContributor.
+ */
+public class BuscaTextualFunctionContributor implements FunctionContributor {
+
+    /**
+     * Verdadeiro se o texto (?1) contém as palavras do termo (?2) pelo full-text search em português,
+     * ou se alguma palavra do texto é parecida com o termo por trigramas (tolera erros de digitação).
+     * Ambas as comparações ignoram acentos e maiúsculas/minúsculas.
+     */
+    private static final String BUSCA_TEXTUAL =
+            "(to_tsvector('portuguese', f_unaccent(?1)) @@ plainto_tsquery('portuguese', f_unaccent(?2))"
+            + " or lower(f_unaccent(?2)) <% lower(f_unaccent(?1)))";
+
+    /**
+     * Relevância do texto (?1) para o termo (?2): ranking do full-text search somado à
+     * similaridade por trigramas. Quanto maior, mais relevante.
+     */
+    private static final String RELEVANCIA_TEXTUAL =
+            "(ts_rank(to_tsvector('portuguese', f_unaccent(?1)), plainto_tsquery('portuguese', f_unaccent(?2)))"
+            + " + word_similarity(lower(f_unaccent(?2)), lower(f_unaccent(?1))))";
+
+    /**
+     * Verdadeiro se o texto (?1) contém o trecho (?2), ignorando acentos e maiúsculas/minúsculas.
+     * O trecho já deve vir com os curingas do LIKE escapados; a comparação é atendida pelos índices
+     * GIN de trigramas sobre {@code lower(f_unaccent(coluna))}.
+     */
+    private static final String CONTEM_SEM_ACENTO =
+            "(lower(f_unaccent(?1)) like ('%' || lower(f_unaccent(?2)) || '%'))";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        SqmFunctionRegistry registry = functionContributions.getFunctionRegistry();
+        BasicTypeRegistry tipos = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+
+        registry.registerPattern("busca_textual", BUSCA_TEXTUAL, tipos.resolve(StandardBasicTypes.BOOLEAN));
+        registry.registerPattern("relevancia_textual", RELEVANCIA_TEXTUAL, tipos.resolve(StandardBasicTypes.DOUBLE));
+        registry.registerPattern("contem_sem_acento", CONTEM_SEM_ACENTO, tipos.resolve(StandardBasicTypes.BOOLEAN));
+    }
+}
@@ -0,0 +1,114 @@
+package io.github.giih06.libraryapi.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Configuração do cache de segundo nível do Hibernate para as entidades {@code Autor} e {@code Livro}
+ * e a coleção {@code Autor.livros}.
+ *
+ * Cada região é um cache Caffeine (via JCache) em memória, com tamanho máximo e expiração configurados em
+ * {@code libraryapi.cache.entidades}. As escritas feitas pelo Hibernate atualizam ou invalidam as regiões
+ * no commit; as consultas {@code @Modifying} em massa (JPQL) invalidam as regiões das tabelas afetadas.
+ * A taxa de acertos de cada região fica na métrica {@code hibernate.second.level.cache.hit.ratio}.
+ */
+@Configuration
+public class CacheEntidadesConfiguration {
+
+    public static final String REGIAO_AUTOR = "autor";
+    public static final String REGIAO_LIVRO = "livro";
+    public static final String REGIAO_LIVROS_DO_AUTOR = "autor.livros";
+
+    private static final List<String> REGIOES = List.of(REGIAO_AUTOR, REGIAO_LIVRO, REGIAO_LIVROS_DO_AUTOR);
+
+    @Value("${libraryapi.cache.entidades.autor.tamanho-maximo:10000}")
+    private long tamanhoMaximoAutor;
+
+    @Value("${libraryapi.cache.entidades.autor.expiracao:1h}")
+    private Duration expiracaoAutor;
+
+    @Value("${libraryapi.cache.entidades.livro.tamanho-maximo:100000}")
+    private long tamanhoMaximoLivro;
+
+    @Value("${libraryapi.cache.entidades.livro.expiracao:1h}")
+    private Duration expiracaoLivro;
+
+    @Value("${libraryapi.cache.entidades.autor-livros.tamanho-maximo:10000}")
+    private long tamanhoMaximoLivrosDoAutor;
+
+    @Value("${libraryapi.cache.entidades.autor-livros.expiracao:1h}")
+    private Duration expiracaoLivrosDoAutor;
+
+    /**
+     * Cria o CacheManager JCache do Caffeine com uma região para cada entidade/coleção em cache.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager cacheManagerEntidades() {
+        CacheManager cacheManager = Caching
+                .getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+
+        criarRegiao(cacheManager, REGIAO_AUTOR, tamanhoMaximoAutor, expiracaoAutor);
+        criarRegiao(cacheManager, REGIAO_LIVRO, tamanhoMaximoLivro, expiracaoLivro);
+        criarRegiao(cacheManager, REGIAO_LIVROS_DO_AUTOR, tamanhoMaximoLivrosDoAutor, expiracaoLivrosDoAutor);
+        return cacheManager;
+    }
+
+    private void criarRegiao(CacheManager cacheManager, String regiao, long tamanhoMaximo, Duration expiracao) {
+        var configuracao = new CaffeineConfiguration<Object, Object>();
+        configuracao.setMaximumSize(OptionalLong.of(tamanhoMaximo));
+        configuracao.setExpireAfterWrite(OptionalLong.of(expiracao.toNanos()));
+        configuracao.setStoreByValue(false); // as entradas do Hibernate já são cópias desmontadas das entidades
+        configuracao.setStatisticsEnabled(true);
+
+        // o CacheManager padrão do provider é compartilhado; a região pode já existir (ex.: outro contexto de testes)
+        if (cacheManager.getCache(regiao) == null) {
+            cacheManager.createCache(regiao, configuracao);
+        }
+    }
+
+    /**
+     * Entrega ao Hibernate o CacheManager com as regiões já criadas.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer cacheEntidadesHibernateCustomizer(CacheManager cacheManagerEntidades) {
+        return propriedades -> propriedades.put(ConfigSettings.CACHE_MANAGER, cacheManagerEntidades);
+    }
+
+    /**
+     * Registra a taxa de acertos (acertos / consultas) de cada região do cache de segundo nível.
+     */
+    @Bean
+    public MeterBinder taxaAcertosCacheEntidades(EntityManagerFactory entityManagerFactory) {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        return registry -> REGIOES.forEach(regiao -> Gauge
+                .builder("hibernate.second.level.cache.hit.ratio", estatisticas, e -> taxaAcertos(e, regiao))
+                .description("Taxa de acertos da região do cache de segundo nível")
+                .tag("region", regiao)
+                .register(registry));
+    }
+
+    private double taxaAcertos(Statistics estatisticas, String regiao) {
+        CacheRegionStatistics regiaoEstatisticas = estatisticas.getDomainDataRegionStatistics(regiao);
+        long consultas = regiaoEstatisticas.getHitCount() + regiaoEstatisticas.getMissCount();
+        return consultas == 0 ? 0 : (double) regiaoEstatisticas.getHitCount() / consultas;
+    }
+}
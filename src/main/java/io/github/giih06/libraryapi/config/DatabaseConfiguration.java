@@ -58,6 +58,7 @@ public class DatabaseConfiguration {
         config.setMaxLifetime(600000); // tamanho máximo do tempo ( em milissegundos ) de uma conexão
         config.setConnectionTimeout(100000); // tempo gasto para obter uma conexão, caso falhe, lança um erro de timeout
         config.setConnectionTestQuery("select 1"); // teste para verificar se o banco está conectado
+        config.addDataSourceProperty("reWriteBatchedInserts", "true"); // o driver envia cada lote de INSERTs como um único INSERT com várias linhas
 
         return new HikariDataSource(config);
     }
@@ -1,9 +1,14 @@
 package io.github.giih06.libraryapi.controller;
 
+import io.github.giih06.libraryapi.cache.CacheRespostas;
+import io.github.giih06.libraryapi.cache.ChavesSubstitutas;
 import io.github.giih06.libraryapi.controller.dto.AutorDTO;
+import io.github.giih06.libraryapi.controller.dto.ResultadoCursorDTO;
+import io.github.giih06.libraryapi.controller.dto.SugestaoAutorDTO;
 import io.github.giih06.libraryapi.controller.mappers.AutorMapper;
 import io.github.giih06.libraryapi.model.Autor;
 import io.github.giih06.libraryapi.service.AutorService;
+import io.github.giih06.libraryapi.service.Cursor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -11,6 +16,10 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -19,7 +28,6 @@ import java.net.URI;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 /**
  * Controlador REST responsável pelas operações relacionadas aos autores.
@@ -34,6 +42,7 @@ public class AutorController implements GenericController {
 
     private final AutorService service;
     private final AutorMapper mapper;
+    private final CacheRespostas cache;
 
     /**
      * Endpoint para cadastrar um novo autor.
@@ -62,14 +71,20 @@ public class AutorController implements GenericController {
      * Retorna os detalhes de um autor pelo seu ID.
      * Acesso permitido a operadores e gerentes.
      *
+     * A resposta contém a ETag da versão e da quantidade de livros do autor ("versao.quantidadeLivros"),
+     * pois o cadastro e a remoção de livros alteram a quantidade sem alterar a versão. Se a requisição
+     * enviar a mesma ETag em {@code If-None-Match}, retorna 304 sem corpo. Em If-Match, nas escritas,
+     * apenas a versão do autor é comparada.
+     *
      * @param id identificador do autor
-     * @return dados do autor, ou 404 se não encontrado
+     * @return dados do autor, 304 se não foi modificado, ou 404 se não encontrado
      */
     @GetMapping("{id}")
     @PreAuthorize("hasAnyRole('OPERADOR', 'GERENTE')")
     @Operation(summary = "Obter Detalhes", description = "Retorna os dados do Autor pelo ID")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Autor Encontrado."),
+            @ApiResponse(responseCode = "304", description = "Autor não modificado desde a ETag informada."),
             @ApiResponse(responseCode = "404", description = "Autor não encontrado.")
     })
     public ResponseEntity<AutorDTO> obterDetalhes(@PathVariable("id") String id) {
@@ -77,8 +92,9 @@ public class AutorController implements GenericController {
         return service
                 .obterPorId(idAutor)
                 .map(autor -> {
+                    cache.marcar(ChavesSubstitutas.autor(autor.getId()), ChavesSubstitutas.quantidadeLivros(autor.getId()));
                     AutorDTO dto = mapper.toDto(autor);
-                    return ResponseEntity.ok(dto);
+                    return ResponseEntity.ok().eTag(gerarEtag(autor.getVersao(), autor.getQuantidadeLivros())).body(dto);
                 }).orElseGet(() -> ResponseEntity.notFound().build());
     }
 
@@ -87,7 +103,9 @@ public class AutorController implements GenericController {
      * Apenas gerentes podem realizar essa operação.
      *
      * @param id identificador do autor
+     * @param ifMatch ETag da versão esperada do autor (opcional)
      * @return status 204 (No Content) se deletado com sucesso, 404 se não encontrado
+     *         ou 412 se o autor foi alterado desde a ETag informada
      */
     @DeleteMapping("{id}")
     @PreAuthorize("hasRole('GERENTE')")
@@ -95,9 +113,12 @@ public class AutorController implements GenericController {
     @ApiResponses({
             @ApiResponse(responseCode = "204", description = "Deletado com sucesso."),
             @ApiResponse(responseCode = "404", description = "Autor não encontrado."),
-            @ApiResponse(responseCode = "400", description = "Autor possui livro cadastrado.")
+            @ApiResponse(responseCode = "400", description = "Autor possui livro cadastrado."),
+            @ApiResponse(responseCode = "412", description = "Autor alterado desde a ETag informada em If-Match.")
     })
-    public ResponseEntity<Void> excluir(@PathVariable("id") String id) {
+    public ResponseEntity<Void> excluir(
+            @PathVariable("id") String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Deletando autor de ID: {} ", id);
         var idAutor = UUID.fromString(id);
         Optional<Autor> autorOptional = service.obterPorId(idAutor);
@@ -106,35 +127,117 @@ public class AutorController implements GenericController {
             return ResponseEntity.notFound().build();
         }
 
+        if (!atendeIfMatch(ifMatch, autorOptional.get().getVersao())) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+
         service.deletar(autorOptional.get());
 
         return ResponseEntity.noContent().build();
     }
 
     /**
-     * Realiza pesquisa de autores com base nos parâmetros opcionais: nome e nacionalidade.
+     * Realiza pesquisa paginada de autores com base nos parâmetros opcionais: nome e nacionalidade.
      * Acesso permitido a operadores e gerentes.
      *
-     * @param nome nome do autor (opcional)
-     * @param nacionalidade nacionalidade do autor (opcional)
-     * @return lista de autores encontrados
+     * Os filtros são parciais e ignoram acentos e maiúsculas/minúsculas. Os autores são ordenados
+     * por nome e o tamanho da página é limitado a {@code libraryapi.autores.maximo-pagina}.
+     *
+     * @param nome          trecho do nome do autor (opcional)
+     * @param nacionalidade trecho da nacionalidade do autor (opcional)
+     * @param pagina        número da página (default 0)
+     * @param tamanhoPagina tamanho da página (default 10)
+     * @return página de autores encontrados
      */
     @GetMapping
     @PreAuthorize("hasAnyRole('OPERADOR', 'GERENTE')")
     @Operation(summary = "Pesquisar", description = "Realiza pesquisa de autores por parâmetros")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Sucesso.")
+            @ApiResponse(responseCode = "200", description = "Sucesso."),
+            @ApiResponse(responseCode = "422", description = "Página ou tamanho de página inválido.")
     })
-    public ResponseEntity<List<AutorDTO>> pesquisar(
+    public ResponseEntity<Page<AutorDTO>> pesquisar(
             @RequestParam(value = "nome", required = false) String nome,
-            @RequestParam(value = "nacionalidade", required = false) String nacionalidade) {
-        List<Autor> resultadoPesquisa = service.pesquisaByExample(nome, nacionalidade);
-        List<AutorDTO> lista = resultadoPesquisa
-                .stream()
-                .map(mapper::toDto)
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(lista);
+            @RequestParam(value = "nacionalidade", required = false) String nacionalidade,
+            @RequestParam(value = "pagina", defaultValue = "0") Integer pagina,
+            @RequestParam(value = "tamanhoPagina", defaultValue = "10") Integer tamanhoPagina) {
+        Page<Autor> resultadoPesquisa = service.pesquisa(nome, nacionalidade, pagina, tamanhoPagina);
+        marcarPesquisa(resultadoPesquisa.getContent());
+
+        return ResponseEntity.ok(resultadoPesquisa.map(mapper::toDto));
+    }
+
+    /**
+     * Pesquisa autores utilizando paginação por cursor (keyset), ordenada por nome.
+     *
+     * É selecionada quando o parâmetro {@code cursor} está presente na requisição: envie
+     * {@code cursor=} (vazio) para a primeira página e, nas seguintes, o valor de
+     * {@code proximoCursor} retornado pela página anterior.
+     *
+     * @param nome          trecho do nome do autor (opcional)
+     * @param nacionalidade trecho da nacionalidade do autor (opcional)
+     * @param cursor        cursor opaco da página anterior (vazio para a primeira página)
+     * @param tamanhoPagina tamanho da página (default 10)
+     * @return autores da página e o cursor da próxima página
+     */
+    @GetMapping(params = "cursor")
+    @PreAuthorize("hasAnyRole('OPERADOR', 'GERENTE')")
+    @Operation(summary = "Pesquisar por cursor", description = "Realiza pesquisa de autores paginada por cursor")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Sucesso."),
+            @ApiResponse(responseCode = "422", description = "Cursor ou tamanho de página inválido.")
+    })
+    public ResponseEntity<ResultadoCursorDTO<AutorDTO>> pesquisarPorCursor(
+            @RequestParam(value = "nome", required = false) String nome,
+            @RequestParam(value = "nacionalidade", required = false) String nacionalidade,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "tamanhoPagina", defaultValue = "10") Integer tamanhoPagina) {
+        Slice<Autor> resultado = service.pesquisaPorCursor(
+                nome, nacionalidade, Cursor.decodificar(cursor), tamanhoPagina);
+        marcarPesquisa(resultado.getContent());
+
+        // O próximo cursor aponta para o último autor da página atual
+        String proximoCursor = null;
+        if (resultado.hasNext()) {
+            Autor ultimo = resultado.getContent().get(resultado.getNumberOfElements() - 1);
+            proximoCursor = new Cursor(ultimo.getNome(), ultimo.getId()).codificar();
+        }
+
+        List<AutorDTO> conteudo = resultado.map(mapper::toDto).getContent();
+        return ResponseEntity.ok(new ResultadoCursorDTO<>(conteudo, tamanhoPagina, proximoCursor));
+    }
+
+    /**
+     * Sugere autores cujo nome começa com o prefixo digitado (autocompletar), dos que têm mais livros
+     * para os que têm menos.
+     *
+     * Atendida por um índice de prefixos em memória, sem consultar o banco, então pode ser chamada
+     * a cada tecla digitada. Acentos e maiúsculas/minúsculas são ignorados.
+     *
+     * @param prefixo    início do nome do autor
+     * @param quantidade quantidade máxima de sugestões (default 10)
+     * @return autores sugeridos
+     */
+    @GetMapping("sugestoes")
+    @PreAuthorize("hasAnyRole('OPERADOR', 'GERENTE')")
+    @Operation(summary = "Sugerir", description = "Sugere autores pelo início do nome (autocompletar)")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Sucesso."),
+            @ApiResponse(responseCode = "422", description = "Quantidade de sugestões inválida.")
+    })
+    public ResponseEntity<List<SugestaoAutorDTO>> sugestoes(
+            @RequestParam("prefixo") String prefixo,
+            @RequestParam(value = "quantidade", defaultValue = "10") Integer quantidade) {
+        return ResponseEntity.ok(service.sugerir(prefixo, quantidade).stream().map(mapper::toDto).toList());
+    }
+
+    /**
+     * Marca a resposta de uma pesquisa para o cache de respostas: ela é invalidada quando um autor é
+     * cadastrado, alterado ou removido, ou quando muda a quantidade de livros de um dos autores exibidos.
+     */
+    private void marcarPesquisa(List<Autor> autores) {
+        cache.marcar(ChavesSubstitutas.PESQUISA_AUTORES);
+        autores.forEach(autor -> cache.marcar(ChavesSubstitutas.quantidadeLivros(autor.getId())));
     }
 
     /**
@@ -143,7 +246,9 @@ public class AutorController implements GenericController {
      *
      * @param id identificador do autor a ser atualizado
      * @param dto dados atualizados do autor
-     * @return status 204 (No Content) se atualizado, ou 404 se autor não for encontrado
+     * @param ifMatch ETag da versão esperada do autor (opcional)
+     * @return status 204 (No Content) com a nova ETag se atualizado, 404 se autor não for encontrado
+     *         ou 412 se o autor foi alterado desde a ETag informada
      */
     @PutMapping("{id}")
     @PreAuthorize("hasRole('GERENTE')")
@@ -151,17 +256,24 @@ public class AutorController implements GenericController {
     @ApiResponses({
             @ApiResponse(responseCode = "204", description = "Atualizado com sucesso."),
             @ApiResponse(responseCode = "404", description = "Autor não encontrado."),
-            @ApiResponse(responseCode = "409", description = "Autor já cadastrado.")
+            @ApiResponse(responseCode = "409", description = "Autor já cadastrado."),
+            @ApiResponse(responseCode = "412", description = "Autor alterado desde a ETag informada em If-Match.")
     })
     public ResponseEntity<Void> atualizar(
             @PathVariable("id") String id,
-            @RequestBody @Valid AutorDTO dto) {
+            @RequestBody @Valid AutorDTO dto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         var idAutor = UUID.fromString(id);
         Optional<Autor> autorOptional = service.obterPorId(idAutor);
 
         if (autorOptional.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
+
+        if (!atendeIfMatch(ifMatch, autorOptional.get().getVersao())) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        }
+
         /*
          * Não utilizamos o mapper.toEntity(dto) aqui para evitar sobrescrever
          * atributos não presentes no DTO com null. Apenas os campos atualizáveis
@@ -174,7 +286,7 @@ public class AutorController implements GenericController {
 
         service.atualizar(autor);
 
-        return ResponseEntity.noContent().build();
+        return ResponseEntity.noContent().eTag(gerarEtag(autor.getVersao(), autor.getQuantidadeLivros())).build();
 
     }
 }
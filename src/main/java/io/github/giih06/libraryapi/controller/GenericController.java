@@ -3,6 +3,7 @@ package io.github.giih06.libraryapi.controller;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.util.Arrays;
 import java.util.UUID;
 
 /**
@@ -27,4 +28,48 @@ public interface GenericController {
                 .buildAndExpand(id)
                 .toUri();
     }
+
+    /**
+     * Gera a ETag forte de um recurso a partir da sua versão (coluna {@code versao}).
+     *
+     * @param versao versão atual do registro
+     * @return ETag no formato: "versao"
+     */
+    default String gerarEtag(Long versao) {
+        return "\"" + versao + "\"";
+    }
+
+    /**
+     * Gera a ETag forte de um recurso cuja representação também exibe dados que não alteram a sua
+     * versão (ex.: os dados do autor em um livro).
+     *
+     * @param versao      versão atual do registro
+     * @param complemento valor que identifica os demais dados exibidos
+     * @return ETag no formato: "versao.complemento"
+     */
+    default String gerarEtag(Long versao, Number complemento) {
+        return "\"" + versao + "." + complemento + "\"";
+    }
+
+    /**
+     * Verifica a pré-condição do cabeçalho {@code If-Match} de uma escrita condicional.
+     * A comparação é forte: ETags fracas (W/) nunca atendem. Nas ETags compostas
+     * ({@link #gerarEtag(Long, Number)}), apenas a versão do registro é comparada.
+     *
+     * @param ifMatch valor do cabeçalho If-Match (null se não foi enviado)
+     * @param versao  versão atual do registro
+     * @return true se o cabeçalho não foi enviado, é "*" ou contém a ETag da versão atual
+     */
+    default boolean atendeIfMatch(String ifMatch, Long versao) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return true;
+        }
+
+        String etag = gerarEtag(versao);
+        String prefixoComposta = "\"" + versao + ".";
+        return Arrays.stream(ifMatch.split(","))
+                .map(String::trim)
+                .anyMatch(valor -> valor.equals("*") || valor.equals(etag)
+                        || (valor.startsWith(prefixoComposta) && valor.endsWith("\"")));
+    }
 }
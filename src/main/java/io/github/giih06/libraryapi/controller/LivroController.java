@@ -1,24 +1,59 @@
 package io.github.giih06.libraryapi.controller;
 
+import io.github.giih06.libraryapi.cache.CacheRespostas;
+import io.github.giih06.libraryapi.controller.dto.AtualizacaoLivroDTO;
 import io.github.giih06.libraryapi.controller.dto.CadastroLivroDTO;
+import io.github.giih06.libraryapi.controller.dto.ErroCampo;
+import io.github.giih06.libraryapi.controller.dto.EstatisticasLivrosDTO;
+import io.github.giih06.libraryapi.controller.dto.ResultadoCadastroLoteDTO;
+import io.github.giih06.libraryapi.controller.dto.ResultadoCursorDTO;
+import io.github.giih06.libraryapi.controller.dto.ResultadoFacetadoDTO;
+import io.github.giih06.libraryapi.controller.dto.ResultadoFatiaDTO;
+import io.github.giih06.libraryapi.controller.dto.ResultadoLoteDTO;
 import io.github.giih06.libraryapi.controller.dto.ResultadoPesquisaLivroDTO;
+import io.github.giih06.libraryapi.controller.dto.SugestaoTituloDTO;
 import io.github.giih06.libraryapi.controller.mappers.LivroMapper;
+import io.github.giih06.libraryapi.exceptions.CampoInvalidoException;
 import io.github.giih06.libraryapi.model.GeneroLivro;
 import io.github.giih06.libraryapi.model.Livro;
+import io.github.giih06.libraryapi.repository.projection.LivroResumo;
+import io.github.giih06.libraryapi.service.Cursor;
+import io.github.giih06.libraryapi.service.EstatisticasLivrosService;
+import io.github.giih06.libraryapi.service.Faceta;
+import io.github.giih06.libraryapi.service.FormatoExportacao;
 import io.github.giih06.libraryapi.service.LivroService;
+import io.github.giih06.libraryapi.service.ResultadoCadastroLote;
+import io.github.giih06.libraryapi.service.TipoBusca;
+import io.github.giih06.libraryapi.service.TipoContagem;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
+import static io.github.giih06.libraryapi.cache.ChavesSubstitutas.*;
+
 /**
  * Controlador responsável pelos endpoints relacionados ao gerenciamento de livros.
  * Permite operações de CRUD e pesquisa de livros.
@@ -31,6 +66,12 @@ public class LivroController implements GenericController {
 
     private final LivroService service;
     private final LivroMapper mapper;
+    private final Validator validator;
+    private final CacheRespostas cache;
+    private final EstatisticasLivrosService estatisticasService;
+
+    @Value("${libraryapi.lote.maximo-livros:1000}")
+    private int maximoLivrosLote;
 
     /**
      * Cadastra um novo livro.
@@ -53,44 +94,109 @@ public class LivroController implements GenericController {
         return ResponseEntity.created(url).build();
     }
 
+    /**
+     * Cadastra um lote de livros em uma única requisição e transação.
+     *
+     * Cada livro é validado individualmente e o resultado é informado por item, com os mesmos
+     * status do cadastro individual (201, 409 ou 422); os livros inválidos não impedem o cadastro
+     * dos demais. O lote é limitado a {@code libraryapi.lote.maximo-livros} livros.
+     *
+     * @param dtos livros a serem cadastrados
+     * @return resultado de cada livro, na ordem recebida
+     */
+    @PostMapping("lote")
+    @PreAuthorize("hasAnyRole('OPERADOR', 'GERENTE')")
+    @Operation(summary = "Salvar em lote", description = "Cadastrar vários livros em uma única requisição")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Lote processado; ver o status de cada item."),
+            @ApiResponse(responseCode = "422", description = "Lote vazio ou acima do tamanho máximo.")
+    })
+    public ResponseEntity<ResultadoLoteDTO> salvarLote(@RequestBody List<CadastroLivroDTO> dtos) {
+        if (dtos.isEmpty() || dtos.size() > maximoLivrosLote) {
+            throw new CampoInvalidoException("livros", "O lote deve conter entre 1 e " + maximoLivrosLote + " livros");
+        }
+
+        // Os itens com erro de campo já recebem o resultado; os demais são enviados ao serviço
+        ResultadoCadastroLoteDTO[] itens = new ResultadoCadastroLoteDTO[dtos.size()];
+        List<Integer> indices = new ArrayList<>(dtos.size());
+        List<Livro> livros = new ArrayList<>(dtos.size());
+        for (int i = 0; i < dtos.size(); i++) {
+            List<ErroCampo> erros = validator.validate(dtos.get(i))
+                    .stream()
+                    .map(violacao -> new ErroCampo(violacao.getPropertyPath().toString(), violacao.getMessage()))
+                    .toList();
+
+            if (erros.isEmpty()) {
+                indices.add(i);
+                livros.add(mapper.toEntityComIdAutor(dtos.get(i)));
+            } else {
+                itens[i] = ResultadoCadastroLoteDTO.invalido(i, erros);
+            }
+        }
+
+        List<ResultadoCadastroLote> resultados = service.salvarLote(livros);
+        for (int i = 0; i < resultados.size(); i++) {
+            int indice = indices.get(i);
+            itens[indice] = ResultadoCadastroLoteDTO.de(indice, resultados.get(i));
+        }
+
+        return ResponseEntity.ok(ResultadoLoteDTO.de(Arrays.asList(itens)));
+    }
+
     /**
      * Retorna os detalhes de um livro específico pelo ID.
      *
+     * A resposta contém a ETag das versões do livro e do autor ("versaoLivro.versaoAutor"). Se a
+     * requisição enviar a mesma ETag em {@code If-None-Match}, retorna 304 sem corpo. Em If-Match,
+     * nas escritas, apenas a versão do livro é comparada.
+     *
      * @param id identificador do livro
-     * @return dados do livro ou 404 caso não seja encontrado
+     * @return dados do livro, 304 se não foi modificado ou 404 caso não seja encontrado
      */
     @GetMapping("{id}")
     @PreAuthorize("hasAnyRole('OPERADOR', 'GERENTE')")
     @Operation(summary = "Obter Detalhes", description = "Retorna os dados do Livro pelo ID")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Livro Encontrado."),
+            @ApiResponse(responseCode = "304", description = "Livro não modificado desde a ETag informada."),
             @ApiResponse(responseCode = "404", description = "Livro não encontrado.")
     })
     public ResponseEntity<ResultadoPesquisaLivroDTO> obterDetalhes(
             @PathVariable("id") String id) {
-        return service.obterPorId(UUID.fromString(id))
+        return service.obterResumoPorId(UUID.fromString(id))
                 .map(livro -> {
+                    cache.marcar(livro(livro.id()), autor(livro.idAutor()));
                     var dto = mapper.toDto(livro);
-                    return ResponseEntity.ok(dto);
+                    // o corpo exibe o autor, então a ETag também muda quando o autor é atualizado;
+                    // o Spring responde 304 (sem serializar o corpo) se a ETag coincidir com If-None-Match
+                    return ResponseEntity.ok().eTag(gerarEtag(livro.versao(), livro.versaoAutor())).body(dto);
                 }).orElseGet( () -> ResponseEntity.notFound().build() );
     }
 
     /**
      * Deleta um livro pelo ID.
      *
-     * @param id identificador do livro
-     * @return 204 se deletado, ou 404 se não encontrado
+     * @param id      identificador do livro
+     * @param ifMatch ETag da versão esperada do livro (opcional)
+     * @return 204 se deletado, 404 se não encontrado ou 412 se o livro foi alterado desde a ETag informada
      */
     @DeleteMapping("{id}")
     @PreAuthorize("hasAnyRole('OPERADOR', 'GERENTE')")
     @Operation(summary = "Deletar", description = "Deleta um livro existente")
     @ApiResponses({
             @ApiResponse(responseCode = "204", description = "Deletado com sucesso."),
-            @ApiResponse(responseCode = "404", description = "Livro não encontrado.")
+            @ApiResponse(responseCode = "404", description = "Livro não encontrado."),
+            @ApiResponse(responseCode = "412", description = "Livro alterado desde a ETag informada em If-Match.")
     })
-    public ResponseEntity<Object> excluir(@PathVariable("id") String id) {
+    public ResponseEntity<Object> excluir(
+            @PathVariable("id") String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         return service.obterPorId(UUID.fromString(id))
                 .map(livro -> {
+                    if (!atendeIfMatch(ifMatch, livro.getVersao())) {
+                        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+                    }
+
                     service.deletar(livro);
                     return ResponseEntity.noContent().build();
                 }).orElseGet(() -> ResponseEntity.notFound().build());
@@ -116,6 +222,10 @@ public class LivroController implements GenericController {
      * Pesquisa livros com base em filtros opcionais como ISBN, título, autor, gênero e ano.
      * Também permite paginação.
      *
+     * O parâmetro {@code contagem} define como o total de registros é obtido:
+     * {@code exata} (padrão) executa o count, {@code estimada} usa as estatísticas do banco
+     * e {@code nenhuma} não conta, retornando apenas se existe próxima página.
+     *
      * @param isbn            filtro por ISBN
      * @param titulo          filtro por título
      * @param nomeAutor       filtro por nome do autor
@@ -123,38 +233,219 @@ public class LivroController implements GenericController {
      * @param anoPublicacao   filtro por ano de publicação
      * @param pagina          número da página (default 0)
      * @param tamanhoPagina   tamanho da página (default 10)
-     * @return página contendo os resultados da pesquisa
+     * @param contagem        estratégia de contagem: exata, estimada ou nenhuma (default exata)
+     * @param busca           busca de título, autor e ISBN: padrao (LIKE), textual (indexada no banco,
+     *                        sem acentos, ordenada por relevância) ou indice (índice em memória,
+     *                        tolerante a erros de digitação, ordenada por relevância) (default padrao)
+     * @param facetas         facetas calculadas com os mesmos filtros, separadas por vírgula: genero e/ou ano
+     *                        (opcional); quando informado, a resposta inclui {@code facetas} com a
+     *                        quantidade de livros por valor
+     * @return página contendo os resultados da pesquisa (ou fatia, quando contagem=nenhuma)
      */
     @GetMapping
     @PreAuthorize("hasAnyRole('OPERADOR', 'GERENTE')")
     @Operation(summary = "Pesquisar", description = "Realiza pesquisa de livros por parâmetros")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Sucesso.")
+            @ApiResponse(responseCode = "200", description = "Sucesso."),
+            @ApiResponse(responseCode = "422", description = "Tamanho de página, estratégia de contagem, de busca ou faceta inválida.")
     })
-    public ResponseEntity<Page<ResultadoPesquisaLivroDTO>> pesquisa(
+    public ResponseEntity<Object> pesquisa(
             @RequestParam(value = "isbn", required = false) String isbn,
             @RequestParam(value = "titulo", required = false) String titulo,
             @RequestParam(value = "nomeAutor", required = false) String nomeAutor,
             @RequestParam(value = "genero", required = false) GeneroLivro genero,
             @RequestParam(value = "anoPublicacao", required = false) Integer anoPublicacao,
             @RequestParam(value = "pagina", defaultValue = "0") Integer pagina,
-            @RequestParam(value = "tamanhoPagina", defaultValue = "10") Integer tamanhoPagina
+            @RequestParam(value = "tamanhoPagina", defaultValue = "10") Integer tamanhoPagina,
+            @RequestParam(value = "contagem", defaultValue = "exata") String contagem,
+            @RequestParam(value = "busca", defaultValue = "padrao") String busca,
+            @RequestParam(value = "facetas", required = false) String facetas
     ){
-        Page<Livro> paginaResultado = service.pesquisa(
-                isbn, titulo, nomeAutor, genero, anoPublicacao, pagina,tamanhoPagina
+        TipoContagem tipoContagem = TipoContagem.de(contagem);
+        TipoBusca tipoBusca = TipoBusca.de(busca);
+        Set<Faceta> facetasSolicitadas = Faceta.de(facetas);
+
+        Slice<LivroResumo> resultadoPesquisa = service.pesquisa(
+                isbn, titulo, nomeAutor, genero, anoPublicacao, pagina, tamanhoPagina,
+                tipoContagem, tipoBusca
         );
+        marcarPesquisa(genero, resultadoPesquisa.getContent());
 
         // Conversão dos resultados para DTOs de resposta
-        Page<ResultadoPesquisaLivroDTO> resultado = paginaResultado.map(mapper::toDto);
-        return ResponseEntity.ok(resultado);
+        Object resultado = resultadoPesquisa instanceof Page<LivroResumo> paginaResultado
+                ? paginaResultado.map(mapper::toDto)
+                : ResultadoFatiaDTO.de(resultadoPesquisa.map(mapper::toDto));
+
+        if (facetasSolicitadas.isEmpty()) {
+            return ResponseEntity.ok(resultado);
+        }
+
+        // as quantidades dependem dos mesmos livros da pesquisa, então a marcação acima também as invalida
+        Map<String, Map<String, Long>> contagens = new LinkedHashMap<>();
+        service.contarFacetas(isbn, titulo, nomeAutor, genero, anoPublicacao, tipoBusca, facetasSolicitadas)
+                .forEach((faceta, quantidades) -> contagens.put(faceta.getValor(), quantidades));
+        return ResponseEntity.ok(new ResultadoFacetadoDTO(resultado, contagens));
+    }
+
+    /**
+     * Pesquisa livros utilizando paginação por cursor (keyset), ordenada por título.
+     *
+     * É selecionada quando o parâmetro {@code cursor} está presente na requisição: envie
+     * {@code cursor=} (vazio) para a primeira página e, nas seguintes, o valor de
+     * {@code proximoCursor} retornado pela página anterior. Aceita os mesmos filtros
+     * da pesquisa paginada, mas o custo de cada página não cresce com a profundidade.
+     *
+     * @param isbn            filtro por ISBN
+     * @param titulo          filtro por título
+     * @param nomeAutor       filtro por nome do autor
+     * @param genero          filtro por gênero
+     * @param anoPublicacao   filtro por ano de publicação
+     * @param cursor          cursor opaco da página anterior (vazio para a primeira página)
+     * @param tamanhoPagina   tamanho da página (default 10)
+     * @param busca           busca de título, autor e ISBN: padrao, textual ou indice (default padrao)
+     * @return registros da página e o cursor da próxima página
+     */
+    @GetMapping(params = "cursor")
+    @PreAuthorize("hasAnyRole('OPERADOR', 'GERENTE')")
+    @Operation(summary = "Pesquisar por cursor", description = "Realiza pesquisa de livros paginada por cursor")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Sucesso."),
+            @ApiResponse(responseCode = "422", description = "Cursor, tamanho de página ou estratégia de busca inválida.")
+    })
+    public ResponseEntity<ResultadoCursorDTO<ResultadoPesquisaLivroDTO>> pesquisaPorCursor(
+            @RequestParam(value = "isbn", required = false) String isbn,
+            @RequestParam(value = "titulo", required = false) String titulo,
+            @RequestParam(value = "nomeAutor", required = false) String nomeAutor,
+            @RequestParam(value = "genero", required = false) GeneroLivro genero,
+            @RequestParam(value = "anoPublicacao", required = false) Integer anoPublicacao,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "tamanhoPagina", defaultValue = "10") Integer tamanhoPagina,
+            @RequestParam(value = "busca", defaultValue = "padrao") String busca
+    ){
+        Slice<LivroResumo> resultado = service.pesquisaPorCursor(
+                isbn, titulo, nomeAutor, genero, anoPublicacao, Cursor.decodificar(cursor), tamanhoPagina,
+                TipoBusca.de(busca)
+        );
+        marcarPesquisa(genero, resultado.getContent());
+
+        // O próximo cursor aponta para o último livro da página atual
+        String proximoCursor = null;
+        if (resultado.hasNext()) {
+            LivroResumo ultimo = resultado.getContent().get(resultado.getNumberOfElements() - 1);
+            proximoCursor = new Cursor(ultimo.titulo(), ultimo.id()).codificar();
+        }
+
+        List<ResultadoPesquisaLivroDTO> conteudo = resultado.map(mapper::toDto).getContent();
+        return ResponseEntity.ok(new ResultadoCursorDTO<>(conteudo, tamanhoPagina, proximoCursor));
+    }
+
+    /**
+     * Marca a resposta de uma pesquisa para o cache de respostas: ela é invalidada quando um dos livros
+     * ou autores exibidos muda, ou quando um livro entra ou sai das pesquisas do gênero filtrado.
+     */
+    private void marcarPesquisa(GeneroLivro genero, List<LivroResumo> livros) {
+        cache.marcar(PESQUISA_LIVROS, pesquisaLivrosPorGenero(genero));
+        livros.forEach(livro -> cache.marcar(livro(livro.id()), autor(livro.idAutor())));
+    }
+
+    /**
+     * Exporta todos os livros que atendem aos filtros em NDJSON (um objeto por linha) ou CSV.
+     *
+     * Os livros são lidos do banco por cursor e escritos na resposta à medida que chegam,
+     * sem paginação nem count, então é possível exportar o catálogo inteiro em uma única
+     * requisição com consumo de memória constante.
+     *
+     * @param isbn            filtro por ISBN
+     * @param titulo          filtro por título
+     * @param nomeAutor       filtro por nome do autor
+     * @param genero          filtro por gênero
+     * @param anoPublicacao   filtro por ano de publicação
+     * @param busca           busca de título, autor e ISBN: padrao, textual ou indice (default padrao)
+     * @param formato         formato de saída: ndjson ou csv (default ndjson)
+     * @param response        resposta HTTP onde os livros são escritos
+     */
+    @GetMapping("export")
+    @PreAuthorize("hasAnyRole('OPERADOR', 'GERENTE')")
+    @Operation(summary = "Exportar", description = "Exporta os livros filtrados em NDJSON ou CSV")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Sucesso."),
+            @ApiResponse(responseCode = "422", description = "Formato ou estratégia de busca inválida.")
+    })
+    public void exportar(
+            @RequestParam(value = "isbn", required = false) String isbn,
+            @RequestParam(value = "titulo", required = false) String titulo,
+            @RequestParam(value = "nomeAutor", required = false) String nomeAutor,
+            @RequestParam(value = "genero", required = false) GeneroLivro genero,
+            @RequestParam(value = "anoPublicacao", required = false) Integer anoPublicacao,
+            @RequestParam(value = "busca", defaultValue = "padrao") String busca,
+            @RequestParam(value = "formato", defaultValue = "ndjson") String formato,
+            HttpServletResponse response
+    ) throws IOException {
+        // valida os parâmetros antes de iniciar a resposta
+        FormatoExportacao formatoExportacao = FormatoExportacao.de(formato);
+        TipoBusca tipoBusca = TipoBusca.de(busca);
+
+        response.setContentType(formatoExportacao.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"livros." + formatoExportacao.getValor() + "\"");
+
+        service.exportar(isbn, titulo, nomeAutor, genero, anoPublicacao, tipoBusca,
+                formatoExportacao, response.getOutputStream());
+    }
+
+    /**
+     * Sugere títulos de livros que começam com o prefixo digitado (autocompletar), dos títulos com
+     * mais livros para os com menos.
+     *
+     * Atendida por um índice de prefixos em memória, sem consultar o banco, então pode ser chamada
+     * a cada tecla digitada. Acentos e maiúsculas/minúsculas são ignorados.
+     *
+     * @param prefixo    início do título
+     * @param quantidade quantidade máxima de sugestões (default 10)
+     * @return títulos sugeridos
+     */
+    @GetMapping("sugestoes")
+    @PreAuthorize("hasAnyRole('OPERADOR', 'GERENTE')")
+    @Operation(summary = "Sugerir", description = "Sugere títulos de livros pelo início do título (autocompletar)")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Sucesso."),
+            @ApiResponse(responseCode = "422", description = "Quantidade de sugestões inválida.")
+    })
+    public ResponseEntity<List<SugestaoTituloDTO>> sugestoes(
+            @RequestParam("prefixo") String prefixo,
+            @RequestParam(value = "quantidade", defaultValue = "10") Integer quantidade) {
+        return ResponseEntity.ok(service.sugerirTitulos(prefixo, quantidade).stream().map(mapper::toDto).toList());
+    }
+
+    /**
+     * Retorna as estatísticas do catálogo: quantidade de livros e preço mínimo, médio e máximo
+     * por gênero, por ano de publicação e por nacionalidade do autor.
+     *
+     * As estatísticas são pré-calculadas e atualizadas periodicamente após escritas no catálogo,
+     * então o custo da consulta não depende da quantidade de livros; {@code atualizadoEm} indica
+     * o momento da última atualização.
+     *
+     * @return estatísticas do catálogo
+     */
+    @GetMapping("estatisticas")
+    @PreAuthorize("hasAnyRole('OPERADOR', 'GERENTE')")
+    @Operation(summary = "Estatísticas", description = "Retorna quantidade e preços dos livros por gênero, ano e nacionalidade do autor")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Sucesso.")
+    })
+    public ResponseEntity<EstatisticasLivrosDTO> estatisticas() {
+        return ResponseEntity.ok(mapper.toDto(estatisticasService.obterEstatisticas()));
     }
 
     /**
      * Atualiza os dados de um livro existente.
      *
-     * @param id  identificador do livro a ser atualizado
-     * @param dto objeto com os novos dados do livro
-     * @return 204 se atualizado com sucesso, 404 se não encontrado
+     * @param id      identificador do livro a ser atualizado
+     * @param dto     objeto com os novos dados do livro
+     * @param ifMatch ETag da versão esperada do livro (opcional)
+     * @return 204 com a nova ETag se atualizado com sucesso, 404 se não encontrado
+     *         ou 412 se o livro foi alterado desde a ETag informada
      */
     @PutMapping("{id}")
     @PreAuthorize("hasAnyRole('OPERADOR', 'GERENTE')")
@@ -162,11 +453,20 @@ public class LivroController implements GenericController {
     @ApiResponses({
             @ApiResponse(responseCode = "204", description = "Atualizado com sucesso."),
             @ApiResponse(responseCode = "404", description = "Livro não encontrado."),
-            @ApiResponse(responseCode = "409", description = "Livro já cadastrado.")
+            @ApiResponse(responseCode = "409", description = "Livro já cadastrado."),
+            @ApiResponse(responseCode = "412", description = "Livro alterado desde a ETag informada em If-Match.")
     })
-    public ResponseEntity<Object> atualizar(@PathVariable("id") String id, @RequestBody @Valid CadastroLivroDTO dto) {
+    public ResponseEntity<Object> atualizar(
+            @PathVariable("id") String id,
+            @RequestBody @Valid CadastroLivroDTO dto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         return service.obterPorId(UUID.fromString(id))
                 .map(livro -> {
+                    if (!atendeIfMatch(ifMatch, livro.getVersao())) {
+                        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+                    }
+
+                    UUID idAutorAnterior = livro.getAutor().getId();
                     Livro entidadeLivro = mapper.toEntity(dto);
 
                     livro.setIsbn(entidadeLivro.getIsbn());
@@ -176,10 +476,49 @@ public class LivroController implements GenericController {
                     livro.setPreco(entidadeLivro.getPreco());
                     livro.setAutor(entidadeLivro.getAutor());
 
-                    service.atualizar(livro);
+                    service.atualizar(livro, idAutorAnterior);
 
-                    return ResponseEntity.noContent().build();
+                    return ResponseEntity.noContent().eTag(gerarEtag(livro.getVersao())).build();
                 }).orElseGet( () -> ResponseEntity.notFound().build() );
 
     }
+
+    /**
+     * Atualiza parcialmente um livro existente: apenas os campos enviados são alterados.
+     *
+     * O UPDATE contém somente as colunas que mudaram e só as validações dos campos enviados
+     * são executadas, o que torna barata a atualização frequente de um único campo (ex.: preço).
+     *
+     * @param id      identificador do livro a ser atualizado
+     * @param dto     campos a serem alterados
+     * @param ifMatch ETag da versão esperada do livro (opcional)
+     * @return 204 com a nova ETag se atualizado com sucesso, 404 se não encontrado
+     *         ou 412 se o livro foi alterado desde a ETag informada
+     */
+    @PatchMapping("{id}")
+    @PreAuthorize("hasAnyRole('OPERADOR', 'GERENTE')")
+    @Operation(summary = "Atualizar parcialmente", description = "Atualiza apenas os campos informados de um livro existente")
+    @ApiResponses({
+            @ApiResponse(responseCode = "204", description = "Atualizado com sucesso."),
+            @ApiResponse(responseCode = "404", description = "Livro não encontrado."),
+            @ApiResponse(responseCode = "409", description = "Livro já cadastrado."),
+            @ApiResponse(responseCode = "412", description = "Livro alterado desde a ETag informada em If-Match."),
+            @ApiResponse(responseCode = "422", description = "Erro de validação.")
+    })
+    public ResponseEntity<Object> atualizarParcial(
+            @PathVariable("id") String id,
+            @RequestBody @Valid AtualizacaoLivroDTO dto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return service.obterPorId(UUID.fromString(id))
+                .map(livro -> {
+                    if (!atendeIfMatch(ifMatch, livro.getVersao())) {
+                        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+                    }
+
+                    service.atualizarParcial(livro, dto.isbn(), dto.titulo(), dto.dataPublicacao(),
+                            dto.genero(), dto.preco(), dto.idAutor());
+
+                    return ResponseEntity.noContent().eTag(gerarEtag(livro.getVersao())).build();
+                }).orElseGet( () -> ResponseEntity.notFound().build() );
+    }
 }
@@ -5,8 +5,14 @@ import io.github.giih06.libraryapi.controller.dto.ErroResposta;
 import io.github.giih06.libraryapi.exceptions.CampoInvalidoException;
 import io.github.giih06.libraryapi.exceptions.OperacaoNaoPermitidaException;
 import io.github.giih06.libraryapi.exceptions.RegistroDuplicadoException;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -15,6 +21,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -26,6 +33,17 @@ import java.util.stream.Collectors;
 @Slf4j
 public class GlobalExceptionHandler {
 
+    // Mensagens das restrições únicas do banco, convertidas em RegistroDuplicadoException (409)
+    private static final Map<String, String> RESTRICOES_UNICAS = Map.of(
+            "uk_livro_isbn", "ISBN já cadastrado no banco de dados",
+            "uk_autor_nome_data_nascimento_nacionalidade", "Autor já cadastrado no banco de dados"
+    );
+
+    // Chaves estrangeiras do banco, convertidas em CampoInvalidoException (422) no campo que referencia o registro
+    private static final Map<String, ErroCampo> CHAVES_ESTRANGEIRAS = Map.of(
+            "livro_id_autor_fkey", new ErroCampo("idAutor", "Autor não encontrado")
+    );
+
     /**
      * Trata erros de validação de campos enviados no corpo da requisição (anotações @Valid).
      *
@@ -59,6 +77,66 @@ public class GlobalExceptionHandler {
         return ErroResposta.conflito(e.getMessage());
     }
 
+    /**
+     * Trata violações de restrições do banco de dados.
+     *
+     * As restrições únicas conhecidas são respondidas como {@link RegistroDuplicadoException} e as
+     * chaves estrangeiras conhecidas como {@link CampoInvalidoException}, então os cadastros não precisam
+     * consultar o banco antes do INSERT/UPDATE para detectar duplicidade ou registros inexistentes.
+     * As demais violações são tratadas como erro inesperado.
+     *
+     * @param e exceção lançada pelo Spring Data ao executar o comando
+     * @return resposta com status 409 (Conflict), 422 (Unprocessable Entity) ou 500 (Internal Server Error)
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErroResposta> handleDataIntegrityViolationException(DataIntegrityViolationException e) {
+        String restricao = nomeRestricao(e);
+        if (restricao != null && RESTRICOES_UNICAS.containsKey(restricao)) {
+            String mensagem = RESTRICOES_UNICAS.get(restricao);
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(handleRegistroDuplicadoException(new RegistroDuplicadoException(mensagem)));
+        }
+
+        if (restricao != null && CHAVES_ESTRANGEIRAS.containsKey(restricao)) {
+            ErroCampo erro = CHAVES_ESTRANGEIRAS.get(restricao);
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                    .body(handleCampoInvalidoException(new CampoInvalidoException(erro.campo(), erro.erro())));
+        }
+
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(handleErrosNaoTratados(e));
+    }
+
+    /**
+     * Obtém o nome da restrição violada a partir da exceção do Hibernate na cadeia de causas.
+     */
+    private static String nomeRestricao(Throwable e) {
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConstraintViolationException violacao) {
+                return violacao.getConstraintName();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Trata conflitos do controle de concorrência otimista: o registro foi alterado (ou removido)
+     * por outra requisição entre a leitura e a gravação.
+     *
+     * @param e       exceção lançada ao gravar uma versão desatualizada
+     * @param request requisição atual
+     * @return resposta com status 412 (Precondition Failed) se a requisição enviou If-Match,
+     *         ou 409 (Conflict) caso contrário
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErroResposta> handleOptimisticLockingFailureException(
+            OptimisticLockingFailureException e, HttpServletRequest request) {
+        HttpStatus status = request.getHeader(HttpHeaders.IF_MATCH) != null
+                ? HttpStatus.PRECONDITION_FAILED
+                : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status)
+                .body(new ErroResposta(status.value(), "O registro foi alterado por outra requisição", List.of()));
+    }
+
     /**
      * Trata exceções para operações não permitidas no contexto atual.
      *
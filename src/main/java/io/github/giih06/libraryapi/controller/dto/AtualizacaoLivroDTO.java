@@ -0,0 +1,30 @@
+package io.github.giih06.libraryapi.controller.dto;
+
+import io.github.giih06.libraryapi.model.GeneroLivro;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Past;
+import jakarta.validation.constraints.Pattern;
+import org.hibernate.validator.constraints.ISBN;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * DTO responsável pelo recebimento dos dados de atualização parcial de um livro (PATCH).
+ *
+ * Todos os campos são opcionais: apenas os informados (não nulos) são alterados.
+ * As validações se aplicam somente aos campos presentes.
+ */
+@Schema(name = "AtualizacaoLivro")
+public record AtualizacaoLivroDTO(
+        @ISBN
+        String isbn,
+        @Pattern(regexp = "(?s).*\\S.*", message = "título não pode ser vazio!")
+        String titulo,
+        @Past(message = "Este campo não permite uma data futura")
+        LocalDate dataPublicacao,
+        GeneroLivro genero,
+        BigDecimal preco,
+        UUID idAutor) {
+}
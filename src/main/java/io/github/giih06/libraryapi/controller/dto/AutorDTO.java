@@ -26,5 +26,7 @@ public record AutorDTO(
         LocalDate dataNascimento,
         @NotBlank(message = "Nacionalidade é obrigatório!")
         @Size(min = 2, max = 50, message = "Campo fora do tamanho permitido")
-        String nacionalidade) {
+        String nacionalidade,
+        @Schema(accessMode = Schema.AccessMode.READ_ONLY, description = "Quantidade de livros cadastrados do autor")
+        Integer quantidadeLivros) {
 }
@@ -0,0 +1,23 @@
+package io.github.giih06.libraryapi.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO de resposta com os agregados dos livros de um grupo (gênero, ano de publicação ou nacionalidade do autor).
+ *
+ * @param grupo       valor do agrupamento
+ * @param quantidade  quantidade de livros
+ * @param precoMinimo menor preço
+ * @param precoMedio  preço médio
+ * @param precoMaximo maior preço
+ */
+@Schema(name = "EstatisticaLivros")
+public record EstatisticaLivrosDTO(
+        String grupo,
+        long quantidade,
+        BigDecimal precoMinimo,
+        BigDecimal precoMedio,
+        BigDecimal precoMaximo) {
+}
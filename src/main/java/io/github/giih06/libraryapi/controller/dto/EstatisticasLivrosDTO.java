@@ -0,0 +1,22 @@
+package io.github.giih06.libraryapi.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO de resposta das estatísticas do catálogo de livros.
+ *
+ * @param porGenero             agregados por gênero
+ * @param porAnoPublicacao      agregados por ano de publicação
+ * @param porNacionalidadeAutor agregados por nacionalidade do autor
+ * @param atualizadoEm          momento da última atualização das estatísticas
+ */
+@Schema(name = "EstatisticasLivros")
+public record EstatisticasLivrosDTO(
+        List<EstatisticaLivrosDTO> porGenero,
+        List<EstatisticaLivrosDTO> porAnoPublicacao,
+        List<EstatisticaLivrosDTO> porNacionalidadeAutor,
+        LocalDateTime atualizadoEm) {
+}
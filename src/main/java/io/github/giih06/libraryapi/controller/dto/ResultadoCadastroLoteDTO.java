@@ -0,0 +1,48 @@
+package io.github.giih06.libraryapi.controller.dto;
+
+import io.github.giih06.libraryapi.exceptions.CampoInvalidoException;
+import io.github.giih06.libraryapi.exceptions.RegistroDuplicadoException;
+import io.github.giih06.libraryapi.service.ResultadoCadastroLote;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO de resposta com o resultado do cadastro de um livro enviado em lote.
+ *
+ * O status segue os mesmos códigos do cadastro individual: 201 quando cadastrado,
+ * 409 para ISBN duplicado e 422 para erros de validação.
+ *
+ * @param indice  posição do livro no lote enviado (0-based)
+ * @param status  código de status HTTP do item
+ * @param id      identificador do livro cadastrado (null quando rejeitado)
+ * @param erros   erros que impediram o cadastro
+ */
+@Schema(name = "ResultadoCadastroLote")
+public record ResultadoCadastroLoteDTO(int indice, int status, UUID id, List<ErroCampo> erros) {
+
+    /**
+     * Cria o resultado de um livro rejeitado pela validação dos campos (Bean Validation).
+     */
+    public static ResultadoCadastroLoteDTO invalido(int indice, List<ErroCampo> erros) {
+        return new ResultadoCadastroLoteDTO(indice, HttpStatus.UNPROCESSABLE_ENTITY.value(), null, erros);
+    }
+
+    /**
+     * Cria o DTO a partir do resultado do cadastro no serviço.
+     */
+    public static ResultadoCadastroLoteDTO de(int indice, ResultadoCadastroLote resultado) {
+        if (resultado.isCadastrado()) {
+            return new ResultadoCadastroLoteDTO(indice, HttpStatus.CREATED.value(), resultado.livro().getId(), List.of());
+        }
+
+        return switch (resultado.erro()) {
+            case RegistroDuplicadoException e -> new ResultadoCadastroLoteDTO(
+                    indice, HttpStatus.CONFLICT.value(), null, List.of(new ErroCampo("isbn", e.getMessage())));
+            case CampoInvalidoException e -> invalido(indice, List.of(new ErroCampo(e.getCampo(), e.getMessage())));
+            default -> throw resultado.erro();
+        };
+    }
+}
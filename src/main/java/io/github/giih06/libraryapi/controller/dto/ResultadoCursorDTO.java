@@ -0,0 +1,22 @@
+package io.github.giih06.libraryapi.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO de resposta para pesquisas paginadas por cursor (keyset).
+ *
+ * Em vez do número da página, retorna o cursor que deve ser enviado na próxima
+ * requisição. Quando não há mais resultados, {@code proximoCursor} é nulo.
+ *
+ * @param conteudo      registros da página atual
+ * @param tamanhoPagina quantidade máxima de registros por página
+ * @param proximoCursor cursor opaco para a próxima página (ou null)
+ */
+@Schema(name = "ResultadoCursor")
+public record ResultadoCursorDTO<T>(
+        List<T> conteudo,
+        int tamanhoPagina,
+        String proximoCursor) {
+}
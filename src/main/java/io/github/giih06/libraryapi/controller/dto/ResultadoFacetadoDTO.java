@@ -0,0 +1,22 @@
+package io.github.giih06.libraryapi.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Map;
+
+/**
+ * DTO de resposta da pesquisa de livros com facetas.
+ *
+ * Os campos do resultado (página ou fatia) são mantidos no mesmo nível do JSON, então clientes
+ * que não usam facetas leem a resposta da mesma forma; as facetas são acrescentadas em {@code facetas}.
+ *
+ * @param resultado página ou fatia da pesquisa
+ * @param facetas   para cada faceta solicitada, a quantidade de livros por valor
+ *                  (ex.: {@code {"genero": {"FANTASIA": 1203, "ROMANCE": 877}}})
+ */
+@Schema(name = "ResultadoFacetado")
+public record ResultadoFacetadoDTO(
+        @JsonUnwrapped Object resultado,
+        Map<String, Map<String, Long>> facetas) {
+}
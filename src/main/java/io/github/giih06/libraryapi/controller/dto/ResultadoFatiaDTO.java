@@ -0,0 +1,35 @@
+package io.github.giih06.libraryapi.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * DTO de resposta para pesquisas paginadas sem contagem do total de registros.
+ *
+ * Indica apenas se existe próxima página, o que evita o {@code SELECT count(*)}
+ * e atende clientes com rolagem infinita.
+ *
+ * @param conteudo          registros da página atual
+ * @param pagina            número da página (0-based)
+ * @param tamanhoPagina     quantidade máxima de registros por página
+ * @param temProximaPagina  true se existirem registros após esta página
+ */
+@Schema(name = "ResultadoFatia")
+public record ResultadoFatiaDTO<T>(
+        List<T> conteudo,
+        int pagina,
+        int tamanhoPagina,
+        boolean temProximaPagina) {
+
+    /**
+     * Cria o DTO a partir de um {@link Slice} do Spring Data.
+     *
+     * @param fatia fatia com o conteúdo já convertido
+     * @return DTO de resposta
+     */
+    public static <T> ResultadoFatiaDTO<T> de(Slice<T> fatia) {
+        return new ResultadoFatiaDTO<>(fatia.getContent(), fatia.getNumber(), fatia.getSize(), fatia.hasNext());
+    }
+}
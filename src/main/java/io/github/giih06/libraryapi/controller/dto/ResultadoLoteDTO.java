@@ -0,0 +1,25 @@
+package io.github.giih06.libraryapi.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+/**
+ * DTO de resposta do cadastro em lote de livros.
+ *
+ * @param total       quantidade de livros recebidos
+ * @param cadastrados quantidade de livros cadastrados
+ * @param rejeitados  quantidade de livros rejeitados
+ * @param itens       resultado de cada livro, na ordem recebida
+ */
+@Schema(name = "ResultadoLote")
+public record ResultadoLoteDTO(int total, int cadastrados, int rejeitados, List<ResultadoCadastroLoteDTO> itens) {
+
+    public static ResultadoLoteDTO de(List<ResultadoCadastroLoteDTO> itens) {
+        int cadastrados = (int) itens.stream()
+                .filter(item -> item.status() == HttpStatus.CREATED.value())
+                .count();
+        return new ResultadoLoteDTO(itens.size(), cadastrados, itens.size() - cadastrados, itens);
+    }
+}
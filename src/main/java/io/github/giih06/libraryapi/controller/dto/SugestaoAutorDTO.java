@@ -0,0 +1,16 @@
+package io.github.giih06.libraryapi.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.UUID;
+
+/**
+ * DTO de resposta do autocompletar de nomes de autores.
+ *
+ * @param id               identificador do autor
+ * @param nome             nome do autor
+ * @param quantidadeLivros quantidade de livros do autor
+ */
+@Schema(name = "SugestaoAutor")
+public record SugestaoAutorDTO(UUID id, String nome, long quantidadeLivros) {
+}
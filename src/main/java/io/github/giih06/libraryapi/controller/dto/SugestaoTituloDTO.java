@@ -0,0 +1,13 @@
+package io.github.giih06.libraryapi.controller.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO de resposta do autocompletar de títulos de livros.
+ *
+ * @param titulo           título sugerido
+ * @param quantidadeLivros quantidade de livros com o título
+ */
+@Schema(name = "SugestaoTitulo")
+public record SugestaoTituloDTO(String titulo, long quantidadeLivros) {
+}
@@ -1,6 +1,8 @@
 package io.github.giih06.libraryapi.controller.mappers;
 
+import io.github.giih06.libraryapi.busca.SugestaoAutor;
 import io.github.giih06.libraryapi.controller.dto.AutorDTO;
+import io.github.giih06.libraryapi.controller.dto.SugestaoAutorDTO;
 import io.github.giih06.libraryapi.model.Autor;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -22,6 +24,7 @@ public interface AutorMapper {
     @Mapping(source = "nome", target = "nome")
     @Mapping(source = "dataNascimento", target = "dataNascimento")
     @Mapping(source = "nacionalidade", target = "nacionalidade")
+    @Mapping(target = "quantidadeLivros", ignore = true) // mantida pelo cadastro de livros
     Autor toEntity(AutorDTO dto);
 
     /**
@@ -31,4 +34,12 @@ public interface AutorMapper {
      * @return objeto AutorDTO com os dados convertidos
      */
     AutorDTO toDto(Autor autor);
+
+    /**
+     * Converte um autor sugerido pelo autocompletar em seu respectivo DTO.
+     *
+     * @param sugestao autor sugerido
+     * @return objeto SugestaoAutorDTO com os dados convertidos
+     */
+    SugestaoAutorDTO toDto(SugestaoAutor sugestao);
 }
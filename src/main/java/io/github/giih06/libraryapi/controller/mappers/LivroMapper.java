@@ -1,9 +1,16 @@
 package io.github.giih06.libraryapi.controller.mappers;
 
+import io.github.giih06.libraryapi.busca.SugestaoTitulo;
 import io.github.giih06.libraryapi.controller.dto.CadastroLivroDTO;
+import io.github.giih06.libraryapi.controller.dto.EstatisticaLivrosDTO;
+import io.github.giih06.libraryapi.controller.dto.EstatisticasLivrosDTO;
 import io.github.giih06.libraryapi.controller.dto.ResultadoPesquisaLivroDTO;
+import io.github.giih06.libraryapi.controller.dto.SugestaoTituloDTO;
 import io.github.giih06.libraryapi.model.Livro;
 import io.github.giih06.libraryapi.repository.AutorRepository;
+import io.github.giih06.libraryapi.repository.projection.EstatisticaLivros;
+import io.github.giih06.libraryapi.repository.projection.LivroResumo;
+import io.github.giih06.libraryapi.service.EstatisticasLivros;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,7 +19,7 @@ import org.springframework.beans.factory.annotation.Autowired;
  * Mapper responsável por conversões entre Livro, CadastroLivroDTO e ResultadoPesquisaLivroDTO.
  *
  * A injeção de dependência do AutorRepository permite mapear o ID do autor
- * para a entidade Autor ao criar o objeto Livro.
+ * para uma referência à entidade Autor ao criar o objeto Livro.
  */
 @Mapper(componentModel = "spring", uses = AutorMapper.class)
 public abstract class LivroMapper {
@@ -23,14 +30,33 @@ public abstract class LivroMapper {
     /**
      * Converte um DTO de cadastro de livro em uma entidade Livro.
      *
-     * Necessário buscar o Autor correspondente ao ID informado.
+     * O autor é associado como referência ({@code getReferenceById}), sem consultar o banco:
+     * para gravar o livro basta a chave estrangeira. A existência do autor é garantida pela
+     * chave estrangeira de livro.id_autor, cuja violação é respondida com 422.
      *
      * @param dto objeto CadastroLivroDTO com dados de entrada
      * @return entidade Livro pronta para ser persistida
      */
-    @Mapping(target = "autor", expression = "java( autorRepository.findById(dto.idAutor()).orElse(null) )")
+    @Mapping(target = "autor", expression = "java( autorRepository.getReferenceById(dto.idAutor()) )")
     public abstract Livro toEntity(CadastroLivroDTO dto);
 
+    /**
+     * Converte um DTO de cadastro de livro em uma entidade Livro sem consultar o autor.
+     *
+     * O autor recebe apenas o ID informado; usado no cadastro em lote, que busca
+     * os autores de todos os livros em uma única consulta.
+     *
+     * @param dto objeto CadastroLivroDTO com dados de entrada
+     * @return entidade Livro com o autor ainda não carregado
+     */
+    @Mapping(target = "autor.id", source = "idAutor")
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "dataCadastro", ignore = true)
+    @Mapping(target = "dataAtualizacao", ignore = true)
+    @Mapping(target = "idUsuario", ignore = true)
+    @Mapping(target = "versao", ignore = true)
+    public abstract Livro toEntityComIdAutor(CadastroLivroDTO dto);
+
     /**
      * Converte uma entidade Livro em um DTO para resposta de pesquisa/listagem.
      *
@@ -38,4 +64,28 @@ public abstract class LivroMapper {
      * @return DTO com os dados organizados para exibição
      */
     public abstract ResultadoPesquisaLivroDTO toDto(Livro livro);
+
+    /**
+     * Converte a projeção de leitura de um livro em um DTO para resposta de pesquisa/listagem.
+     *
+     * @param livro resumo do livro com os dados do autor
+     * @return DTO com os dados organizados para exibição
+     */
+    @Mapping(target = "autor.id", source = "idAutor")
+    @Mapping(target = "autor.nome", source = "nomeAutor")
+    @Mapping(target = "autor.dataNascimento", source = "dataNascimentoAutor")
+    @Mapping(target = "autor.nacionalidade", source = "nacionalidadeAutor")
+    public abstract ResultadoPesquisaLivroDTO toDto(LivroResumo livro);
+
+    /**
+     * Converte as estatísticas do catálogo em um DTO de resposta.
+     *
+     * @param estatisticas estatísticas agrupadas por gênero, ano e nacionalidade do autor
+     * @return DTO com as estatísticas
+     */
+    public abstract EstatisticasLivrosDTO toDto(EstatisticasLivros estatisticas);
+
+    public abstract EstatisticaLivrosDTO toDto(EstatisticaLivros estatistica);
+
+    public abstract SugestaoTituloDTO toDto(SugestaoTitulo sugestao);
 }
@@ -4,6 +4,10 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Generated;
+import org.hibernate.generator.EventType;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -20,10 +24,14 @@ import java.util.UUID;
  * Possui campos de auditoria para data de criação e atualização automática.
  */
 @Entity
-@Table(name = "autor", schema = "public")
+@Table(name = "autor", schema = "public", uniqueConstraints = @UniqueConstraint(
+        name = "uk_autor_nome_data_nascimento_nacionalidade",
+        columnNames = {"nome", "data_nascimento", "nacionalidade"}))
 @Getter
 @Setter
 @ToString(exclude = "livros")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "autor") // cache de segundo nível (ver CacheEntidadesConfiguration)
 @EntityListeners(AuditingEntityListener.class)// annotation para atributos que realizam o controle da aplicação e auiditoria do usuário ( capta os dados de modificações e data cadastro)
 public class Autor {
 
@@ -46,8 +54,17 @@ public class Autor {
     @OneToMany(mappedBy = "autor", fetch = FetchType.LAZY
     //        ,cascade = CascadeType.ALL
     )
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "autor.livros")
     private List<Livro> livros;
 
+    // contador de livros do autor, mantido pelas escritas de LivroService (ver QuantidadeLivrosRepository)
+    // e reconstruído periodicamente por ReconciliacaoQuantidadeLivros. Alterado só por comandos SQL: a gravação
+    // do autor não o inclui no UPDATE, que sobrescreveria os incrementos feitos depois da leitura do autor,
+    // e o relê do banco em seguida, para que o cache de segundo nível guarde o valor atual
+    @Column(name = "quantidade_livros", nullable = false, updatable = false)
+    @Generated(event = EventType.UPDATE)
+    private Integer quantidadeLivros = 0;
+
     @CreatedDate//insere automaticamente a data atual no campo
     @Column(name = "data_cadastro")
     private LocalDateTime dataCadastro;
@@ -58,4 +75,9 @@ public class Autor {
 
     @Column(name = "id_usuario")
     private UUID idUsuario;
+
+    // incrementada a cada atualização; usada no controle de concorrência otimista e nas ETags
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
 }
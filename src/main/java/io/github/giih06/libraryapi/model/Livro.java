@@ -3,6 +3,9 @@ package io.github.giih06.libraryapi.model;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -19,10 +22,13 @@ import java.util.UUID;
  * de criação e atualização. Essa entidade é persistida na tabela "livro".
  */
 @Entity
-@Table(name = "livro")
+@Table(name = "livro", uniqueConstraints = @UniqueConstraint(name = "uk_livro_isbn", columnNames = "isbn"))
 @Data // è uma coposição de várias annotations como Getter, Setter, toString, EqualdAndHashCode e RequierdArgsConstructor
 @ToString(exclude = "autor")
 @EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "livro") // cache de segundo nível (ver CacheEntidadesConfiguration)
+@DynamicUpdate // o UPDATE contém apenas as colunas alteradas (ex.: PATCH /livros/{id} só do preço)
 public class Livro {
 
     @Id
@@ -50,7 +56,7 @@ public class Livro {
     @ManyToOne(
             // cascade = CascadeType.ALL,//Um autor pode ter muitos livros
              fetch = FetchType.LAZY)
-    @JoinColumn(name = "id_autor")
+    @JoinColumn(name = "id_autor", foreignKey = @ForeignKey(name = "livro_id_autor_fkey"))
     private Autor autor;
 
     @CreatedDate//insere automaticamente a data atual no campo
@@ -63,4 +69,9 @@ public class Livro {
 
     @Column(name = "id_usuario")
     private UUID idUsuario;
+
+    // incrementada a cada atualização; usada no controle de concorrência otimista e nas ETags
+    @Version
+    @Column(name = "versao", nullable = false)
+    private Long versao;
 }
@@ -1,17 +1,24 @@
 package io.github.giih06.libraryapi.repository;
 
+import io.github.giih06.libraryapi.busca.DocumentoAutor;
 import io.github.giih06.libraryapi.model.Autor;
+import io.github.giih06.libraryapi.model.GeneroLivro;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Repositório para operações de persistência com a entidade Autor.
  */
-public interface AutorRepository extends JpaRepository<Autor, UUID> {
+public interface AutorRepository extends JpaRepository<Autor, UUID>, JpaSpecificationExecutor<Autor>, QuantidadeLivrosRepository {
 
     List<Autor> findByNome(String nome);
     List<Autor> findByNacionalidade(String nacionalidade);
@@ -20,4 +27,55 @@ public interface AutorRepository extends JpaRepository<Autor, UUID> {
     Optional<Autor> findByNomeAndDataNascimentoAndNacionalidade(
             String nome, LocalDate dataNascimento, String nacionalidade
     );
+
+    /**
+     * Lista o ID e o nome de todos os autores, carregados no índice de sugestões em memória.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     */
+    @Query(" SELECT new io.github.giih06.libraryapi.busca.DocumentoAutor(a.id, a.nome) FROM Autor a ")
+    Stream<DocumentoAutor> listarDocumentosSugestao();
+
+    /**
+     * Desconta dos contadores de livros os livros do gênero, antes de removê-los em massa
+     * com {@code LivroRepository.deleteByGenero}. Não altera a versão dos autores (ver {@link #ajustarQuantidadeLivros}).
+     *
+     * Por ser um comando em massa, o Hibernate invalida a região "autor" do cache de segundo nível.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            UPDATE Autor a
+            SET a.quantidadeLivros = a.quantidadeLivros
+                - cast((SELECT count(l) FROM Livro l WHERE l.autor = a AND l.genero = :genero) as Integer)
+            WHERE EXISTS (SELECT l FROM Livro l WHERE l.autor = a AND l.genero = :genero)
+            """)
+    int descontarLivrosDoGenero(@Param("genero") GeneroLivro genero);
+
+    /**
+     * Retorna os IDs dos autores cujo contador de livros difere da quantidade real de livros.
+     */
+    @Query(value = """
+            SELECT a.id
+            FROM autor a LEFT JOIN (SELECT id_autor, count(*) AS total FROM livro GROUP BY id_autor) c
+                ON c.id_autor = a.id
+            WHERE a.quantidade_livros <> coalesce(c.total, 0)
+            """, nativeQuery = true)
+    List<UUID> listarQuantidadeLivrosDivergente();
+
+    /**
+     * Reconstrói os contadores de livros de todos os autores a partir da tabela livro,
+     * alterando apenas os que estiverem divergentes. Não altera a versão dos autores (ver {@link #ajustarQuantidadeLivros}).
+     *
+     * Por ser um comando nativo, o Hibernate invalida todo o cache de segundo nível.
+     *
+     * @return quantidade de autores corrigidos
+     */
+    @Modifying(clearAutomatically = true)
+    @Query(value = """
+            UPDATE autor a
+            SET quantidade_livros = coalesce(c.total, 0)
+            FROM autor a2 LEFT JOIN (SELECT id_autor, count(*) AS total FROM livro GROUP BY id_autor) c
+                ON c.id_autor = a2.id
+            WHERE a2.id = a.id AND a.quantidade_livros <> coalesce(c.total, 0)
+            """, nativeQuery = true)
+    int reconciliarQuantidadeLivros();
 }
@@ -0,0 +1,83 @@
+package io.github.giih06.libraryapi.repository;
+
+import io.github.giih06.libraryapi.repository.projection.EstatisticaLivros;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Leitura e atualização das views materializadas de estatísticas do catálogo
+ * (ver comandos-sql.txt).
+ *
+ * As views têm poucas linhas (uma por gênero, ano ou nacionalidade), então a leitura não depende
+ * da quantidade de livros cadastrados; o custo da agregação fica na atualização.
+ */
+@Repository
+public class EstatisticasLivrosRepository {
+
+    static final String VIEW_GENERO = "estatisticas_livros_genero";
+    static final String VIEW_ANO = "estatisticas_livros_ano";
+    static final String VIEW_NACIONALIDADE = "estatisticas_livros_nacionalidade";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public List<EstatisticaLivros> listarPorGenero() {
+        return listar(VIEW_GENERO);
+    }
+
+    public List<EstatisticaLivros> listarPorAnoPublicacao() {
+        return listar(VIEW_ANO);
+    }
+
+    public List<EstatisticaLivros> listarPorNacionalidadeAutor() {
+        return listar(VIEW_NACIONALIDADE);
+    }
+
+    /**
+     * Recalcula as views a partir das tabelas livro e autor. Deve ser executado em uma transação.
+     *
+     * Com {@code CONCURRENTLY}, as leituras das views não são bloqueadas durante a atualização
+     * e continuam vendo os valores anteriores até o commit.
+     */
+    public void atualizar() {
+        for (String view : List.of(VIEW_GENERO, VIEW_ANO, VIEW_NACIONALIDADE)) {
+            entityManager.createNativeQuery("REFRESH MATERIALIZED VIEW CONCURRENTLY " + view)
+                    .unwrap(NativeQuery.class)
+                    // sem o espaço sincronizado, o Hibernate invalidaria todo o cache de segundo nível
+                    .addSynchronizedQuerySpace(view)
+                    .executeUpdate();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<EstatisticaLivros> listar(String view) {
+        NativeQuery<Object[]> consulta = entityManager.createNativeQuery("""
+                SELECT grupo, quantidade, preco_minimo, preco_medio, preco_maximo, atualizado_em
+                FROM %s
+                ORDER BY grupo
+                """.formatted(view))
+                .unwrap(NativeQuery.class);
+
+        return consulta
+                .addScalar("grupo", String.class)
+                .addScalar("quantidade", Long.class)
+                .addScalar("preco_minimo", BigDecimal.class)
+                .addScalar("preco_medio", BigDecimal.class)
+                .addScalar("preco_maximo", BigDecimal.class)
+                .addScalar("atualizado_em", LocalDateTime.class)
+                .setTupleTransformer((tupla, aliases) -> new EstatisticaLivros(
+                        (String) tupla[0],
+                        (Long) tupla[1],
+                        (BigDecimal) tupla[2],
+                        (BigDecimal) tupla[3],
+                        (BigDecimal) tupla[4],
+                        (LocalDateTime) tupla[5]))
+                .getResultList();
+    }
+}
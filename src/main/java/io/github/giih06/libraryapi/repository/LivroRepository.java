@@ -1,5 +1,6 @@
 package io.github.giih06.libraryapi.repository;
 
+import io.github.giih06.libraryapi.busca.DocumentoLivro;
 import io.github.giih06.libraryapi.model.Autor;
 import io.github.giih06.libraryapi.model.GeneroLivro;
 import io.github.giih06.libraryapi.model.Livro;
@@ -12,15 +13,17 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 
 /**
  * Repositório para operações de persistência com a entidade Livro.
  */
-public interface LivroRepository extends JpaRepository<Livro, UUID>, JpaSpecificationExecutor<Livro> {
+public interface LivroRepository extends JpaRepository<Livro, UUID>, JpaSpecificationExecutor<Livro>, LivroResumoRepository {
 
     // Query Method
     // SELECT * FROM livro WHERE id_autor = id
@@ -94,16 +97,78 @@ public interface LivroRepository extends JpaRepository<Livro, UUID>, JpaSpecific
     );
 
     // Operação delete usando @Query
+    // o Hibernate invalida a região "livro" do cache de segundo nível (e as coleções da tabela) ao executar
+    // o comando em massa; clearAutomatically descarta os livros já carregados no contexto de persistência
     @Transactional
-    @Modifying //annotation que permite a modificação de registros ( operação delete )
+    @Modifying(clearAutomatically = true) //annotation que permite a modificação de registros ( operação delete )
     @Query(" DELETE FROM Livro WHERE genero = ?1 ")
     void deleteByGenero(GeneroLivro generoLivro);
 
-    // Operação update usando @Query
+    // Operação update usando @Query (mesma invalidação do cache que o delete em massa)
     @Transactional
-    @Modifying //annotation que permite a modificação de registros ( operação delete )
+    @Modifying(clearAutomatically = true) //annotation que permite a modificação de registros ( operação delete )
     @Query(" UPDATE Livro set dataPublicacao = ?1 ")
     void updateDataPublicacao(LocalDate novaData);
 
     boolean existsByAutor(Autor autor);
+
+    /**
+     * Retorna os IDs dos livros do gênero informado.
+     */
+    @Query(" SELECT l.id FROM Livro l WHERE l.genero = :genero ")
+    List<UUID> listarIdsDoGenero(@Param("genero") GeneroLivro genero);
+
+    /**
+     * Retorna os IDs dos autores que possuem livros do gênero informado.
+     */
+    @Query(" SELECT DISTINCT l.autor.id FROM Livro l WHERE l.genero = :genero ")
+    List<UUID> listarIdsAutoresDoGenero(@Param("genero") GeneroLivro genero);
+
+    /**
+     * Retorna, entre os ISBNs informados, os que já estão cadastrados (uma única consulta com IN).
+     */
+    @Query(" SELECT l.isbn FROM Livro l WHERE l.isbn IN :isbns ")
+    List<String> listarIsbnsCadastrados(@Param("isbns") Collection<String> isbns);
+
+    // Estatísticas do planejador do PostgreSQL //
+
+    /**
+     * Retorna a quantidade estimada de livros segundo as estatísticas do PostgreSQL (pg_class.reltuples),
+     * sem percorrer a tabela. Retorna valor negativo se a tabela ainda não foi analisada.
+     *
+     * SELECT reltuples FROM pg_class WHERE oid = 'public.livro'::regclass
+     */
+    @Query(value = """
+        SELECT CAST(c.reltuples AS bigint)
+        FROM pg_class c
+        WHERE c.oid = CAST('public.livro' AS regclass)
+    """, nativeQuery = true)
+    Long estimarQuantidadeLivros();
+
+    /**
+     * Retorna a fração estimada de livros de um gênero segundo as estatísticas de coluna
+     * (pg_stats.most_common_freqs), ou null se o gênero não estiver entre os valores mais comuns.
+     */
+    @Query(value = """
+        SELECT CAST(s.frequencia AS double precision)
+        FROM pg_stats p,
+             unnest(CAST(CAST(p.most_common_vals AS text) AS text[]), p.most_common_freqs) AS s(valor, frequencia)
+        WHERE p.schemaname = 'public'
+          AND p.tablename = 'livro'
+          AND p.attname = 'genero'
+          AND s.valor = :genero
+    """, nativeQuery = true)
+    Double estimarFracaoGenero(@Param("genero") String genero);
+
+    /**
+     * Lista os dados indexados pela busca em memória de todos os livros, em uma única consulta.
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     */
+    @Query("""
+        SELECT new io.github.giih06.libraryapi.busca.DocumentoLivro(
+            l.id, l.isbn, l.titulo, a.id, a.nome, l.genero, l.dataPublicacao)
+        FROM Livro l
+        JOIN l.autor a
+    """)
+    Stream<DocumentoLivro> listarDocumentosIndice();
 }
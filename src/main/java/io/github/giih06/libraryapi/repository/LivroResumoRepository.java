@@ -0,0 +1,58 @@
+package io.github.giih06.libraryapi.repository;
+
+import io.github.giih06.libraryapi.model.Livro;
+import io.github.giih06.libraryapi.repository.projection.ContagemFacetas;
+import io.github.giih06.libraryapi.repository.projection.LivroResumo;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Consultas de leitura que retornam {@link LivroResumo} em vez da entidade Livro,
+ * aceitando as mesmas Specifications de {@code LivroSpecs}, e a contagem das facetas da pesquisa.
+ *
+ * Implementada por {@link LivroResumoRepositoryImpl} e exposta em {@link LivroRepository}.
+ */
+public interface LivroResumoRepository {
+
+    /**
+     * Lista os resumos dos livros que atendem à Specification.
+     *
+     * @param spec   filtros da consulta
+     * @param sort   ordenação (se não ordenada, mantém a ordenação definida pela Specification, se houver)
+     * @param offset quantidade de registros a pular
+     * @param limite quantidade máxima de registros
+     * @return resumos dos livros com os dados do autor
+     */
+    List<LivroResumo> listarResumos(Specification<Livro> spec, Sort sort, long offset, int limite);
+
+    /**
+     * Percorre os resumos dos livros que atendem à Specification com um cursor somente para frente,
+     * buscando {@code fetchSize} linhas do banco por vez.
+     *
+     * Deve ser consumido dentro de uma transação (o driver do PostgreSQL só usa cursor fora do
+     * modo autocommit) e fechado ao final. Os resumos não são gerenciados pelo contexto de
+     * persistência, então a memória usada não cresce com a quantidade de linhas.
+     *
+     * @param spec      filtros da consulta
+     * @param fetchSize quantidade de linhas buscadas do banco por vez
+     * @return stream dos resumos dos livros
+     */
+    Stream<LivroResumo> percorrerResumos(Specification<Livro> spec, int fetchSize);
+
+    /**
+     * Conta os livros que atendem à Specification agrupados por gênero e ano de publicação,
+     * em uma única consulta. As quantidades por gênero ou por ano são obtidas somando os grupos.
+     *
+     * SELECT l.genero, to_char(l.data_publicacao, 'YYYY'), count(*)
+     * FROM livro l
+     * WHERE (filtros da Specification)
+     * GROUP BY 1, 2
+     *
+     * @param spec filtros da consulta
+     * @return quantidade de livros de cada combinação de gênero e ano
+     */
+    List<ContagemFacetas> contarFacetas(Specification<Livro> spec);
+}
@@ -0,0 +1,108 @@
+package io.github.giih06.libraryapi.repository;
+
+import io.github.giih06.libraryapi.model.Autor;
+import io.github.giih06.libraryapi.model.Livro;
+import io.github.giih06.libraryapi.repository.projection.ContagemFacetas;
+import io.github.giih06.libraryapi.repository.projection.LivroResumo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Implementação das consultas de {@link LivroResumoRepository} com a API Criteria.
+ *
+ * SELECT l.id, l.isbn, ..., a.id, a.nome, ...
+ * FROM livro l
+ * JOIN autor a ON a.id = l.id_autor
+ * WHERE (filtros da Specification)
+ */
+class LivroResumoRepositoryImpl implements LivroResumoRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<LivroResumo> listarResumos(Specification<Livro> spec, Sort sort, long offset, int limite) {
+        return entityManager.createQuery(criarConsulta(spec, sort))
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limite)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<LivroResumo> percorrerResumos(Specification<Livro> spec, int fetchSize) {
+        return entityManager.createQuery(criarConsulta(spec, Sort.unsorted()))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    @Override
+    public List<ContagemFacetas> contarFacetas(Specification<Livro> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ContagemFacetas> query = cb.createQuery(ContagemFacetas.class);
+        Root<Livro> root = query.from(Livro.class);
+
+        Expression<Object> genero = root.get("genero");
+        // mesma expressão do filtro LivroSpecs.anoPublicacaoEqual
+        Expression<String> ano = cb.function("to_char", String.class, root.get("dataPublicacao"), cb.literal("YYYY"));
+
+        query.select(cb.construct(ContagemFacetas.class, genero, ano, cb.count(root)));
+        query.groupBy(genero, ano);
+
+        Predicate filtros = spec.toPredicate(root, query, cb);
+        if (filtros != null) {
+            query.where(filtros);
+        }
+        // a ordenação por relevância da busca textual não se aplica à contagem
+        query.orderBy(List.of());
+
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private CriteriaQuery<LivroResumo> criarConsulta(Specification<Livro> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LivroResumo> query = cb.createQuery(LivroResumo.class);
+        Root<Livro> root = query.from(Livro.class);
+
+        // as Specifications de busca textual reaproveitam este JOIN
+        Join<Livro, Autor> autor = root.join("autor", JoinType.INNER);
+
+        query.select(cb.construct(LivroResumo.class,
+                root.get("id"),
+                root.get("isbn"),
+                root.get("titulo"),
+                root.get("dataPublicacao"),
+                root.get("genero"),
+                root.get("preco"),
+                autor.get("id"),
+                autor.get("nome"),
+                autor.get("dataNascimento"),
+                autor.get("nacionalidade"),
+                root.get("versao"),
+                autor.get("versao")));
+
+        Predicate filtros = spec.toPredicate(root, query, cb);
+        if (filtros != null) {
+            query.where(filtros);
+        }
+
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+
+        return query;
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.giih06.libraryapi.repository;
+
+import java.util.UUID;
+
+/**
+ * Manutenção do contador {@code autor.quantidade_livros} pelas escritas de livros.
+ *
+ * Implementada por {@link QuantidadeLivrosRepositoryImpl} e exposta em {@link AutorRepository}.
+ */
+public interface QuantidadeLivrosRepository {
+
+    /**
+     * Soma a variação ao contador de livros do autor, na transação atual.
+     *
+     * {@code UPDATE autor SET quantidade_livros = quantidade_livros + :variacao WHERE id = :idAutor}
+     *
+     * O incremento é feito pelo próprio banco, que bloqueia a linha até o commit, então cadastros
+     * simultâneos de livros do mesmo autor não perdem incrementos. A versão do autor não é alterada:
+     * a ETag e o {@code If-Match} de {@code PUT /autores/{id}} dizem respeito apenas aos dados do autor.
+     * Apenas a entrada do autor é removida do cache de segundo nível.
+     *
+     * @param idAutor  identificador do autor
+     * @param variacao quantidade de livros cadastrados (positiva) ou removidos (negativa)
+     * @throws io.github.giih06.libraryapi.exceptions.CampoInvalidoException se o autor não existir
+     */
+    void ajustarQuantidadeLivros(UUID idAutor, int variacao);
+}
@@ -0,0 +1,58 @@
+package io.github.giih06.libraryapi.repository;
+
+import io.github.giih06.libraryapi.exceptions.CampoInvalidoException;
+import io.github.giih06.libraryapi.model.Autor;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.util.UUID;
+
+/**
+ * Implementação de {@link QuantidadeLivrosRepository} com o EntityManager.
+ */
+class QuantidadeLivrosRepositoryImpl implements QuantidadeLivrosRepository {
+
+    private static final String AJUSTAR_QUANTIDADE_LIVROS =
+            "UPDATE autor SET quantidade_livros = quantidade_livros + ? WHERE id = ?";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void ajustarQuantidadeLivros(UUID idAutor, int variacao) {
+        // executado direto na conexão: um comando em massa do Hibernate invalidaria toda a região "autor"
+        int alterados = entityManager.unwrap(Session.class).doReturningWork(conexao -> {
+            try (PreparedStatement comando = conexao.prepareStatement(AJUSTAR_QUANTIDADE_LIVROS)) {
+                comando.setInt(1, variacao);
+                comando.setObject(2, idAutor);
+                return comando.executeUpdate();
+            }
+        });
+        if (alterados == 0) {
+            throw new CampoInvalidoException("idAutor", "Autor não encontrado");
+        }
+        removerDoCacheSegundoNivel(idAutor);
+    }
+
+    /**
+     * Remove o autor do cache de segundo nível agora e novamente ao fim da transação, descartando
+     * uma entrada guardada por outra transação com o contador anterior ao commit.
+     */
+    private void removerDoCacheSegundoNivel(UUID idAutor) {
+        Cache cache = entityManager.getEntityManagerFactory().getCache();
+        cache.evict(Autor.class, idAutor);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.evict(Autor.class, idAutor);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package io.github.giih06.libraryapi.repository.projection;
+
+import io.github.giih06.libraryapi.model.GeneroLivro;
+
+/**
+ * Quantidade de livros de uma combinação de gênero e ano de publicação, resultado da consulta
+ * agrupada usada nas facetas da pesquisa de livros.
+ *
+ * @param genero     gênero dos livros
+ * @param ano        ano de publicação (null para livros sem data de publicação)
+ * @param quantidade quantidade de livros
+ */
+public record ContagemFacetas(GeneroLivro genero, String ano, long quantidade) {
+}
@@ -0,0 +1,24 @@
+package io.github.giih06.libraryapi.repository.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Agregados pré-calculados dos livros de um grupo (gênero, ano de publicação ou nacionalidade do autor),
+ * lidos das views materializadas de estatísticas.
+ *
+ * @param grupo        valor do agrupamento (ex: FANTASIA, 2020, Brasileira)
+ * @param quantidade   quantidade de livros do grupo
+ * @param precoMinimo  menor preço do grupo, ou null se nenhum livro do grupo tiver preço
+ * @param precoMedio   preço médio do grupo, com duas casas decimais, ou null se nenhum livro do grupo tiver preço
+ * @param precoMaximo  maior preço do grupo, ou null se nenhum livro do grupo tiver preço
+ * @param atualizadoEm momento em que a view foi atualizada pela última vez
+ */
+public record EstatisticaLivros(
+        String grupo,
+        long quantidade,
+        BigDecimal precoMinimo,
+        BigDecimal precoMedio,
+        BigDecimal precoMaximo,
+        LocalDateTime atualizadoEm) {
+}
@@ -0,0 +1,29 @@
+package io.github.giih06.libraryapi.repository.projection;
+
+import io.github.giih06.libraryapi.model.GeneroLivro;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Projeção somente leitura de um livro e seu autor, montada diretamente do resultado da consulta.
+ *
+ * Ao contrário da entidade {@code Livro}, não é gerenciada pelo contexto de persistência
+ * (sem snapshot para dirty checking nem proxies) e contém apenas as colunas exibidas na pesquisa,
+ * além das versões do livro e do autor, que compõem a ETag de {@code GET /livros/{id}}.
+ */
+public record LivroResumo(
+        UUID id,
+        String isbn,
+        String titulo,
+        LocalDate dataPublicacao,
+        GeneroLivro genero,
+        BigDecimal preco,
+        UUID idAutor,
+        String nomeAutor,
+        LocalDate dataNascimentoAutor,
+        String nacionalidadeAutor,
+        Long versao,
+        Long versaoAutor) {
+}
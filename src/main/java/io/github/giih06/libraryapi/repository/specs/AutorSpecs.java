@@ -0,0 +1,80 @@
+package io.github.giih06.libraryapi.repository.specs;
+
+import io.github.giih06.libraryapi.model.Autor;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.UUID;
+
+/**
+ * Classe utilitária que fornece Specifications dinâmicas para consultas
+ * personalizadas sobre a entidade Autor utilizando a API Criteria do JPA.
+ *
+ * Utilizada em repositórios com suporte a {@code JpaSpecificationExecutor}.
+ */
+public class AutorSpecs {
+
+    /**
+     * Cria uma Specification para filtrar autores cujo nome contém o trecho informado,
+     * ignorando acentos e maiúsculas/minúsculas.
+     *
+     * Equivalente a: {@code lower(f_unaccent(nome)) LIKE %lower(f_unaccent(:nome))%},
+     * atendido pelo índice GIN de trigramas {@code idx_autor_nome_trgm}.
+     *
+     * @param nome trecho do nome do autor
+     * @return Specification para aplicar em consultas por nome
+     */
+    public static Specification<Autor> nomeContem(String nome){
+        return (root, query, cb) ->
+                cb.isTrue(cb.function("contem_sem_acento", Boolean.class, root.get("nome"), trecho(cb, nome)));
+    }
+
+    /**
+     * Cria uma Specification para filtrar autores cuja nacionalidade contém o trecho informado,
+     * ignorando acentos e maiúsculas/minúsculas.
+     *
+     * Atendida pelo índice GIN de trigramas {@code idx_autor_nacionalidade_trgm}.
+     *
+     * @param nacionalidade trecho da nacionalidade do autor
+     * @return Specification para aplicar em consultas por nacionalidade
+     */
+    public static Specification<Autor> nacionalidadeContem(String nacionalidade){
+        return (root, query, cb) ->
+                cb.isTrue(cb.function("contem_sem_acento", Boolean.class, root.get("nacionalidade"), trecho(cb, nacionalidade)));
+    }
+
+    /**
+     * Cria uma Specification que retorna apenas os autores posicionados depois do cursor
+     * informado, considerando a ordenação por nome e ID (paginação keyset).
+     *
+     * Equivalente a: {@code nome >= :nome AND (nome > :nome OR id > :id)}, atendida pelo
+     * índice {@code idx_autor_nome_id}. Ver {@code LivroSpecs.aposCursor}.
+     *
+     * @param nome nome do último autor retornado
+     * @param id   ID do último autor retornado
+     * @return Specification para aplicar em consultas paginadas por cursor
+     */
+    public static Specification<Autor> aposCursor(String nome, UUID id){
+        return (root, query, cb) -> cb.and(
+                cb.greaterThanOrEqualTo(root.get("nome"), nome),
+                cb.or(
+                        cb.greaterThan(root.get("nome"), nome),
+                        cb.greaterThan(root.get("id"), id)
+                )
+        );
+    }
+
+    /**
+     * Envia o trecho pesquisado como parâmetro da consulta (bind), escapando os curingas do LIKE
+     * para que {@code %} e {@code _} digitados pelo usuário sejam comparados literalmente.
+     */
+    private static Expression<String> trecho(CriteriaBuilder cb, String valor){
+        String escapado = valor
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return ((HibernateCriteriaBuilder) cb).value(escapado);
+    }
+}
@@ -1,11 +1,19 @@
 package io.github.giih06.libraryapi.repository.specs;
 
+import io.github.giih06.libraryapi.model.Autor;
 import io.github.giih06.libraryapi.model.GeneroLivro;
 import io.github.giih06.libraryapi.model.Livro;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.Collection;
+import java.util.UUID;
+
 /**
  * Classe utilitária que fornece Specifications dinâmicas para consultas
  * personalizadas sobre a entidade Livro utilizando a API Criteria do JPA.
@@ -73,10 +81,124 @@ public class LivroSpecs {
      */
     public static Specification<Livro> nomeAutorLike(String nome){
         return (root, query, cb) -> {
-            Join<Object, Object> joinAutor = root.join("autor", JoinType.INNER);
+            Join<Livro, Autor> joinAutor = joinAutor(root);
             return cb.like( cb.upper(joinAutor.get("nome")), "%" + nome.toUpperCase() + "%" );
 
 //            return cb.like( cb.upper(root.get("autor").get("nome")), "%" + nome.toUpperCase() + "%" );
         };
     }
+
+    /**
+     * Cria uma Specification que retorna apenas os livros posicionados depois do cursor
+     * informado, considerando a ordenação por título e ID (paginação keyset).
+     *
+     * Equivalente a: {@code titulo >= :titulo AND (titulo > :titulo OR id > :id)}
+     *
+     * A primeira condição é redundante, mas permite ao banco iniciar a leitura diretamente
+     * pela posição do cursor no índice (titulo, id), sem percorrer as páginas anteriores.
+     *
+     * @param titulo título do último livro retornado
+     * @param id     ID do último livro retornado
+     * @return Specification para aplicar em consultas paginadas por cursor
+     */
+    public static Specification<Livro> aposCursor(String titulo, UUID id){
+        return (root, query, cb) -> cb.and(
+                cb.greaterThanOrEqualTo(root.get("titulo"), titulo),
+                cb.or(
+                        cb.greaterThan(root.get("titulo"), titulo),
+                        cb.greaterThan(root.get("id"), id)
+                )
+        );
+    }
+
+    /**
+     * Cria uma Specification para filtrar livros por uma lista de IDs.
+     * Uma lista vazia não retorna nenhum livro.
+     *
+     * @param ids IDs dos livros
+     * @return Specification para aplicar em consultas por IDs
+     */
+    public static Specification<Livro> idIn(Collection<UUID> ids){
+        return (root, query, cb) -> ids.isEmpty() ? cb.disjunction() : root.get("id").in(ids);
+    }
+
+    /**
+     * Cria uma Specification de busca textual pelo título, ignorando acentos e maiúsculas/minúsculas.
+     *
+     * Combina o full-text search do PostgreSQL (tsvector) com a similaridade por trigramas (pg_trgm),
+     * ambos atendidos por índices GIN. Ver {@code BuscaTextualFunctionContributor}.
+     *
+     * @param titulo termo a ser pesquisado no título
+     * @return Specification para aplicar em consultas textuais por título
+     */
+    public static Specification<Livro> tituloTextual(String titulo){
+        return (root, query, cb) ->
+                cb.isTrue(cb.function("busca_textual", Boolean.class, root.get("titulo"), parametro(cb, titulo)));
+    }
+
+    /**
+     * Cria uma Specification de busca textual pelo nome do autor, ignorando acentos e maiúsculas/minúsculas.
+     *
+     * @param nome termo a ser pesquisado no nome do autor
+     * @return Specification para aplicar em consultas textuais por nome de autor
+     */
+    public static Specification<Livro> nomeAutorTextual(String nome){
+        return (root, query, cb) ->
+                cb.isTrue(cb.function("busca_textual", Boolean.class, joinAutor(root).get("nome"), parametro(cb, nome)));
+    }
+
+    /**
+     * Cria uma Specification que ordena os resultados pela relevância da busca textual
+     * (do mais relevante para o menos relevante). Não adiciona nenhum filtro.
+     *
+     * A ordenação só é aplicada quando a paginação não define outra ordenação.
+     *
+     * @param titulo termo pesquisado no título (pode ser nulo)
+     * @param nome   termo pesquisado no nome do autor (pode ser nulo)
+     * @return Specification que apenas define a ordenação da consulta
+     */
+    public static Specification<Livro> ordenarPorRelevancia(String titulo, String nome){
+        return (root, query, cb) -> {
+            // a consulta de contagem (count) não precisa de ordenação
+            if (Long.class.equals(query.getResultType())) {
+                return null;
+            }
+
+            Expression<Double> relevancia = null;
+            if (titulo != null) {
+                relevancia = cb.function("relevancia_textual", Double.class, root.get("titulo"), parametro(cb, titulo));
+            }
+            if (nome != null) {
+                Expression<Double> relevanciaAutor = cb.function(
+                        "relevancia_textual", Double.class, joinAutor(root).get("nome"), parametro(cb, nome));
+                relevancia = relevancia == null ? relevanciaAutor : cb.sum(relevancia, relevanciaAutor);
+            }
+
+            if (relevancia != null) {
+                query.orderBy(cb.desc(relevancia), cb.asc(root.get("id")));
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Envia o termo pesquisado como parâmetro da consulta (bind) em vez de literal no SQL.
+     */
+    private static Expression<String> parametro(CriteriaBuilder cb, String valor){
+        return ((HibernateCriteriaBuilder) cb).value(valor);
+    }
+
+    /**
+     * Reaproveita o JOIN com autor caso outra Specification já o tenha criado,
+     * evitando juntar a mesma tabela duas vezes.
+     */
+    @SuppressWarnings("unchecked")
+    private static Join<Livro, Autor> joinAutor(Root<Livro> root){
+        return root.getJoins()
+                .stream()
+                .filter(join -> join.getAttribute().getName().equals("autor"))
+                .map(join -> (Join<Livro, Autor>) join)
+                .findFirst()
+                .orElseGet(() -> root.join("autor", JoinType.INNER));
+    }
 }
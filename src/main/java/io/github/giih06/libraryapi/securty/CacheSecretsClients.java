@@ -0,0 +1,128 @@
+package io.github.giih06.libraryapi.securty;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.giih06.libraryapi.service.ClientAlteradoEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.HexFormat;
+
+/**
+ * Cache das verificações de client secret bem-sucedidas, usado na autenticação dos clients OAuth2
+ * ({@code /oauth2/token}) para não repetir a verificação BCrypt a cada token emitido.
+ *
+ * O cache não guarda os secrets: cada verificação bem-sucedida é registrada por um HMAC-SHA256 do secret
+ * informado e do secret criptografado, com uma chave aleatória gerada na inicialização e mantida apenas em
+ * memória. Verificações que falham não são registradas, então secrets errados sempre passam pelo BCrypt.
+ * Os registros expiram após {@code libraryapi.seguranca.clients.expiracao-secrets} e são todos descartados
+ * quando um client é alterado ({@link ClientAlteradoEvent}).
+ */
+@Component
+public class CacheSecretsClients {
+
+    private static final String ALGORITMO = "HmacSHA256";
+
+    private final PasswordEncoder passwordEncoder;
+    private final SecretKeySpec chave;
+    private final Cache<String, Boolean> verificados;
+
+    public CacheSecretsClients(
+            PasswordEncoder passwordEncoder,
+            @Value("${libraryapi.seguranca.clients.tamanho-maximo:1000}") long tamanhoMaximo,
+            @Value("${libraryapi.seguranca.clients.expiracao-secrets:5m}") Duration expiracao,
+            MeterRegistry registry) {
+        this.passwordEncoder = passwordEncoder;
+
+        byte[] bytes = new byte[32];
+        new SecureRandom().nextBytes(bytes);
+        this.chave = new SecretKeySpec(bytes, ALGORITMO);
+
+        this.verificados = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(expiracao)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(registry, verificados, "secrets-clients");
+    }
+
+    /**
+     * Retorna um PasswordEncoder que delega ao encoder da aplicação, mas consulta o cache antes de verificar
+     * um secret. Deve ser usado apenas na autenticação dos clients.
+     *
+     * @return encoder com cache de verificações
+     */
+    public PasswordEncoder getPasswordEncoder() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return passwordEncoder.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return verificar(rawPassword, encodedPassword);
+            }
+
+            @Override
+            public boolean upgradeEncoding(String encodedPassword) {
+                return passwordEncoder.upgradeEncoding(encodedPassword);
+            }
+        };
+    }
+
+    /**
+     * Verifica o secret informado contra o secret criptografado, usando o resultado em cache se houver.
+     *
+     * @param secret              secret informado pelo client
+     * @param secretCriptografado secret armazenado
+     * @return true se o secret confere
+     */
+    public boolean verificar(CharSequence secret, String secretCriptografado) {
+        if (secret == null || secretCriptografado == null) {
+            return passwordEncoder.matches(secret, secretCriptografado);
+        }
+
+        String resumo = resumir(secret, secretCriptografado);
+        if (verificados.getIfPresent(resumo) != null) {
+            return true;
+        }
+
+        boolean confere = passwordEncoder.matches(secret, secretCriptografado);
+        if (confere) {
+            verificados.put(resumo, Boolean.TRUE);
+        }
+        return confere;
+    }
+
+    /**
+     * Descarta as verificações registradas quando um client é cadastrado ou alterado.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void clientAlterado(ClientAlteradoEvent evento) {
+        verificados.invalidateAll();
+    }
+
+    private String resumir(CharSequence secret, String secretCriptografado) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITMO);
+            mac.init(chave);
+            mac.update(secretCriptografado.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return HexFormat.of().formatHex(mac.doFinal(secret.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 indisponível", e);
+        }
+    }
+}
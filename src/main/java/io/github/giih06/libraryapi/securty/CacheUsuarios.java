@@ -0,0 +1,54 @@
+package io.github.giih06.libraryapi.securty;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.giih06.libraryapi.model.Usuario;
+import io.github.giih06.libraryapi.repository.UsuarioRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Cache em memória dos usuários, por ID, para os casos em que o usuário completo do token é necessário
+ * (ver {@link SecurityService#obterUsuarioLogado()}). As requisições autenticadas por token não
+ * consultam o banco; apenas esses casos, e só quando o usuário não está no cache.
+ *
+ * O cache é limitado em quantidade de usuários ({@code libraryapi.seguranca.usuarios.tamanho-maximo}) e cada
+ * usuário expira após {@code libraryapi.seguranca.usuarios.expiracao}, para que alterações feitas diretamente
+ * no banco sejam vistas. Os acertos e erros ficam nas métricas {@code cache.gets} ({@code cache=usuarios}).
+ */
+@Component
+public class CacheUsuarios {
+
+    private final UsuarioRepository repository;
+    private final Cache<UUID, Usuario> usuarios;
+
+    public CacheUsuarios(
+            UsuarioRepository repository,
+            @Value("${libraryapi.seguranca.usuarios.tamanho-maximo:1000}") long tamanhoMaximo,
+            @Value("${libraryapi.seguranca.usuarios.expiracao:5m}") Duration expiracao,
+            MeterRegistry registry) {
+        this.repository = repository;
+        this.usuarios = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(expiracao)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(registry, usuarios, "usuarios");
+    }
+
+    /**
+     * Busca o usuário pelo ID, consultando o banco apenas se ele não estiver no cache.
+     *
+     * @param id ID do usuário
+     * @return usuário correspondente, ou null se não encontrado (usuários inexistentes não ficam no cache)
+     */
+    public Usuario buscar(UUID id) {
+        return usuarios.get(id, chave -> repository.findById(chave).orElse(null));
+    }
+}
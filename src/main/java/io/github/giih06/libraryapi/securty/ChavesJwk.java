@@ -0,0 +1,295 @@
+package io.github.giih06.libraryapi.securty;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyType;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Conjunto de chaves JWK usado para assinar e verificar os tokens, persistido em um arquivo
+ * ({@code libraryapi.seguranca.jwk.arquivo}) para que os tokens continuem válidos após reiniciar a aplicação
+ * e possam ser verificados por qualquer instância que compartilhe o arquivo.
+ *
+ * Cada chave guarda a data de criação ({@code iat}). A chave de assinatura (ativa) é a mais nova criada há
+ * pelo menos {@code atraso-ativacao}, para que as demais instâncias já a tenham carregado antes do primeiro
+ * token assinado com ela; as outras chaves servem apenas para verificação. Quando a chave mais nova completa
+ * {@code rotacao}, uma nova chave é criada, e as chaves substituídas são removidas {@code retencao} após a
+ * ativação da sucessora (deve ser maior que a validade dos tokens).
+ *
+ * As chaves novas usam o algoritmo de {@code libraryapi.seguranca.jwk.algoritmo}: RS256 (RSA 2048) ou ES256
+ * (EC P-256: emissão mais barata e tokens menores, mas verificação mais cara). Ao trocar o algoritmo, uma chave do
+ * novo algoritmo é criada na próxima verificação e segue o mesmo atraso de ativação; as chaves do algoritmo
+ * anterior continuam verificando os tokens já emitidos até o fim da retenção.
+ *
+ * A verificação é periódica ({@code intervalo-verificacao}): cada instância recarrega o arquivo quando ele é
+ * alterado e, se for o caso, faz a rotação, com um lock de arquivo para que apenas uma instância altere o
+ * conjunto por vez. O arquivo contém as chaves privadas e é gravado com permissão apenas para o dono.
+ */
+@Component
+@Slf4j
+public class ChavesJwk implements JWKSource<SecurityContext> {
+
+    private final Path arquivo;
+    private final Path arquivoLock;
+    private final Duration rotacao;
+    private final Duration atrasoAtivacao;
+    private final Duration retencao;
+    private final SignatureAlgorithm algoritmo;
+
+    private volatile JWKSet chaves = new JWKSet();
+    private volatile String idChaveAtiva;
+    private volatile SignatureAlgorithm algoritmoChaveAtiva;
+    private volatile FileTime modificacaoCarregada;
+
+    public ChavesJwk(
+            @Value("${libraryapi.seguranca.jwk.arquivo:jwks.json}") Path arquivo,
+            @Value("${libraryapi.seguranca.jwk.rotacao:P30D}") Duration rotacao,
+            @Value("${libraryapi.seguranca.jwk.atraso-ativacao:PT5M}") Duration atrasoAtivacao,
+            @Value("${libraryapi.seguranca.jwk.retencao:PT2H}") Duration retencao,
+            @Value("${libraryapi.seguranca.jwk.algoritmo:RS256}") String algoritmo) {
+        this.arquivo = arquivo.toAbsolutePath();
+        this.arquivoLock = this.arquivo.resolveSibling(this.arquivo.getFileName() + ".lock");
+        this.rotacao = rotacao;
+        this.atrasoAtivacao = atrasoAtivacao;
+        this.retencao = retencao;
+        this.algoritmo = SignatureAlgorithm.from(algoritmo);
+        if (this.algoritmo != SignatureAlgorithm.RS256 && this.algoritmo != SignatureAlgorithm.ES256) {
+            throw new IllegalArgumentException("Algoritmo de assinatura não suportado: " + algoritmo
+                    + ". Valores aceitos: RS256, ES256");
+        }
+        sincronizar();
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+        return jwkSelector.select(chaves);
+    }
+
+    /**
+     * ID da chave que deve assinar os novos tokens (cabeçalho {@code kid}).
+     */
+    public String getIdChaveAtiva() {
+        return idChaveAtiva;
+    }
+
+    /**
+     * Algoritmo da chave que deve assinar os novos tokens (cabeçalho {@code alg}).
+     */
+    public SignatureAlgorithm getAlgoritmoChaveAtiva() {
+        return algoritmoChaveAtiva;
+    }
+
+    /**
+     * Recarrega o arquivo se ele foi alterado por outra instância e faz a rotação e a remoção das chaves
+     * vencidas. Na primeira execução, cria o arquivo com uma chave se ele não existir.
+     */
+    @Scheduled(fixedDelayString = "${libraryapi.seguranca.jwk.intervalo-verificacao:PT1M}",
+            initialDelayString = "${libraryapi.seguranca.jwk.intervalo-verificacao:PT1M}")
+    public synchronized void sincronizar() {
+        try {
+            carregarSeAlterado();
+            Instant agora = Instant.now();
+            if (precisaAlterar(chaves.getKeys(), agora)) {
+                alterarComLock(agora);
+            }
+            JWK ativa = chaveAtiva(chaves.getKeys(), Instant.now());
+            algoritmoChaveAtiva = algoritmo(ativa);
+            idChaveAtiva = ativa.getKeyID();
+        } catch (IOException | ParseException | JOSEException e) {
+            if (chaves.isEmpty()) {
+                throw new IllegalStateException("Não foi possível carregar as chaves JWK de " + arquivo, e);
+            }
+            log.error("Falha ao sincronizar as chaves JWK de {}; mantendo as chaves carregadas", arquivo, e);
+        }
+    }
+
+    /**
+     * Cria, dentro do lock, a nova chave ou remove as vencidas. O arquivo é relido após obter o lock,
+     * pois outra instância pode ter feito a mesma alteração enquanto esta aguardava.
+     */
+    private void alterarComLock(Instant agora) throws IOException, ParseException, JOSEException {
+        Files.createDirectories(arquivo.getParent());
+        try (FileChannel canal = FileChannel.open(arquivoLock, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = canal.lock()) {
+            carregarSeAlterado();
+
+            List<JWK> atuais = chaves.getKeys();
+            if (!precisaAlterar(atuais, agora)) {
+                return;
+            }
+
+            List<JWK> novas = new ArrayList<>(removerVencidas(atuais, agora));
+            if (precisaNovaChave(novas, agora)) {
+                JWK nova = gerarChave(agora);
+                novas.add(nova);
+                log.info("Nova chave JWK {} criada em {}", nova.getKeyID(), arquivo);
+            }
+            gravar(new JWKSet(novas));
+        }
+    }
+
+    private boolean precisaAlterar(List<JWK> atuais, Instant agora) {
+        return precisaNovaChave(atuais, agora) || removerVencidas(atuais, agora).size() < atuais.size();
+    }
+
+    /**
+     * Uma nova chave é necessária quando não há chaves, quando a mais nova completou {@code rotacao}
+     * ou quando ela não é do algoritmo configurado.
+     */
+    private boolean precisaNovaChave(List<JWK> atuais, Instant agora) {
+        if (atuais.isEmpty()) {
+            return true;
+        }
+        JWK maisNova = maisNova(atuais);
+        return idade(maisNova, agora).compareTo(rotacao) >= 0 || algoritmo(maisNova) != algoritmo;
+    }
+
+    /**
+     * Mantém a chave ativa, as mais novas que ela e as substituídas cuja sucessora foi ativada há menos de
+     * {@code retencao}.
+     */
+    private List<JWK> removerVencidas(List<JWK> atuais, Instant agora) {
+        if (atuais.isEmpty()) {
+            return List.of();
+        }
+        List<JWK> ordenadas = ordenarMaisNovaPrimeiro(atuais);
+        JWK ativa = chaveAtiva(ordenadas, agora);
+        List<JWK> mantidas = new ArrayList<>();
+        for (int i = 0; i < ordenadas.size(); i++) {
+            JWK chave = ordenadas.get(i);
+            boolean substituida = criacao(chave).isBefore(criacao(ativa));
+            if (!substituida || criacao(ordenadas.get(i - 1)).plus(atrasoAtivacao).plus(retencao).isAfter(agora)) {
+                mantidas.add(chave);
+            }
+        }
+        return mantidas;
+    }
+
+    /**
+     * A chave mais nova criada há pelo menos {@code atraso-ativacao} ou, se não houver, a mais antiga
+     * (ex.: a primeira chave do arquivo).
+     */
+    private JWK chaveAtiva(List<JWK> atuais, Instant agora) {
+        List<JWK> ordenadas = ordenarMaisNovaPrimeiro(atuais);
+        return ordenadas.stream()
+                .filter(chave -> idade(chave, agora).compareTo(atrasoAtivacao) >= 0)
+                .findFirst()
+                .orElse(ordenadas.get(ordenadas.size() - 1));
+    }
+
+    private JWK gerarChave(Instant agora) throws JOSEException {
+        if (algoritmo == SignatureAlgorithm.ES256) {
+            return new ECKeyGenerator(Curve.P_256)
+                    .algorithm(JWSAlgorithm.ES256)
+                    .keyUse(KeyUse.SIGNATURE)
+                    .keyID(UUID.randomUUID().toString())
+                    .issueTime(Date.from(agora))
+                    .generate();
+        }
+        return new RSAKeyGenerator(2048)
+                .algorithm(JWSAlgorithm.RS256)
+                .keyUse(KeyUse.SIGNATURE)
+                .keyID(UUID.randomUUID().toString())
+                .issueTime(Date.from(agora))
+                .generate();
+    }
+
+    private void carregarSeAlterado() throws IOException, ParseException {
+        if (!Files.exists(arquivo)) {
+            return;
+        }
+        FileTime modificacao = Files.getLastModifiedTime(arquivo);
+        if (modificacao.equals(modificacaoCarregada)) {
+            return;
+        }
+
+        JWKSet carregadas = JWKSet.parse(Files.readString(arquivo, StandardCharsets.UTF_8));
+        for (JWK chave : carregadas.getKeys()) {
+            if (chave.getKeyID() == null || chave.getIssueTime() == null || !chave.isPrivate()) {
+                throw new ParseException("Chave JWK sem kid, iat ou parte privada em " + arquivo, 0);
+            }
+        }
+        chaves = carregadas;
+        modificacaoCarregada = modificacao;
+        log.info("Chaves JWK carregadas de {}: {}", arquivo,
+                carregadas.getKeys().stream().map(JWK::getKeyID).toList());
+    }
+
+    /**
+     * Grava em um arquivo temporário e o move sobre o atual, para que as outras instâncias nunca leiam
+     * um arquivo incompleto.
+     */
+    private void gravar(JWKSet novas) throws IOException {
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        Files.deleteIfExists(temporario);
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            Files.createFile(temporario, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        }
+        Files.writeString(temporario, novas.toString(false), StandardCharsets.UTF_8);
+        Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        chaves = novas;
+        modificacaoCarregada = Files.getLastModifiedTime(arquivo);
+    }
+
+    private static List<JWK> ordenarMaisNovaPrimeiro(List<JWK> atuais) {
+        return atuais.stream()
+                .sorted(Comparator.comparing(ChavesJwk::criacao).reversed())
+                .toList();
+    }
+
+    private static JWK maisNova(List<JWK> atuais) {
+        return ordenarMaisNovaPrimeiro(atuais).get(0);
+    }
+
+    /**
+     * Algoritmo da chave; as chaves gravadas sem {@code alg} são RSA (RS256).
+     */
+    private static SignatureAlgorithm algoritmo(JWK chave) {
+        if (chave.getAlgorithm() != null) {
+            return SignatureAlgorithm.from(chave.getAlgorithm().getName());
+        }
+        return KeyType.EC.equals(chave.getKeyType()) ? SignatureAlgorithm.ES256 : SignatureAlgorithm.RS256;
+    }
+
+    private static Instant criacao(JWK chave) {
+        return chave.getIssueTime().toInstant();
+    }
+
+    private static Duration idade(JWK chave, Instant agora) {
+        return Duration.between(criacao(chave), agora);
+    }
+}
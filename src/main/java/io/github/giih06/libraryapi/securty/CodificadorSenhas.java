@@ -0,0 +1,133 @@
+package io.github.giih06.libraryapi.securty;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Monta o PasswordEncoder da aplicação a partir do algoritmo e do custo configurados
+ * ({@code libraryapi.seguranca.senhas.*}).
+ *
+ * As senhas novas são gravadas com o prefixo do algoritmo (ex.: {@code {bcrypt}$2a$10$...}); as senhas
+ * sem prefixo, gravadas antes desta configuração, são verificadas como BCrypt de qualquer custo.
+ * {@link PasswordEncoder#upgradeEncoding(String)} indica quando a senha gravada não corresponde aos
+ * parâmetros atuais (outro algoritmo, sem prefixo ou BCrypt de outro custo), para que seja refeita no login.
+ *
+ * O hash do PBKDF2 não contém as iterações, então elas fazem parte do prefixo (ex.: {@code {pbkdf2@310000}...}).
+ * Ao alterar {@code iteracoes-pbkdf2}, as iterações anteriores devem ser informadas em
+ * {@code iteracoes-pbkdf2-anteriores}: as senhas gravadas com elas continuam válidas e são refeitas no login.
+ * As senhas com o prefixo {@code {pbkdf2}}, gravadas antes de as iterações fazerem parte dele, são verificadas
+ * com as iterações atuais e as anteriores.
+ */
+public final class CodificadorSenhas {
+
+    public static final String BCRYPT = "bcrypt";
+    public static final String PBKDF2 = "pbkdf2";
+
+    private CodificadorSenhas() {
+    }
+
+    /**
+     * @param algoritmo                  algoritmo das senhas novas: {@code bcrypt} ou {@code pbkdf2}
+     * @param custoBcrypt                custo (log2 das rodadas) do BCrypt, entre 4 e 31
+     * @param iteracoesPbkdf2            iterações do PBKDF2-HMAC-SHA256
+     * @param iteracoesPbkdf2Anteriores  iterações do PBKDF2 usadas antes, aceitas apenas na verificação
+     * @return encoder que grava com o algoritmo configurado e verifica todos os suportados
+     * @throws IllegalArgumentException se o algoritmo não for suportado
+     */
+    public static PasswordEncoder criar(String algoritmo, int custoBcrypt, int iteracoesPbkdf2,
+                                        int... iteracoesPbkdf2Anteriores) {
+        if (!algoritmo.equals(BCRYPT) && !algoritmo.equals(PBKDF2)) {
+            throw new IllegalArgumentException("Algoritmo de senha não suportado: " + algoritmo
+                    + ". Valores aceitos: " + BCRYPT + ", " + PBKDF2);
+        }
+
+        // iterações atuais primeiro
+        Set<Integer> iteracoes = new LinkedHashSet<>();
+        iteracoes.add(iteracoesPbkdf2);
+        Arrays.stream(iteracoesPbkdf2Anteriores).forEach(iteracoes::add);
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, new BCryptCustoExato(custoBcrypt));
+        List<PasswordEncoder> pbkdf2 = iteracoes.stream().map(CodificadorSenhas::pbkdf2).toList();
+        iteracoes.forEach(quantidade -> encoders.put(idPbkdf2(quantidade), pbkdf2(quantidade)));
+        encoders.put(PBKDF2, new Pbkdf2SemIteracoes(pbkdf2));
+
+        String idParaGravar = algoritmo.equals(PBKDF2) ? idPbkdf2(iteracoesPbkdf2) : algoritmo;
+        var encoder = new DelegatingPasswordEncoder(idParaGravar, encoders);
+        // senhas gravadas sem prefixo (ex.: comandos-sql.txt) são BCrypt
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return encoder;
+    }
+
+    /**
+     * @return prefixo das senhas PBKDF2 gravadas com a quantidade de iterações informada
+     */
+    static String idPbkdf2(int iteracoes) {
+        return PBKDF2 + "@" + iteracoes;
+    }
+
+    private static PasswordEncoder pbkdf2(int iteracoes) {
+        return new Pbkdf2PasswordEncoder("", 16, iteracoes,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+    }
+
+    /**
+     * Verifica as senhas gravadas com o prefixo {@code {pbkdf2}}, sem as iterações, com cada uma das
+     * iterações conhecidas. Não grava senhas: o prefixo de gravação do PBKDF2 sempre contém as iterações,
+     * então estas senhas são sempre refeitas no login.
+     */
+    private static class Pbkdf2SemIteracoes implements PasswordEncoder {
+
+        private final List<PasswordEncoder> encoders;
+
+        Pbkdf2SemIteracoes(List<PasswordEncoder> encoders) {
+            this.encoders = encoders;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            throw new UnsupportedOperationException("Senhas PBKDF2 são gravadas com as iterações no prefixo");
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encoders.stream().anyMatch(encoder -> encoder.matches(rawPassword, encodedPassword));
+        }
+    }
+
+    /**
+     * BCrypt que pede a regravação da senha quando o custo gravado é diferente do configurado,
+     * e não apenas menor, para que reduzir o custo também tenha efeito nas senhas existentes.
+     */
+    private static class BCryptCustoExato extends BCryptPasswordEncoder {
+
+        private static final Pattern CUSTO = Pattern.compile("^\\$2[aby]?\\$(\\d\\d)\\$");
+
+        private final int custo;
+
+        BCryptCustoExato(int custo) {
+            super(custo);
+            this.custo = custo;
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            if (encodedPassword == null) {
+                return false;
+            }
+            Matcher matcher = CUSTO.matcher(encodedPassword);
+            return !matcher.find() || Integer.parseInt(matcher.group(1)) != custo;
+        }
+    }
+}
@@ -2,31 +2,52 @@ package io.github.giih06.libraryapi.securty;
 
 import io.github.giih06.libraryapi.model.Usuario;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
  * Implementação personalizada da interface Authentication do Spring Security.
  * Representa a autenticação baseada no usuário da aplicação.
+ *
+ * No login (formulário ou social) o usuário completo é conhecido. Nas requisições com token JWT,
+ * a autenticação é montada apenas com o ID, o login e as roles presentes no token, sem consultar o banco;
+ * nesse caso {@link #getUsuario()} é null e o usuário completo é obtido pelo {@link SecurityService}.
  */
-@RequiredArgsConstructor
 @Getter
 public class CustomAuthentication implements Authentication {
 
-    // Instância do usuário autenticado
+    private final UUID idUsuario;
+    private final String login;
+    private final List<String> roles;
+
+    // Instância do usuário autenticado (null quando montada a partir do token)
     private final Usuario usuario;
 
+    public CustomAuthentication(Usuario usuario) {
+        this.idUsuario = usuario.getId();
+        this.login = usuario.getLogin();
+        this.roles = usuario.getRoles();
+        this.usuario = usuario;
+    }
+
+    public CustomAuthentication(UUID idUsuario, String login, List<String> roles) {
+        this.idUsuario = idUsuario;
+        this.login = login;
+        this.roles = roles;
+        this.usuario = null;
+    }
+
     /**
      * Retorna as autoridades (perfis) do usuário, convertendo as roles (strings) em objetos do tipo GrantedAuthority.
      */    @Override
     public Collection<GrantedAuthority> getAuthorities() {
-        return this.usuario
-                .getRoles()
+        return this.roles
                 .stream()
                 .map(SimpleGrantedAuthority::new)
                 .collect(Collectors.toList()); // stream.map pois é uma lista de strings
@@ -44,7 +65,7 @@ public class CustomAuthentication implements Authentication {
 
     @Override
     public Object getPrincipal() {
-        return usuario;
+        return usuario != null ? usuario : login;
     }
 
     @Override
@@ -64,6 +85,6 @@ public class CustomAuthentication implements Authentication {
 
     @Override
     public String getName() {
-        return usuario.getLogin();
+        return login;
     }
 }
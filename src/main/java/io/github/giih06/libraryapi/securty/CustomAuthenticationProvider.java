@@ -3,6 +3,7 @@ package io.github.giih06.libraryapi.securty;
 import io.github.giih06.libraryapi.model.Usuario;
 import io.github.giih06.libraryapi.service.UsuarioService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -17,6 +18,7 @@ import org.springframework.stereotype.Component;
  */
 @Component
 @RequiredArgsConstructor
+@Slf4j
 public class CustomAuthenticationProvider implements AuthenticationProvider {
 
     // Serviço responsável por buscar os dados do usuário
@@ -47,6 +49,7 @@ public class CustomAuthenticationProvider implements AuthenticationProvider {
 
         // Se as senhas forem compatíveis, retorna uma instância autenticada
         if (senhasBatem) {
+            atualizarSenhaSeNecessario(usuarioEncontrado, senhaDigitada);
             return new CustomAuthentication(usuarioEncontrado);
         }
 
@@ -54,6 +57,21 @@ public class CustomAuthenticationProvider implements AuthenticationProvider {
         throw getErroUsuarioNaoEncontrado();
     }
 
+    /**
+     * Refaz a senha gravada quando ela não corresponde ao algoritmo e ao custo configurados.
+     * Uma falha ao gravar não impede o login; a senha é refeita em um próximo login.
+     */
+    private void atualizarSenhaSeNecessario(Usuario usuario, String senhaDigitada) {
+        if (!passwordEncoder.upgradeEncoding(usuario.getSenha())) {
+            return;
+        }
+        try {
+            usuarioService.atualizarSenha(usuario, senhaDigitada);
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível atualizar a senha do usuário {}", usuario.getLogin(), e);
+        }
+    }
+
     /**
      * Retorna uma exceção padrão para falha de autenticação.
      * Evita revelar se o erro foi no login ou na senha.
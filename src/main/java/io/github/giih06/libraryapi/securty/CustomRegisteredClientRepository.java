@@ -1,7 +1,12 @@
 package io.github.giih06.libraryapi.securty;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.giih06.libraryapi.service.ClientAlteradoEvent;
 import io.github.giih06.libraryapi.service.ClientService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.oauth2.core.AuthorizationGrantType;
 import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
 import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
@@ -9,13 +14,20 @@ import org.springframework.security.oauth2.server.authorization.client.Registere
 import org.springframework.security.oauth2.server.authorization.settings.ClientSettings;
 import org.springframework.security.oauth2.server.authorization.settings.TokenSettings;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
 
 /**
  * Implementação personalizada do RegisteredClientRepository.
  * Responsável por fornecer os dados dos clientes OAuth2 registrados no sistema.
+ *
+ * Os RegisteredClient montados ficam em um cache em memória por clientId, limitado em quantidade
+ * ({@code libraryapi.seguranca.clients.tamanho-maximo}) e com expiração ({@code libraryapi.seguranca.clients.expiracao}),
+ * para que cada chamada a {@code /oauth2/token} não consulte o banco. Um client é removido do cache quando
+ * é alterado pelo {@link ClientService} ({@link ClientAlteradoEvent}).
  */
 @Component
-@RequiredArgsConstructor
 public class CustomRegisteredClientRepository implements RegisteredClientRepository {
 
     // Serviço que fornece dados dos clientes cadastrados na aplicação
@@ -27,6 +39,27 @@ public class CustomRegisteredClientRepository implements RegisteredClientReposit
     // Configurações do cliente OAuth2
     private final ClientSettings clientSettings;
 
+    private final Cache<String, RegisteredClient> clients;
+
+    public CustomRegisteredClientRepository(
+            ClientService clientService,
+            TokenSettings tokenSettings,
+            ClientSettings clientSettings,
+            @Value("${libraryapi.seguranca.clients.tamanho-maximo:1000}") long tamanhoMaximo,
+            @Value("${libraryapi.seguranca.clients.expiracao:10m}") Duration expiracao,
+            MeterRegistry registry) {
+        this.clientService = clientService;
+        this.tokenSettings = tokenSettings;
+        this.clientSettings = clientSettings;
+        this.clients = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(expiracao)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(registry, clients, "clients");
+    }
+
     /**
      * Método não implementado nesta versão.
      * Pode ser usado futuramente para persistir um novo cliente OAuth2.
@@ -47,10 +80,23 @@ public class CustomRegisteredClientRepository implements RegisteredClientReposit
 
     /**
      * Busca e retorna um RegisteredClient (cliente OAuth2) com base no clientId fornecido.
-     * Utiliza dados da entidade Client persistida em banco para construir um RegisteredClient compatível.
+     * Utiliza dados da entidade Client persistida em banco para construir um RegisteredClient compatível,
+     * consultando o banco apenas se o client não estiver no cache (clients inexistentes não ficam no cache).
      */
     @Override
     public RegisteredClient findByClientId(String clientId) {
+        return clients.get(clientId, this::construir);
+    }
+
+    /**
+     * Remove do cache o client cadastrado ou alterado.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void clientAlterado(ClientAlteradoEvent evento) {
+        clients.invalidate(evento.clientId());
+    }
+
+    private RegisteredClient construir(String clientId) {
         var client = clientService.obterPorClientId(clientId); // Busca o client no banco
 
         if (client == null) {
@@ -1,32 +1,33 @@
 package io.github.giih06.libraryapi.securty;
 
-import io.github.giih06.libraryapi.model.Usuario;
-import io.github.giih06.libraryapi.service.UsuarioService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
 
 /**
  * Filtro personalizado que intercepta requisições HTTP para transformar um JwtAuthenticationToken
  * em uma instância da autenticação personalizada CustomAuthentication.
  *
- * Essa abordagem permite associar um objeto de domínio (Usuario) diretamente ao contexto de segurança.
+ * A autenticação é montada apenas com as claims do token (ID do usuário, login e roles), sem consultar
+ * o banco. Tokens sem a claim do usuário (ex.: client_credentials) continuam como JwtAuthenticationToken.
  */
 @Component
-@RequiredArgsConstructor
 public class JwtCustomAuthenticationFilter extends OncePerRequestFilter {
 
-    // Serviço responsável por acessar os dados do usuário no banco
-    private final UsuarioService usuarioService;
+    // Claims incluídas no access token pelo tokenCustomizer do AuthorizationServerConfiguration
+    public static final String CLAIM_ID_USUARIO = "id_usuario";
+    public static final String CLAIM_ROLES = "authorities";
 
     /**
      * Intercepta cada requisição para verificar e transformar o token JWT em uma autenticação personalizada.
@@ -42,12 +43,13 @@ public class JwtCustomAuthenticationFilter extends OncePerRequestFilter {
 
         // Verifica se a autenticação atual é baseada em JWT e precisa ser convertida
         if (deveConverter(authentication)) {
-            String login = authentication.getName();
-            Usuario usuario = usuarioService.buscarPorLogin(login);
+            Jwt jwt = ((JwtAuthenticationToken) authentication).getToken();
+            String idUsuario = jwt.getClaimAsString(CLAIM_ID_USUARIO);
 
-            // Se o usuário existir, substitui a autenticação atual pela personalizada
-            if (usuario != null) {
-                authentication = new CustomAuthentication(usuario);
+            // Se o token for de um usuário, substitui a autenticação atual pela personalizada
+            if (idUsuario != null) {
+                List<String> roles = jwt.hasClaim(CLAIM_ROLES) ? jwt.getClaimAsStringList(CLAIM_ROLES) : List.of();
+                authentication = new CustomAuthentication(UUID.fromString(idUsuario), jwt.getSubject(), roles);
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
         }
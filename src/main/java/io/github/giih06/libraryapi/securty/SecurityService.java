@@ -1,12 +1,13 @@
 package io.github.giih06.libraryapi.securty;
 
 import io.github.giih06.libraryapi.model.Usuario;
-import io.github.giih06.libraryapi.service.UsuarioService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+import java.util.UUID;
+
 /**
  * Serviço responsável por fornecer informações de segurança relacionadas ao usuário autenticado.
  */
@@ -14,11 +15,28 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class SecurityService {
 
-    // Serviço utilizado para operações com a entidade Usuario (não usado neste trecho, mas útil para extensões futuras)
-    private final UsuarioService usuarioService;
+    // Usuários completos das autenticações montadas a partir do token
+    private final CacheUsuarios cacheUsuarios;
+
+    /**
+     * Obtém o ID do usuário atualmente autenticado, sem consultar o banco.
+     *
+     * @return ID do usuário autenticado, ou null caso não esteja autenticado via CustomAuthentication
+     */
+    public UUID obterIdUsuarioLogado() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication instanceof CustomAuthentication customAuthentication) {
+            return customAuthentication.getIdUsuario();
+        }
+
+        return null;
+    }
 
     /**
      * Obtém o usuário atualmente autenticado no contexto de segurança.
+     * Nas requisições com token, o usuário é buscado no {@link CacheUsuarios}; quando só o ID
+     * é necessário, prefira {@link #obterIdUsuarioLogado()}.
      *
      * @return o objeto Usuario autenticado, ou null caso não esteja autenticado via CustomAuthentication
      */
@@ -28,7 +46,8 @@ public class SecurityService {
 
         // Verifica se a autenticação é do tipo CustomAuthentication e retorna o usuário
         if (authentication instanceof CustomAuthentication customAuthentication) {
-            return customAuthentication.getUsuario();
+            Usuario usuario = customAuthentication.getUsuario();
+            return usuario != null ? usuario : cacheUsuarios.buscar(customAuthentication.getIdUsuario());
         }
 
         // Retorna null caso não haja autenticação válida ou não seja do tipo esperado
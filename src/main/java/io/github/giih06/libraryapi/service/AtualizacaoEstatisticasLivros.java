@@ -0,0 +1,52 @@
+package io.github.giih06.libraryapi.service;
+
+import io.github.giih06.libraryapi.cache.InvalidacaoCacheEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tarefa agendada que recalcula as estatísticas do catálogo ({@link EstatisticasLivrosService}).
+ *
+ * As escritas de livros e autores ({@link InvalidacaoCacheEvent}) apenas marcam o catálogo como alterado;
+ * a cada {@code libraryapi.estatisticas.intervalo-atualizacao}, as views são recalculadas uma única vez
+ * se houve alguma escrita desde a última atualização. Sem escritas, nenhuma agregação é executada.
+ * Na inicialização, as estatísticas são recalculadas, pois o catálogo pode ter mudado com a aplicação parada.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AtualizacaoEstatisticasLivros {
+
+    private final EstatisticasLivrosService service;
+
+    private final AtomicBoolean catalogoAlterado = new AtomicBoolean(true);
+
+    /**
+     * Marca o catálogo como alterado após o commit de uma escrita de livro ou autor.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void registrarAlteracao(InvalidacaoCacheEvent evento) {
+        catalogoAlterado.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${libraryapi.estatisticas.intervalo-atualizacao:PT1M}")
+    public void atualizar() {
+        // escritas feitas durante a atualização marcam o catálogo novamente e entram na próxima execução
+        if (!catalogoAlterado.getAndSet(false)) {
+            return;
+        }
+
+        try {
+            service.atualizarEstatisticas();
+            log.debug("Estatísticas do catálogo atualizadas");
+        } catch (RuntimeException e) {
+            catalogoAlterado.set(true);
+            log.error("Falha ao atualizar as estatísticas do catálogo", e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package io.github.giih06.libraryapi.service;
+
+import io.github.giih06.libraryapi.model.Autor;
+
+/**
+ * Evento publicado quando um autor é cadastrado ou tem os dados atualizados.
+ *
+ * @param autor autor atualizado
+ */
+public record AutorAlteradoEvent(Autor autor) {
+}
@@ -0,0 +1,11 @@
+package io.github.giih06.libraryapi.service;
+
+import java.util.UUID;
+
+/**
+ * Evento publicado quando um autor é removido.
+ *
+ * @param id identificador do autor removido
+ */
+public record AutorRemovidoEvent(UUID id) {
+}
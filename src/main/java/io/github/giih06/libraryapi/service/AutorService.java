@@ -1,20 +1,35 @@
 package io.github.giih06.libraryapi.service;
 
+import io.github.giih06.libraryapi.busca.IndiceSugestoes;
+import io.github.giih06.libraryapi.busca.SugestaoAutor;
+import io.github.giih06.libraryapi.cache.ChavesSubstitutas;
+import io.github.giih06.libraryapi.cache.InvalidacaoCacheEvent;
+import io.github.giih06.libraryapi.exceptions.CampoInvalidoException;
 import io.github.giih06.libraryapi.exceptions.OperacaoNaoPermitidaException;
 import io.github.giih06.libraryapi.model.Autor;
-import io.github.giih06.libraryapi.model.Usuario;
 import io.github.giih06.libraryapi.repository.AutorRepository;
 import io.github.giih06.libraryapi.repository.LivroRepository;
 import io.github.giih06.libraryapi.securty.SecurityService;
-import io.github.giih06.libraryapi.validator.AutorValidator;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Example;
-import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static io.github.giih06.libraryapi.repository.specs.AutorSpecs.*;
 
 /**
  * Serviço responsável pelas regras de negócio relacionadas à entidade Autor.
@@ -23,28 +38,45 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class AutorService {
 
+    // Ordenação estável da pesquisa (deve coincidir com o índice autor(nome, id))
+    private static final Sort ORDENACAO = Sort.by("nome", "id");
+
+    private static final String MENSAGEM_AUTOR_COM_LIVROS = "Autor não pode ser deletado pois possui livro(s) cadastrado(s)";
+
     private final AutorRepository repository;
     private final LivroRepository livroRepository;
-    private final AutorValidator validator;
     private final SecurityService securityService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IndiceSugestoes sugestoes;
+
+    @Value("${libraryapi.autores.maximo-pagina:100}")
+    private int maximoPagina;
 
     /**
-     * Salva um novo autor após validar seus dados e associá-lo ao usuário logado.
+     * Salva um novo autor associando-o ao usuário logado.
+     *
+     * Autores duplicados (mesmo nome, data de nascimento e nacionalidade) são rejeitados
+     * pela restrição única do banco, convertida em {@code RegistroDuplicadoException}
+     * pelo GlobalExceptionHandler.
      *
      * @param autor autor a ser salvo
      * @return autor salvo com ID gerado
      */
     public Autor salvar(Autor autor) {
-        validator.validar(autor);
-        Usuario user = securityService.obterUsuarioLogado();
-        autor.setIdUsuario(user.getId());
-        return repository.save(autor);
+        autor.setIdUsuario(securityService.obterIdUsuarioLogado());
+        Autor salvo = repository.save(autor);
+        eventPublisher.publishEvent(new AutorAlteradoEvent(salvo));
+        eventPublisher.publishEvent(new InvalidacaoCacheEvent(Set.of(ChavesSubstitutas.PESQUISA_AUTORES)));
+        return salvo;
     }
 
     /**
      * Atualiza um autor existente no banco de dados.
      * Lança exceção se o autor ainda não tiver um ID (não persistido).
      *
+     * Invalida no cache de respostas o autor, as pesquisas de autores e as pesquisas de livros,
+     * pois o novo nome pode passar a atender (ou deixar de atender) o filtro por nome do autor.
+     *
      * @param autor autor com dados atualizados
      */
     public void atualizar(Autor autor) {
@@ -52,6 +84,11 @@ public class AutorService {
             throw new IllegalArgumentException("O autor precisa estar cadastrado para ser atualizado");
         }
         repository.save(autor);
+        eventPublisher.publishEvent(new AutorAlteradoEvent(autor));
+        eventPublisher.publishEvent(new InvalidacaoCacheEvent(Set.of(
+                ChavesSubstitutas.autor(autor.getId()),
+                ChavesSubstitutas.PESQUISA_AUTORES,
+                ChavesSubstitutas.PESQUISA_LIVROS)));
     }
 
     /**
@@ -67,23 +104,62 @@ public class AutorService {
     /**
      * Remove um autor do banco, desde que ele não possua livros associados.
      *
+     * Se um livro do autor for cadastrado entre a verificação e a remoção, a chave estrangeira
+     * de livro.id_autor rejeita a remoção, respondida como a verificação (400), e não como
+     * referência inválida no cadastro de livro (422).
+     *
      * @param autor autor a ser removido
      */
     public void deletar(Autor autor) {
         if(possuiLivro(autor)) {
-            throw new OperacaoNaoPermitidaException("Autor não pode ser deletado pois possui livro(s) cadastrado(s)");
+            throw new OperacaoNaoPermitidaException(MENSAGEM_AUTOR_COM_LIVROS);
+        }
+        try {
+            repository.delete(autor);
+            repository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw new OperacaoNaoPermitidaException(MENSAGEM_AUTOR_COM_LIVROS);
         }
-        repository.delete(autor);
+        eventPublisher.publishEvent(new AutorRemovidoEvent(autor.getId()));
+        eventPublisher.publishEvent(new InvalidacaoCacheEvent(Set.of(
+                ChavesSubstitutas.autor(autor.getId()), ChavesSubstitutas.PESQUISA_AUTORES)));
     }
 
     /**
      * Verifica se o autor possui livros cadastrados.
      *
+     * O contador de livros do autor responde sem consultar a tabela livro quando é positivo; quando é zero,
+     * a existência é confirmada na tabela livro (pelo índice de livro.id_autor), pois o contador pode estar
+     * desatualizado até a próxima reconciliação (ex.: livros cadastrados diretamente no banco).
+     *
      * @param autor autor a ser verificado
      * @return true se houver livros associados, false caso contrário
      */
     public boolean possuiLivro(Autor autor) {
-        return livroRepository.existsByAutor(autor);
+        return autor.getQuantidadeLivros() > 0 || livroRepository.existsByAutor(autor);
+    }
+
+    /**
+     * Reconstrói os contadores de livros dos autores a partir da tabela livro, corrigindo os divergentes
+     * (ex.: livros cadastrados ou removidos diretamente no banco).
+     *
+     * Só executa a atualização quando há divergências, pois o comando em massa invalida o cache de
+     * segundo nível. Invalida no cache de respostas a quantidade de livros dos autores corrigidos.
+     *
+     * @return quantidade de autores corrigidos
+     */
+    @Transactional
+    public int reconciliarQuantidadeLivros() {
+        List<UUID> divergentes = repository.listarQuantidadeLivrosDivergente();
+        if (divergentes.isEmpty()) {
+            return 0;
+        }
+
+        int corrigidos = repository.reconciliarQuantidadeLivros();
+        eventPublisher.publishEvent(new InvalidacaoCacheEvent(divergentes.stream()
+                .map(ChavesSubstitutas::quantidadeLivros)
+                .collect(Collectors.toSet())));
+        return corrigidos;
     }
 
     /* Forma não eficiente de aplicação de pesquisa
@@ -104,25 +180,89 @@ public class AutorService {
     } */
 
     /**
-     * Realiza uma busca dinâmica por nome e nacionalidade usando Spring Data Example.
-     * Ignora campos nulos e realiza busca "contendo" (parcial) com case-insensitive.
+     * Pesquisa autores por nome e nacionalidade, paginada por número de página e ordenada por nome.
+     *
+     * Os filtros são parciais e ignoram acentos e maiúsculas/minúsculas, atendidos pelos índices
+     * de trigramas do banco. Filtros nulos ou em branco são ignorados. O tamanho da página é
+     * limitado a {@code libraryapi.autores.maximo-pagina}, então nenhuma pesquisa carrega a
+     * tabela inteira.
+     *
+     * @param nome          trecho do nome do autor
+     * @param nacionalidade trecho da nacionalidade
+     * @param pagina        número da página (0-based)
+     * @param tamanhoPagina quantidade de autores por página
+     * @return página de autores que atendem aos critérios
+     */
+    public Page<Autor> pesquisa(String nome, String nacionalidade, Integer pagina, Integer tamanhoPagina) {
+        validarTamanhoPagina(tamanhoPagina);
+        if (pagina < 0) {
+            throw new CampoInvalidoException("pagina", "A página não pode ser negativa");
+        }
+
+        return repository.findAll(montarSpecs(nome, nacionalidade), PageRequest.of(pagina, tamanhoPagina, ORDENACAO));
+    }
+
+    /**
+     * Sugere autores para o autocompletar, pelo índice de prefixos em memória ({@link IndiceSugestoes}),
+     * sem consultar o banco. Os autores com mais livros aparecem primeiro.
+     *
+     * @param prefixo    início do nome do autor (ignora acentos e maiúsculas/minúsculas)
+     * @param quantidade quantidade máxima de sugestões
+     * @return autores cujo nome começa com o prefixo
+     */
+    public List<SugestaoAutor> sugerir(String prefixo, int quantidade) {
+        return sugestoes.sugerirAutores(prefixo, quantidade);
+    }
+
+    /**
+     * Pesquisa autores por nome e nacionalidade, paginada por cursor (keyset) e ordenada por nome e ID.
      *
-     * @param nome nome parcial ou completo do autor
-     * @param nacionalidade nacionalidade parcial ou completa
-     * @return lista de autores que correspondem aos critérios
+     * Não utiliza OFFSET nem executa o count, então o custo de qualquer página é o mesmo da primeira.
+     *
+     * @param nome          trecho do nome do autor
+     * @param nacionalidade trecho da nacionalidade
+     * @param cursor        posição do último autor retornado (null para a primeira página)
+     * @param tamanhoPagina quantidade de autores por página
+     * @return fatia de autores com a indicação se existe próxima página
+     */
+    public Slice<Autor> pesquisaPorCursor(String nome, String nacionalidade, Cursor cursor, Integer tamanhoPagina) {
+        validarTamanhoPagina(tamanhoPagina);
+
+        Specification<Autor> specs = montarSpecs(nome, nacionalidade);
+        if (cursor != null) {
+            specs = specs.and(aposCursor(cursor.chave(), cursor.id()));
+        }
+
+        // busca um registro a mais para saber se existe próxima página
+        List<Autor> resultado = repository.findBy(specs, query -> query.sortBy(ORDENACAO).limit(tamanhoPagina + 1).all());
+
+        boolean temProximaPagina = resultado.size() > tamanhoPagina;
+        List<Autor> conteudo = temProximaPagina ? resultado.subList(0, tamanhoPagina) : resultado;
+
+        return new SliceImpl<>(conteudo, PageRequest.of(0, tamanhoPagina, ORDENACAO), temProximaPagina);
+    }
+
+    /**
+     * Monta a Specification com os filtros informados, ignorando os nulos ou em branco.
      */
-    public List<Autor> pesquisaByExample(String nome, String nacionalidade) {
-        var autor = new Autor();
-        autor.setNome(nome);
-        autor.setNacionalidade(nacionalidade);
-
-        ExampleMatcher matcher = ExampleMatcher
-                .matching()
-                .withIgnorePaths("id", "dataNascimento", "dataCadastro") // ignora campos irrelevantes para busca
-                .withIgnoreCase() // ignora diferenciação entre maiúsculas/minúsculas
-                .withIgnoreNullValues() // ignora campos nulos
-                .withStringMatcher(ExampleMatcher.StringMatcher.CONTAINING); // busca por "contém"
-        Example<Autor> autorExample = Example.of(autor, matcher);
-        return repository.findAll(autorExample);
+    private Specification<Autor> montarSpecs(String nome, String nacionalidade) {
+        Specification<Autor> specs = Specification.where((root, query, cb) -> cb.conjunction());
+
+        if (nome != null && !nome.isBlank()) {
+            specs = specs.and(nomeContem(nome.strip()));
+        }
+
+        if (nacionalidade != null && !nacionalidade.isBlank()) {
+            specs = specs.and(nacionalidadeContem(nacionalidade.strip()));
+        }
+
+        return specs;
+    }
+
+    private void validarTamanhoPagina(Integer tamanhoPagina) {
+        if (tamanhoPagina < 1 || tamanhoPagina > maximoPagina) {
+            throw new CampoInvalidoException(
+                    "tamanhoPagina", "O tamanho da página deve estar entre 1 e " + maximoPagina);
+        }
     }
 }
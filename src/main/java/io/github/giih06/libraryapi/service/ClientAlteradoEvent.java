@@ -0,0 +1,9 @@
+package io.github.giih06.libraryapi.service;
+
+/**
+ * Evento publicado quando um client OAuth2 é cadastrado ou alterado.
+ *
+ * @param clientId identificador do client alterado
+ */
+public record ClientAlteradoEvent(String clientId) {
+}
@@ -3,6 +3,7 @@ package io.github.giih06.libraryapi.service;
 import io.github.giih06.libraryapi.model.Client;
 import io.github.giih06.libraryapi.repository.ClientRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -19,9 +20,12 @@ public class ClientService {
     // Componente para codificação segura de senhas (secret do client)
     private final PasswordEncoder passwordEncoder;
 
+    private final ApplicationEventPublisher eventPublisher;
+
     /**
      * Salva um novo client no banco de dados.
-     * Antes de persistir, a senha (client secret) é criptografada.
+     * Antes de persistir, a senha (client secret) é criptografada. O client em cache e os secrets
+     * já verificados são descartados pelo {@link ClientAlteradoEvent}.
      *
      * @param client objeto Client a ser salvo
      * @return o client persistido com o secret criptografado
@@ -31,7 +35,9 @@ public class ClientService {
         var senhaCriptografada = passwordEncoder.encode(client.getClientSecret());
         client.setClientSecret(senhaCriptografada);
 
-        return repository.save(client);
+        Client salvo = repository.save(client);
+        eventPublisher.publishEvent(new ClientAlteradoEvent(salvo.getClientId()));
+        return salvo;
     }
 
     /**
@@ -0,0 +1,63 @@
+package io.github.giih06.libraryapi.service;
+
+import io.github.giih06.libraryapi.exceptions.CampoInvalidoException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Posição de uma paginação por cursor (keyset), composta pela chave de ordenação
+ * e pelo ID do último registro retornado.
+ *
+ * Para o cliente o cursor é um token opaco (Base64 URL-safe) que deve ser devolvido
+ * sem alterações para obter a próxima página.
+ *
+ * @param chave valor da chave de ordenação do último registro (ex: título do livro)
+ * @param id    identificador do último registro, usado como desempate
+ */
+public record Cursor(String chave, UUID id) {
+
+    // Tamanho da representação textual de um UUID
+    private static final int TAMANHO_UUID = 36;
+
+    /**
+     * Gera o token opaco que representa este cursor.
+     *
+     * @return cursor codificado em Base64 URL-safe
+     */
+    public String codificar() {
+        String conteudo = id + ":" + chave;
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica um token recebido do cliente.
+     *
+     * @param token cursor codificado; vazio ou nulo indica a primeira página
+     * @return cursor decodificado, ou null para a primeira página
+     * @throws CampoInvalidoException se o token não for um cursor válido
+     */
+    public static Cursor decodificar(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+
+        try {
+            String conteudo = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (conteudo.length() <= TAMANHO_UUID || conteudo.charAt(TAMANHO_UUID) != ':') {
+                throw cursorInvalido();
+            }
+            UUID id = UUID.fromString(conteudo.substring(0, TAMANHO_UUID));
+            return new Cursor(conteudo.substring(TAMANHO_UUID + 1), id);
+        } catch (IllegalArgumentException e) {
+            throw cursorInvalido();
+        }
+    }
+
+    private static CampoInvalidoException cursorInvalido() {
+        return new CampoInvalidoException("cursor", "Cursor inválido");
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.giih06.libraryapi.service;
+
+import io.github.giih06.libraryapi.repository.projection.EstatisticaLivros;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Estatísticas do catálogo de livros, agrupadas por gênero, ano de publicação e nacionalidade do autor.
+ *
+ * @param porGenero             agregados por gênero
+ * @param porAnoPublicacao      agregados por ano de publicação
+ * @param porNacionalidadeAutor agregados por nacionalidade do autor
+ * @param atualizadoEm          atualização mais antiga entre os agrupamentos (null se o catálogo estiver vazio)
+ */
+public record EstatisticasLivros(
+        List<EstatisticaLivros> porGenero,
+        List<EstatisticaLivros> porAnoPublicacao,
+        List<EstatisticaLivros> porNacionalidadeAutor,
+        LocalDateTime atualizadoEm) {
+}
@@ -0,0 +1,56 @@
+package io.github.giih06.libraryapi.service;
+
+import io.github.giih06.libraryapi.repository.EstatisticasLivrosRepository;
+import io.github.giih06.libraryapi.repository.projection.EstatisticaLivros;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Serviço responsável pelas estatísticas do catálogo de livros.
+ *
+ * As estatísticas são lidas de views materializadas, recalculadas por {@link AtualizacaoEstatisticasLivros}
+ * após escritas no catálogo; podem, portanto, estar desatualizadas por até um intervalo de atualização.
+ */
+@Service
+@RequiredArgsConstructor
+public class EstatisticasLivrosService {
+
+    private final EstatisticasLivrosRepository repository;
+
+    /**
+     * Retorna a quantidade de livros e o preço mínimo, médio e máximo por gênero,
+     * por ano de publicação e por nacionalidade do autor.
+     *
+     * @return estatísticas pré-calculadas do catálogo
+     */
+    @Transactional(readOnly = true)
+    public EstatisticasLivros obterEstatisticas() {
+        List<EstatisticaLivros> porGenero = repository.listarPorGenero();
+        List<EstatisticaLivros> porAnoPublicacao = repository.listarPorAnoPublicacao();
+        List<EstatisticaLivros> porNacionalidadeAutor = repository.listarPorNacionalidadeAutor();
+
+        LocalDateTime atualizadoEm = Stream.of(porGenero, porAnoPublicacao, porNacionalidadeAutor)
+                .flatMap(List::stream)
+                .map(EstatisticaLivros::atualizadoEm)
+                .filter(Objects::nonNull)
+                .min(Comparator.naturalOrder())
+                .orElse(null);
+
+        return new EstatisticasLivros(porGenero, porAnoPublicacao, porNacionalidadeAutor, atualizadoEm);
+    }
+
+    /**
+     * Recalcula as estatísticas a partir dos livros cadastrados.
+     */
+    @Transactional
+    public void atualizarEstatisticas() {
+        repository.atualizar();
+    }
+}
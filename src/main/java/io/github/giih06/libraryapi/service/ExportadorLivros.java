@@ -0,0 +1,103 @@
+package io.github.giih06.libraryapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.github.giih06.libraryapi.repository.projection.LivroResumo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Escreve os livros exportados no formato solicitado, um livro por vez, à medida que são lidos do banco.
+ * Nenhuma lista é montada em memória: cada linha é escrita no buffer de saída e descartada.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExportadorLivros {
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    private static final String CABECALHO_CSV =
+            "id,isbn,titulo,dataPublicacao,genero,preco,idAutor,nomeAutor,dataNascimentoAutor,nacionalidadeAutor";
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Escreve os livros na saída informada. A saída não é fechada.
+     *
+     * @param livros  livros a exportar
+     * @param formato formato de saída
+     * @param saida   stream de saída (ex: corpo da resposta HTTP)
+     * @return quantidade de livros escritos
+     * @throws IOException se não for possível escrever na saída (ex: cliente desconectado)
+     */
+    public long escrever(Stream<LivroResumo> livros, FormatoExportacao formato, OutputStream saida) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), TAMANHO_BUFFER);
+        ObjectWriter json = objectMapper.writerFor(LivroResumo.class);
+
+        if (formato == FormatoExportacao.CSV) {
+            writer.write(CABECALHO_CSV);
+            writer.write("\r\n");
+        }
+
+        long quantidade = 0;
+        Iterator<LivroResumo> iterator = livros.iterator();
+        while (iterator.hasNext()) {
+            LivroResumo livro = iterator.next();
+            if (formato == FormatoExportacao.CSV) {
+                escreverCsv(writer, livro);
+            } else {
+                writer.write(json.writeValueAsString(livro));
+                writer.write('\n');
+            }
+            quantidade++;
+        }
+
+        writer.flush();
+        return quantidade;
+    }
+
+    private void escreverCsv(Writer writer, LivroResumo livro) throws IOException {
+        Object[] colunas = {
+                livro.id(),
+                livro.isbn(),
+                livro.titulo(),
+                livro.dataPublicacao(),
+                livro.genero(),
+                livro.preco() == null ? null : livro.preco().toPlainString(),
+                livro.idAutor(),
+                livro.nomeAutor(),
+                livro.dataNascimentoAutor(),
+                livro.nacionalidadeAutor()
+        };
+
+        for (int i = 0; i < colunas.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (colunas[i] != null) {
+                writer.write(campoCsv(colunas[i].toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Coloca o campo entre aspas quando ele contém vírgula, aspas ou quebra de linha,
+     * duplicando as aspas internas (RFC 4180).
+     */
+    static String campoCsv(String valor) {
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
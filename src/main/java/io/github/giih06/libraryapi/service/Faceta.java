@@ -0,0 +1,58 @@
+package io.github.giih06.libraryapi.service;
+
+import io.github.giih06.libraryapi.exceptions.CampoInvalidoException;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Facetas que podem acompanhar o resultado da pesquisa de livros: a quantidade de livros
+ * que atendem aos filtros para cada valor do campo.
+ *
+ * - GENERO: quantidade por gênero.
+ * - ANO: quantidade por ano de publicação.
+ */
+public enum Faceta {
+    GENERO("genero"),
+    ANO("ano");
+
+    private final String valor;
+
+    Faceta(String valor) {
+        this.valor = valor;
+    }
+
+    /**
+     * @return nome da faceta na requisição e na resposta
+     */
+    public String getValor() {
+        return valor;
+    }
+
+    /**
+     * Converte a lista separada por vírgulas recebida na requisição para as facetas correspondentes.
+     *
+     * @param valores facetas informadas (ex.: {@code genero,ano}); null ou vazio para nenhuma
+     * @return facetas solicitadas
+     * @throws CampoInvalidoException se algum valor não corresponder a nenhuma faceta
+     */
+    public static Set<Faceta> de(String valores) {
+        Set<Faceta> facetas = EnumSet.noneOf(Faceta.class);
+        if (valores == null || valores.isBlank()) {
+            return facetas;
+        }
+
+        for (String valor : valores.split(",")) {
+            facetas.add(Arrays.stream(values())
+                    .filter(faceta -> faceta.valor.equalsIgnoreCase(valor.trim()))
+                    .findFirst()
+                    .orElseThrow(() -> new CampoInvalidoException("facetas",
+                            "Valores aceitos: " + Arrays.stream(values())
+                                    .map(faceta -> faceta.valor)
+                                    .collect(Collectors.joining(", ")))));
+        }
+        return facetas;
+    }
+}
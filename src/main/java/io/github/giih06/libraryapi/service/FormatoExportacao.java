@@ -0,0 +1,50 @@
+package io.github.giih06.libraryapi.service;
+
+import io.github.giih06.libraryapi.exceptions.CampoInvalidoException;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Formatos disponíveis na exportação do catálogo de livros.
+ *
+ * - NDJSON: um objeto JSON por linha.
+ * - CSV: uma linha de cabeçalho e um livro por linha, separados por vírgula (RFC 4180).
+ */
+public enum FormatoExportacao {
+    NDJSON("ndjson", "application/x-ndjson"),
+    CSV("csv", "text/csv");
+
+    private final String valor;
+    private final String contentType;
+
+    FormatoExportacao(String valor, String contentType) {
+        this.valor = valor;
+        this.contentType = contentType;
+    }
+
+    public String getValor() {
+        return valor;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * Converte o valor recebido na requisição para o formato correspondente.
+     *
+     * @param valor valor informado (ndjson ou csv)
+     * @return formato de exportação
+     * @throws CampoInvalidoException se o valor não corresponder a nenhum formato
+     */
+    public static FormatoExportacao de(String valor) {
+        return Arrays.stream(values())
+                .filter(formato -> formato.valor.equalsIgnoreCase(valor))
+                .findFirst()
+                .orElseThrow(() -> new CampoInvalidoException("formato",
+                        "Valores aceitos: " + Arrays.stream(values())
+                                .map(formato -> formato.valor)
+                                .collect(Collectors.joining(", "))));
+    }
+}
@@ -0,0 +1,11 @@
+package io.github.giih06.libraryapi.service;
+
+import io.github.giih06.libraryapi.model.Livro;
+
+/**
+ * Evento publicado quando um livro é cadastrado ou atualizado.
+ *
+ * @param livro livro salvo, com o autor carregado
+ */
+public record LivroAlteradoEvent(Livro livro) {
+}
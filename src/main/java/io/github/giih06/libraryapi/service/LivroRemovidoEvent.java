@@ -0,0 +1,11 @@
+package io.github.giih06.libraryapi.service;
+
+import java.util.UUID;
+
+/**
+ * Evento publicado quando um livro é removido.
+ *
+ * @param id identificador do livro removido
+ */
+public record LivroRemovidoEvent(UUID id) {
+}
@@ -1,20 +1,59 @@
 package io.github.giih06.libraryapi.service;
 
+import io.github.giih06.libraryapi.busca.IndiceInvertido;
+import io.github.giih06.libraryapi.busca.IndiceLivros;
+import io.github.giih06.libraryapi.busca.IndiceSugestoes;
+import io.github.giih06.libraryapi.busca.SugestaoTitulo;
+import io.github.giih06.libraryapi.cache.CachePesquisaLivros;
+import io.github.giih06.libraryapi.cache.CachePesquisaLivros.ChavePesquisa;
+import io.github.giih06.libraryapi.cache.CachePesquisaLivros.ResultadoPesquisa;
+import io.github.giih06.libraryapi.cache.ChavesSubstitutas;
+import io.github.giih06.libraryapi.cache.InvalidacaoCacheEvent;
+import io.github.giih06.libraryapi.exceptions.CampoInvalidoException;
+import io.github.giih06.libraryapi.exceptions.RegistroDuplicadoException;
+import io.github.giih06.libraryapi.model.Autor;
 import io.github.giih06.libraryapi.model.GeneroLivro;
 import io.github.giih06.libraryapi.model.Livro;
-import io.github.giih06.libraryapi.model.Usuario;
+import io.github.giih06.libraryapi.repository.AutorRepository;
 import io.github.giih06.libraryapi.repository.LivroRepository;
+import io.github.giih06.libraryapi.repository.projection.ContagemFacetas;
+import io.github.giih06.libraryapi.repository.projection.LivroResumo;
 import io.github.giih06.libraryapi.securty.SecurityService;
 import io.github.giih06.libraryapi.validator.LivroValidator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static io.github.giih06.libraryapi.repository.specs.LivroSpecs.*;
 
@@ -25,27 +64,117 @@ import static io.github.giih06.libraryapi.repository.specs.LivroSpecs.*;
 @RequiredArgsConstructor
 public class LivroService {
 
+    // Ordenação estável usada na paginação por cursor (deve coincidir com o índice livro(titulo, id))
+    private static final Sort ORDENACAO_CURSOR = Sort.by("titulo", "id");
+
     private final LivroRepository repository;
+    private final AutorRepository autorRepository;
     private final LivroValidator validator;
     private final SecurityService securityService;
+    private final IndiceLivros indice;
+    private final IndiceSugestoes sugestoes;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExportadorLivros exportador;
+    private final CachePesquisaLivros cachePesquisa;
+
+    @Value("${libraryapi.exportacao.fetch-size:1000}")
+    private int fetchSizeExportacao;
+
+    @Value("${libraryapi.livros.maximo-pagina:100}")
+    private int maximoPagina;
 
     /**
      * Salva um novo livro no banco de dados após validação.
-     * Associa o livro ao usuário atualmente autenticado.
+     * Associa o livro ao usuário atualmente autenticado e incrementa, na mesma transação,
+     * o contador de livros do autor.
      *
      * @param livro livro a ser salvo
      * @return livro salvo
      */
+    @Transactional
     public Livro salvar(Livro livro) {
         validator.validar(livro);
-        Usuario user = securityService.obterUsuarioLogado();
-        livro.setIdUsuario(user.getId());
-        return repository.save(livro);
+        livro.setIdUsuario(securityService.obterIdUsuarioLogado());
+        Livro salvo = repository.save(livro);
+        autorRepository.ajustarQuantidadeLivros(salvo.getAutor().getId(), 1);
+        eventPublisher.publishEvent(new LivroAlteradoEvent(salvo));
+
+        Set<String> invalidadas = new HashSet<>(ChavesSubstitutas.pesquisasLivrosAfetadas(salvo.getGenero()));
+        invalidadas.add(ChavesSubstitutas.quantidadeLivros(salvo.getAutor().getId()));
+        eventPublisher.publishEvent(new InvalidacaoCacheEvent(invalidadas));
+        return salvo;
+    }
+
+    /**
+     * Cadastra um lote de novos livros em uma única transação.
+     *
+     * Os ISBNs de todo o lote são verificados em uma única consulta ({@code IN}) e os autores
+     * são buscados em outra, em vez de duas consultas por livro. Os livros válidos são inseridos
+     * com o batching de comandos do JDBC ({@code hibernate.jdbc.batch_size}); os inválidos são
+     * rejeitados individualmente, sem impedir o cadastro dos demais. Se outro cadastro inserir
+     * o mesmo ISBN entre a consulta e o INSERT, a restrição única do banco rejeita o lote inteiro.
+     *
+     * @param livros livros a serem cadastrados; o autor de cada livro precisa ter apenas o ID preenchido
+     * @return resultado de cada livro, na mesma ordem recebida
+     */
+    @Transactional
+    public List<ResultadoCadastroLote> salvarLote(List<Livro> livros) {
+        if (livros.isEmpty()) {
+            return List.of();
+        }
+
+        Set<String> isbnsCadastrados = new HashSet<>(repository.listarIsbnsCadastrados(
+                livros.stream().map(Livro::getIsbn).collect(Collectors.toSet())));
+
+        Map<UUID, Autor> autores = autorRepository.findAllById(
+                        livros.stream().map(livro -> livro.getAutor().getId()).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Autor::getId, Function.identity()));
+
+        // requisições autenticadas apenas pelo client (client_credentials) não têm usuário
+        UUID idUsuario = securityService.obterIdUsuarioLogado();
+
+        List<ResultadoCadastroLote> resultados = new ArrayList<>(livros.size());
+        List<Livro> validos = new ArrayList<>(livros.size());
+        for (Livro livro : livros) {
+            try {
+                Autor autor = autores.get(livro.getAutor().getId());
+                if (autor == null) {
+                    throw new CampoInvalidoException("idAutor", "Autor não encontrado");
+                }
+                livro.setAutor(autor);
+                validator.validarNovo(livro, isbnsCadastrados);
+                livro.setIdUsuario(idUsuario);
+
+                validos.add(livro);
+                resultados.add(ResultadoCadastroLote.cadastrado(livro));
+            } catch (CampoInvalidoException | RegistroDuplicadoException e) {
+                resultados.add(ResultadoCadastroLote.rejeitado(livro, e));
+            }
+        }
+
+        repository.saveAll(validos);
+
+        // um ajuste por autor, na ordem dos IDs para que lotes simultâneos bloqueiem os autores na mesma ordem
+        Map<UUID, Integer> livrosPorAutor = new TreeMap<>();
+        validos.forEach(livro -> livrosPorAutor.merge(livro.getAutor().getId(), 1, Integer::sum));
+        livrosPorAutor.forEach(autorRepository::ajustarQuantidadeLivros);
+
+        validos.forEach(livro -> eventPublisher.publishEvent(new LivroAlteradoEvent(livro)));
+        Set<String> invalidadas = validos.stream()
+                .flatMap(livro -> ChavesSubstitutas.pesquisasLivrosAfetadas(livro.getGenero()).stream())
+                .collect(Collectors.toSet());
+        livrosPorAutor.keySet().forEach(idAutor -> invalidadas.add(ChavesSubstitutas.quantidadeLivros(idAutor)));
+        eventPublisher.publishEvent(new InvalidacaoCacheEvent(invalidadas));
+        return resultados;
     }
 
     /**
      * Busca um livro por seu identificador UUID.
      *
+     * O livro e, quando acessado, o seu autor são lidos do cache de segundo nível; só vão ao banco
+     * se ainda não estiverem em cache.
+     *
      * @param id identificador do livro
      * @return Optional com o livro encontrado ou vazio
      */
@@ -54,17 +183,77 @@ public class LivroService {
     }
 
     /**
-     * Remove um livro do banco de dados.
+     * Busca o resumo somente leitura de um livro (com os dados do autor) por seu identificador,
+     * sem carregar a entidade no contexto de persistência.
+     *
+     * @param id identificador do livro
+     * @return Optional com o resumo do livro encontrado ou vazio
+     */
+    public Optional<LivroResumo> obterResumoPorId(UUID id) {
+        return repository.listarResumos(idIn(List.of(id)), Sort.unsorted(), 0, 1)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Remove um livro do banco de dados e decrementa, na mesma transação, o contador de livros do autor.
+     * Invalida no cache de respostas o próprio livro e as pesquisas do seu gênero.
      *
      * @param livro livro a ser removido
      */
+    @Transactional
     public void deletar(Livro livro) {
+        UUID idAutor = livro.getAutor().getId();
         repository.delete(livro);
+        autorRepository.ajustarQuantidadeLivros(idAutor, -1);
+        eventPublisher.publishEvent(new LivroRemovidoEvent(livro.getId()));
+
+        Set<String> invalidadas = invalidacaoLivro(livro.getId(), livro.getGenero());
+        invalidadas.add(ChavesSubstitutas.quantidadeLivros(idAutor));
+        eventPublisher.publishEvent(new InvalidacaoCacheEvent(invalidadas));
+    }
+
+    /**
+     * Remove em massa todos os livros de um gênero, descontando-os dos contadores de livros
+     * dos autores na mesma transação.
+     *
+     * Invalida no cache de respostas os livros removidos, as pesquisas de livros e a quantidade de livros
+     * dos autores afetados.
+     *
+     * @param genero gênero dos livros a serem removidos
+     */
+    @Transactional
+    public void deletarPorGenero(GeneroLivro genero) {
+        List<UUID> idsLivros = repository.listarIdsDoGenero(genero);
+        List<UUID> idsAutores = repository.listarIdsAutoresDoGenero(genero);
+        autorRepository.descontarLivrosDoGenero(genero);
+        repository.deleteByGenero(genero);
+
+        // remove os livros dos índices em memória (busca e sugestões) após o commit
+        idsLivros.forEach(id -> eventPublisher.publishEvent(new LivroRemovidoEvent(id)));
+
+        Set<String> invalidadas = new HashSet<>(Set.of(ChavesSubstitutas.PESQUISA_LIVROS));
+        idsLivros.forEach(id -> invalidadas.add(ChavesSubstitutas.livro(id)));
+        idsAutores.forEach(idAutor -> invalidadas.add(ChavesSubstitutas.quantidadeLivros(idAutor)));
+        eventPublisher.publishEvent(new InvalidacaoCacheEvent(invalidadas));
     }
 
     /**
      * Realiza uma pesquisa paginada de livros com base em filtros dinâmicos.
      * Utiliza Specifications do Spring Data JPA para compor a query.
+     * Retorna projeções somente leitura ({@link LivroResumo}) montadas em uma única consulta com
+     * o autor, então a quantidade de comandos SQL não depende do tamanho da página.
+     *
+     * A estratégia de contagem define como o total de registros é obtido:
+     * - EXATA: retorna uma {@link Page} com o total calculado por {@code count(*)}.
+     * - ESTIMADA: retorna uma {@link Page} com o total estimado pelas estatísticas do banco.
+     * - NENHUMA: retorna apenas uma {@link Slice}, indicando se existe próxima página.
+     *
+     * Na busca pelo índice em memória, o total é sempre exato, pois o índice conta todos os livros
+     * encontrados que atendem aos filtros.
+     *
+     * Os IDs e o total de cada combinação de filtros e página ficam em cache ({@link CachePesquisaLivros});
+     * em um acerto, apenas os livros da página são buscados pela chave primária.
      *
      * @param isbn            filtro por ISBN exato
      * @param titulo          filtro por título (parcial, case-insensitive)
@@ -72,16 +261,366 @@ public class LivroService {
      * @param genero          filtro por gênero do livro
      * @param anoPublicacao   filtro por ano de publicação
      * @param pagina          número da página (0-based)
-     * @param tamanhoPagina   quantidade de itens por página
-     * @return página de livros que atendem aos critérios
-     */    public Page<Livro> pesquisa(
+     * @param tamanhoPagina   quantidade de itens por página, limitada a {@code libraryapi.livros.maximo-pagina}
+     * @param contagem        estratégia de contagem do total de registros
+     * @param busca           mecanismo usado nos filtros de título e nome do autor
+     * @return página (ou fatia, quando não há contagem) de livros que atendem aos critérios
+     */
+    public Slice<LivroResumo> pesquisa(
             String isbn,
             String titulo,
             String nomeAutor,
             GeneroLivro genero,
             Integer anoPublicacao,
             Integer pagina,
-            Integer tamanhoPagina) {
+            Integer tamanhoPagina,
+            TipoContagem contagem,
+            TipoBusca busca) {
+
+        validarTamanhoPagina(tamanhoPagina);
+        if (pagina < 0) {
+            throw new CampoInvalidoException("pagina", "A página não pode ser negativa");
+        }
+
+        // Define a paginação da consulta
+        Pageable pagerequest = PageRequest.of(pagina, tamanhoPagina);
+
+        ChavePesquisa chave = new ChavePesquisa(
+                isbn, titulo, nomeAutor, genero, anoPublicacao, pagina, tamanhoPagina, contagem, busca);
+        Optional<ResultadoPesquisa> cacheado = cachePesquisa.buscar(chave);
+        if (cacheado.isPresent()) {
+            return montarPesquisaCacheada(cacheado.get(), pagerequest);
+        }
+
+        long geracao = cachePesquisa.geracaoAtual(chave);
+        Slice<LivroResumo> resultado = executarPesquisa(
+                isbn, titulo, nomeAutor, genero, anoPublicacao, pagerequest, contagem, busca);
+
+        Long total = resultado instanceof Page<LivroResumo> paginaResultado ? paginaResultado.getTotalElements() : null;
+        cachePesquisa.guardar(chave, resultado.map(LivroResumo::id).getContent(), total, resultado.hasNext(), geracao);
+        return resultado;
+    }
+
+    /**
+     * Monta a página (ou fatia) de um resultado em cache, buscando os livros pelos IDs guardados.
+     */
+    private Slice<LivroResumo> montarPesquisaCacheada(ResultadoPesquisa cacheado, Pageable pageable) {
+        List<LivroResumo> conteudo = buscarResumos(cacheado.ids());
+        if (cacheado.total() == null) {
+            return new SliceImpl<>(conteudo, pageable, cacheado.proximaPagina());
+        }
+        return new PageImpl<>(conteudo, pageable, cacheado.total());
+    }
+
+    /**
+     * Executa a pesquisa no banco ou no índice em memória. Ver {@link #pesquisa}.
+     */
+    private Slice<LivroResumo> executarPesquisa(
+            String isbn,
+            String titulo,
+            String nomeAutor,
+            GeneroLivro genero,
+            Integer anoPublicacao,
+            Pageable pagerequest,
+            TipoContagem contagem,
+            TipoBusca busca) {
+
+        busca = resolverBusca(busca);
+        if (busca == TipoBusca.INDICE && possuiFiltroTexto(isbn, titulo, nomeAutor)) {
+            return pesquisarNoIndice(isbn, titulo, nomeAutor, genero, anoPublicacao, pagerequest, contagem);
+        }
+
+        Specification<Livro> specs = montarSpecs(isbn, titulo, nomeAutor, genero, anoPublicacao, busca);
+
+        return switch (contagem) {
+            // Executa a busca com filtros e paginação (consulta + count)
+            case EXATA -> {
+                List<LivroResumo> conteudo = repository.listarResumos(
+                        specs, Sort.unsorted(), pagerequest.getOffset(), pagerequest.getPageSize());
+                yield PageableExecutionUtils.getPage(conteudo, pagerequest, () -> repository.count(specs));
+            }
+            case NENHUMA -> buscarFatia(specs, pagerequest);
+            case ESTIMADA -> {
+                Slice<LivroResumo> fatia = buscarFatia(specs, pagerequest);
+                boolean somenteGenero = isbn == null && titulo == null && nomeAutor == null && anoPublicacao == null;
+                yield PageableExecutionUtils.getPage(fatia.getContent(), pagerequest,
+                        () -> estimarTotal(specs, genero, somenteGenero, fatia));
+            }
+        };
+    }
+
+    /**
+     * Pesquisa os livros pelo índice em memória, já ordenados por relevância, e busca no banco
+     * apenas os livros da página solicitada.
+     *
+     * Os filtros de gênero e ano de publicação são aplicados no próprio índice, antes de limitar
+     * os resultados aos necessários até a página solicitada.
+     */
+    private Slice<LivroResumo> pesquisarNoIndice(
+            String isbn,
+            String titulo,
+            String nomeAutor,
+            GeneroLivro genero,
+            Integer anoPublicacao,
+            Pageable pageable,
+            TipoContagem contagem) {
+
+        int limite = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), Integer.MAX_VALUE);
+        IndiceInvertido.Resultado resultado = indice.buscar(titulo, isbn, nomeAutor, genero, anoPublicacao, limite);
+        List<UUID> ids = resultado.ids();
+
+        int inicio = (int) Math.min(pageable.getOffset(), ids.size());
+        List<LivroResumo> conteudo = buscarResumos(ids.subList(inicio, ids.size()));
+
+        if (contagem == TipoContagem.NENHUMA) {
+            return new SliceImpl<>(conteudo, pageable, ids.size() < resultado.total());
+        }
+        return new PageImpl<>(conteudo, pageable, resultado.total());
+    }
+
+    /**
+     * Busca os resumos dos livros pelos IDs, em uma única consulta, mantendo a ordem dos IDs
+     * (o banco não garante a ordem do IN). IDs de livros que não existem mais são ignorados.
+     */
+    private List<LivroResumo> buscarResumos(List<UUID> ids) {
+        Map<UUID, LivroResumo> livros = ids.isEmpty() ? Map.of() : repository
+                .listarResumos(idIn(ids), Sort.unsorted(), 0, ids.size())
+                .stream()
+                .collect(Collectors.toMap(LivroResumo::id, Function.identity()));
+        return ids.stream()
+                .map(livros::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Usa a busca textual do banco enquanto o índice em memória não estiver disponível.
+     */
+    private TipoBusca resolverBusca(TipoBusca busca) {
+        if (busca == TipoBusca.INDICE && !indice.isDisponivel()) {
+            return TipoBusca.TEXTUAL;
+        }
+        return busca;
+    }
+
+    private boolean possuiFiltroTexto(String isbn, String titulo, String nomeAutor) {
+        return isbn != null || titulo != null || nomeAutor != null;
+    }
+
+    /**
+     * Busca apenas os registros da página solicitada, sem executar o count.
+     * A consulta traz um registro além do tamanho da página para saber se existe próxima página.
+     */
+    private Slice<LivroResumo> buscarFatia(Specification<Livro> specs, Pageable pageable) {
+        List<LivroResumo> resultado = repository.listarResumos(
+                specs, Sort.unsorted(), pageable.getOffset(), pageable.getPageSize() + 1);
+
+        boolean temProximaPagina = resultado.size() > pageable.getPageSize();
+        List<LivroResumo> conteudo = temProximaPagina ? resultado.subList(0, pageable.getPageSize()) : resultado;
+
+        return new SliceImpl<>(conteudo, pageable, temProximaPagina);
+    }
+
+    /**
+     * Estima o total de livros da pesquisa a partir das estatísticas do PostgreSQL.
+     *
+     * Só é possível estimar pesquisas sem filtros ou filtradas apenas por gênero;
+     * nos demais casos, ou se as estatísticas ainda não existirem, executa a contagem exata.
+     * O valor nunca é menor que a quantidade de registros já conhecida pela página atual.
+     */
+    private long estimarTotal(Specification<Livro> specs, GeneroLivro genero, boolean estimavel, Slice<LivroResumo> fatia) {
+        long minimo = fatia.getPageable().getOffset() + fatia.getNumberOfElements() + (fatia.hasNext() ? 1 : 0);
+
+        if (!estimavel) {
+            return repository.count(specs);
+        }
+
+        Long totalLivros = repository.estimarQuantidadeLivros();
+        if (totalLivros == null || totalLivros < 0) {
+            return repository.count(specs);
+        }
+
+        long estimativa = totalLivros;
+        if (genero != null) {
+            Double fracao = repository.estimarFracaoGenero(genero.name());
+            if (fracao == null) {
+                return repository.count(specs);
+            }
+            estimativa = Math.round(totalLivros * fracao);
+        }
+
+        return Math.max(estimativa, minimo);
+    }
+
+    /**
+     * Realiza uma pesquisa de livros paginada por cursor (keyset), ordenada por título e ID.
+     *
+     * Ao contrário da paginação por número de página, não utiliza OFFSET: a consulta parte
+     * diretamente da posição do cursor, então o custo de qualquer página é o mesmo da primeira.
+     * Também não executa o count total.
+     *
+     * @param isbn            filtro por ISBN exato
+     * @param titulo          filtro por título (parcial, case-insensitive)
+     * @param nomeAutor       filtro por nome do autor (parcial)
+     * @param genero          filtro por gênero do livro
+     * @param anoPublicacao   filtro por ano de publicação
+     * @param cursor          posição do último livro retornado (null para a primeira página)
+     * @param tamanhoPagina   quantidade de itens por página, limitada a {@code libraryapi.livros.maximo-pagina}
+     * @param busca           mecanismo usado nos filtros de título e nome do autor
+     * @return fatia de livros com a indicação se existe próxima página
+     */
+    public Slice<LivroResumo> pesquisaPorCursor(
+            String isbn,
+            String titulo,
+            String nomeAutor,
+            GeneroLivro genero,
+            Integer anoPublicacao,
+            Cursor cursor,
+            Integer tamanhoPagina,
+            TipoBusca busca) {
+
+        validarTamanhoPagina(tamanhoPagina);
+
+        Specification<Livro> specs = montarSpecs(
+                isbn, titulo, nomeAutor, genero, anoPublicacao, resolverBusca(busca));
+
+        if(cursor != null) {
+            specs = specs.and(aposCursor(cursor.chave(), cursor.id()));
+        }
+
+        // busca um registro a mais para saber se existe próxima página
+        List<LivroResumo> resultado = repository.listarResumos(specs, ORDENACAO_CURSOR, 0, tamanhoPagina + 1);
+
+        boolean temProximaPagina = resultado.size() > tamanhoPagina;
+        List<LivroResumo> conteudo = temProximaPagina ? resultado.subList(0, tamanhoPagina) : resultado;
+
+        return new SliceImpl<>(conteudo, PageRequest.of(0, tamanhoPagina, ORDENACAO_CURSOR), temProximaPagina);
+    }
+
+    /**
+     * Sugere títulos para o autocompletar, pelo índice de prefixos em memória ({@link IndiceSugestoes}),
+     * sem consultar o banco. Os títulos com mais livros aparecem primeiro.
+     *
+     * @param prefixo    início do título (ignora acentos e maiúsculas/minúsculas)
+     * @param quantidade quantidade máxima de sugestões
+     * @return títulos que começam com o prefixo
+     */
+    public List<SugestaoTitulo> sugerirTitulos(String prefixo, int quantidade) {
+        return sugestoes.sugerirTitulos(prefixo, quantidade);
+    }
+
+    /**
+     * Conta os livros que atendem aos filtros da pesquisa para cada valor das facetas solicitadas.
+     *
+     * Todas as facetas são calculadas a partir de uma única consulta agrupada por gênero e ano de
+     * publicação, somando os grupos em memória (a quantidade de grupos é pequena), em vez de uma
+     * contagem por valor. Os gêneros são ordenados pela quantidade (maior primeiro) e os anos do
+     * mais recente para o mais antigo; livros sem data de publicação não entram na faceta de ano.
+     *
+     * @param isbn            filtro por ISBN exato
+     * @param titulo          filtro por título (parcial, case-insensitive)
+     * @param nomeAutor       filtro por nome do autor (parcial)
+     * @param genero          filtro por gênero do livro
+     * @param anoPublicacao   filtro por ano de publicação
+     * @param busca           mecanismo usado nos filtros de título e nome do autor
+     * @param facetas         facetas solicitadas
+     * @return para cada faceta solicitada, a quantidade de livros por valor
+     */
+    public Map<Faceta, Map<String, Long>> contarFacetas(
+            String isbn,
+            String titulo,
+            String nomeAutor,
+            GeneroLivro genero,
+            Integer anoPublicacao,
+            TipoBusca busca,
+            Set<Faceta> facetas) {
+
+        Map<Faceta, Map<String, Long>> resultado = new EnumMap<>(Faceta.class);
+        if (facetas.isEmpty()) {
+            return resultado;
+        }
+
+        Specification<Livro> specs = montarSpecs(
+                isbn, titulo, nomeAutor, genero, anoPublicacao, resolverBusca(busca));
+        List<ContagemFacetas> contagens = repository.contarFacetas(specs);
+
+        if (facetas.contains(Faceta.GENERO)) {
+            resultado.put(Faceta.GENERO, somarPorValor(contagens, contagem -> contagem.genero().name(),
+                    Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey())));
+        }
+        if (facetas.contains(Faceta.ANO)) {
+            resultado.put(Faceta.ANO, somarPorValor(contagens.stream().filter(contagem -> contagem.ano() != null).toList(),
+                    ContagemFacetas::ano,
+                    Map.Entry.<String, Long>comparingByKey().reversed()));
+        }
+        return resultado;
+    }
+
+    /**
+     * Soma as quantidades dos grupos com o mesmo valor da faceta, na ordem informada.
+     */
+    private Map<String, Long> somarPorValor(
+            List<ContagemFacetas> contagens,
+            Function<ContagemFacetas, String> valor,
+            Comparator<Map.Entry<String, Long>> ordem) {
+        return contagens.stream()
+                .collect(Collectors.groupingBy(valor, Collectors.summingLong(ContagemFacetas::quantidade)))
+                .entrySet()
+                .stream()
+                .sorted(ordem)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, Long::sum, LinkedHashMap::new));
+    }
+
+    /**
+     * Exporta todos os livros que atendem aos filtros, escrevendo-os na saída à medida que são lidos.
+     *
+     * A consulta é lida por um cursor do banco, {@code libraryapi.exportacao.fetch-size} linhas por vez,
+     * e os livros são projeções não gerenciadas, então o consumo de memória é constante
+     * independentemente da quantidade exportada. Não há paginação nem count.
+     *
+     * @param isbn            filtro por ISBN exato
+     * @param titulo          filtro por título
+     * @param nomeAutor       filtro por nome do autor
+     * @param genero          filtro por gênero do livro
+     * @param anoPublicacao   filtro por ano de publicação
+     * @param busca           mecanismo usado nos filtros de título e nome do autor
+     * @param formato         formato de saída
+     * @param saida           stream onde os livros são escritos
+     * @return quantidade de livros exportados
+     * @throws IOException se não for possível escrever na saída
+     */
+    @Transactional(readOnly = true)
+    public long exportar(
+            String isbn,
+            String titulo,
+            String nomeAutor,
+            GeneroLivro genero,
+            Integer anoPublicacao,
+            TipoBusca busca,
+            FormatoExportacao formato,
+            OutputStream saida) throws IOException {
+
+        Specification<Livro> specs = montarSpecs(
+                isbn, titulo, nomeAutor, genero, anoPublicacao, resolverBusca(busca));
+
+        try (Stream<LivroResumo> livros = repository.percorrerResumos(specs, fetchSizeExportacao)) {
+            return exportador.escrever(livros, formato, saida);
+        }
+    }
+
+    /**
+     * Monta a Specification com os filtros informados, ignorando os que forem nulos.
+     * Na busca textual, os filtros de título e autor usam os índices de texto e
+     * os resultados são ordenados por relevância. Na busca pelo índice em memória, os filtros
+     * de ISBN, título e autor são substituídos pelos IDs encontrados no índice.
+     */
+    private Specification<Livro> montarSpecs(
+            String isbn,
+            String titulo,
+            String nomeAutor,
+            GeneroLivro genero,
+            Integer anoPublicacao,
+            TipoBusca busca) {
 
         // select * from livro where isbn = :isbn and nomeAutor = :nomeAutor
 
@@ -93,6 +632,17 @@ public class LivroService {
         // select * from livro where 0 = 0
         Specification<Livro> specs = Specification.where((root, query, cb) -> cb.conjunction() );
 
+        if(busca == TipoBusca.INDICE) {
+            if(possuiFiltroTexto(isbn, titulo, nomeAutor)) {
+                // o limite de IDs do índice vale para os filtros já aplicados nele
+                specs = specs.and(idIn(indice.buscar(titulo, isbn, nomeAutor, genero, anoPublicacao)));
+            }
+            // os filtros de texto já foram atendidos pelo índice
+            isbn = null;
+            titulo = null;
+            nomeAutor = null;
+        }
+
         // Aplica dinamicamente cada filtro caso tenha valor
         if(isbn != null) {
             // query = query and isbn = :isbn
@@ -100,7 +650,7 @@ public class LivroService {
         }
 
         if(titulo != null) {
-            specs = specs.and(tituloLike(titulo));
+            specs = specs.and(busca == TipoBusca.TEXTUAL ? tituloTextual(titulo) : tituloLike(titulo));
         }
 
         if(genero != null) {
@@ -112,28 +662,155 @@ public class LivroService {
         }
 
         if(nomeAutor != null) {
-            specs = specs.and(nomeAutorLike(nomeAutor));
+            specs = specs.and(busca == TipoBusca.TEXTUAL ? nomeAutorTextual(nomeAutor) : nomeAutorLike(nomeAutor));
         }
 
-        // Define a paginação da consulta
-        Pageable pagerequest = PageRequest.of(pagina, tamanhoPagina);
+        if(busca == TipoBusca.TEXTUAL) {
+            specs = specs.and(ordenarPorRelevancia(titulo, nomeAutor));
+        }
 
-        // Executa a busca com filtros e paginação
-        return repository.findAll(specs, pagerequest);
+        return specs;
     }
 
     /**
      * Atualiza um livro já existente no banco de dados.
      * Lança exceção se o livro ainda não estiver cadastrado (sem ID).
      *
-     * @param livro livro com dados atualizados
+     * Se o autor mudou, transfere o livro entre os contadores de livros dos autores na mesma transação.
+     * Como o gênero anterior não é conhecido aqui, invalida no cache de respostas o livro e todas
+     * as pesquisas de livros.
+     *
+     * @param livro           livro com dados atualizados
+     * @param idAutorAnterior identificador do autor do livro antes da alteração
      */
-    public void atualizar(Livro livro) {
+    @Transactional
+    public void atualizar(Livro livro, UUID idAutorAnterior) {
         if(livro.getId() == null) {
             throw new IllegalArgumentException("O livro precisa estar cadastrado para ser atualizado");
         }
 
         validator.validar(livro); // revalida os dados
         repository.save(livro); // atualiza no banco
+        Set<String> invalidadas = new HashSet<>(
+                Set.of(ChavesSubstitutas.livro(livro.getId()), ChavesSubstitutas.PESQUISA_LIVROS));
+        invalidadas.addAll(transferirLivro(idAutorAnterior, livro.getAutor().getId()));
+
+        eventPublisher.publishEvent(new LivroAlteradoEvent(livro));
+        eventPublisher.publishEvent(new InvalidacaoCacheEvent(invalidadas));
+    }
+
+    /**
+     * Atualiza parcialmente um livro já existente: apenas os campos informados (não nulos) são alterados.
+     *
+     * Como a entidade usa {@code @DynamicUpdate}, o UPDATE contém somente as colunas que de fato mudaram.
+     * A obrigatoriedade do preço só é revalidada quando o preço ou a data de publicação são informados;
+     * a unicidade do ISBN é garantida pela restrição do banco. O novo autor é associado como referência;
+     * apenas quando o autor muda, os contadores de livros dos dois autores são ajustados na mesma transação.
+     *
+     * No cache de respostas, a alteração apenas do preço invalida somente as respostas que exibem o livro,
+     * pois o preço não é filtro das pesquisas; as demais também invalidam as pesquisas do gênero anterior
+     * e do novo gênero.
+     *
+     * @param livro          livro cadastrado a ser atualizado
+     * @param isbn           novo ISBN
+     * @param titulo         novo título
+     * @param dataPublicacao nova data de publicação
+     * @param genero         novo gênero
+     * @param preco          novo preço
+     * @param idAutor        identificador do novo autor
+     */
+    @Transactional
+    public void atualizarParcial(
+            Livro livro,
+            String isbn,
+            String titulo,
+            LocalDate dataPublicacao,
+            GeneroLivro genero,
+            BigDecimal preco,
+            UUID idAutor) {
+
+        if(livro.getId() == null) {
+            throw new IllegalArgumentException("O livro precisa estar cadastrado para ser atualizado");
+        }
+
+        GeneroLivro generoAnterior = livro.getGenero();
+        UUID idAutorAnterior = livro.getAutor().getId();
+
+        if(isbn != null) {
+            livro.setIsbn(isbn);
+        }
+
+        if(titulo != null) {
+            livro.setTitulo(titulo);
+        }
+
+        if(dataPublicacao != null) {
+            livro.setDataPublicacao(dataPublicacao);
+        }
+
+        if(genero != null) {
+            livro.setGenero(genero);
+        }
+
+        if(preco != null) {
+            livro.setPreco(preco);
+        }
+
+        if(idAutor != null && !idAutor.equals(livro.getAutor().getId())) {
+            livro.setAutor(autorRepository.getReferenceById(idAutor));
+        }
+
+        if(preco != null || dataPublicacao != null) {
+            validator.validar(livro);
+        }
+
+        repository.save(livro);
+        eventPublisher.publishEvent(new LivroAlteradoEvent(livro));
+
+        Set<String> invalidadas = new HashSet<>(Set.of(ChavesSubstitutas.livro(livro.getId())));
+        if(isbn != null || titulo != null || dataPublicacao != null || genero != null || idAutor != null) {
+            invalidadas.addAll(invalidacaoLivro(livro.getId(), generoAnterior));
+            invalidadas.addAll(ChavesSubstitutas.pesquisasLivrosAfetadas(livro.getGenero()));
+        }
+        invalidadas.addAll(transferirLivro(idAutorAnterior, livro.getAutor().getId()));
+        eventPublisher.publishEvent(new InvalidacaoCacheEvent(invalidadas));
+    }
+
+    /**
+     * Transfere um livro do contador de livros do autor anterior para o do novo autor, se o autor mudou.
+     * Os autores são bloqueados na ordem dos IDs, para que transferências simultâneas em sentidos
+     * opostos não causem deadlock.
+     *
+     * @return chaves substitutas da quantidade de livros dos autores alterados
+     */
+    private Set<String> transferirLivro(UUID idAutorAnterior, UUID idAutorNovo) {
+        if(idAutorAnterior.equals(idAutorNovo)) {
+            return Set.of();
+        }
+
+        if(idAutorAnterior.compareTo(idAutorNovo) < 0) {
+            autorRepository.ajustarQuantidadeLivros(idAutorAnterior, -1);
+            autorRepository.ajustarQuantidadeLivros(idAutorNovo, 1);
+        } else {
+            autorRepository.ajustarQuantidadeLivros(idAutorNovo, 1);
+            autorRepository.ajustarQuantidadeLivros(idAutorAnterior, -1);
+        }
+        return Set.of(ChavesSubstitutas.quantidadeLivros(idAutorAnterior), ChavesSubstitutas.quantidadeLivros(idAutorNovo));
+    }
+
+    /**
+     * Chaves substitutas das respostas que exibem o livro e das pesquisas das quais ele pode entrar ou sair.
+     */
+    private Set<String> invalidacaoLivro(UUID id, GeneroLivro genero) {
+        Set<String> chaves = new HashSet<>(ChavesSubstitutas.pesquisasLivrosAfetadas(genero));
+        chaves.add(ChavesSubstitutas.livro(id));
+        return chaves;
+    }
+
+    private void validarTamanhoPagina(Integer tamanhoPagina) {
+        if (tamanhoPagina < 1 || tamanhoPagina > maximoPagina) {
+            throw new CampoInvalidoException(
+                    "tamanhoPagina", "O tamanho da página deve estar entre 1 e " + maximoPagina);
+        }
     }
 }
@@ -0,0 +1,31 @@
+package io.github.giih06.libraryapi.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tarefa agendada que reconstrói os contadores de livros dos autores ({@code autor.quantidade_livros}).
+ *
+ * Os contadores são mantidos pelas escritas de {@link LivroService}; esta tarefa corrige divergências
+ * causadas por alterações feitas fora do serviço. O agendamento é definido em
+ * {@code libraryapi.autores.reconciliacao.cron} ("-" desabilita).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReconciliacaoQuantidadeLivros {
+
+    private final AutorService autorService;
+
+    @Scheduled(cron = "${libraryapi.autores.reconciliacao.cron:0 0 3 * * *}")
+    public void reconciliar() {
+        int corrigidos = autorService.reconciliarQuantidadeLivros();
+        if (corrigidos > 0) {
+            log.warn("Contador de livros corrigido em {} autor(es)", corrigidos);
+        } else {
+            log.info("Contadores de livros dos autores sem divergências");
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package io.github.giih06.libraryapi.service;
+
+import io.github.giih06.libraryapi.model.Livro;
+
+/**
+ * Resultado do cadastro de um livro enviado em lote.
+ *
+ * @param livro livro recebido (com o ID preenchido quando cadastrado)
+ * @param erro  erro que impediu o cadastro, ou null se o livro foi cadastrado
+ */
+public record ResultadoCadastroLote(Livro livro, RuntimeException erro) {
+
+    public static ResultadoCadastroLote cadastrado(Livro livro) {
+        return new ResultadoCadastroLote(livro, null);
+    }
+
+    public static ResultadoCadastroLote rejeitado(Livro livro, RuntimeException erro) {
+        return new ResultadoCadastroLote(livro, erro);
+    }
+
+    public boolean isCadastrado() {
+        return erro == null;
+    }
+}
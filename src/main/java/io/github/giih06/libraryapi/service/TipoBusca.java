@@ -0,0 +1,44 @@
+package io.github.giih06.libraryapi.service;
+
+import io.github.giih06.libraryapi.exceptions.CampoInvalidoException;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Mecanismos disponíveis para os filtros de texto (título e nome do autor) da pesquisa de livros.
+ *
+ * - PADRAO: {@code upper(coluna) LIKE '%termo%'}, sem índice e sensível a acentos.
+ * - TEXTUAL: full-text search e trigramas do PostgreSQL, indexados, sem acentos e
+ *   com os resultados ordenados por relevância.
+ * - INDICE: índice invertido em memória (BM25), tolerante a erros de digitação. Apenas os
+ *   IDs encontrados são buscados no banco.
+ */
+public enum TipoBusca {
+    PADRAO("padrao"),
+    TEXTUAL("textual"),
+    INDICE("indice");
+
+    private final String valor;
+
+    TipoBusca(String valor) {
+        this.valor = valor;
+    }
+
+    /**
+     * Converte o valor recebido na requisição para o mecanismo de busca correspondente.
+     *
+     * @param valor valor informado (padrao, textual ou indice)
+     * @return mecanismo de busca
+     * @throws CampoInvalidoException se o valor não corresponder a nenhum mecanismo
+     */
+    public static TipoBusca de(String valor) {
+        return Arrays.stream(values())
+                .filter(tipo -> tipo.valor.equalsIgnoreCase(valor))
+                .findFirst()
+                .orElseThrow(() -> new CampoInvalidoException("busca",
+                        "Valores aceitos: " + Arrays.stream(values())
+                                .map(tipo -> tipo.valor)
+                                .collect(Collectors.joining(", "))));
+    }
+}
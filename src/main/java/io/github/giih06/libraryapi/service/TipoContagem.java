@@ -0,0 +1,43 @@
+package io.github.giih06.libraryapi.service;
+
+import io.github.giih06.libraryapi.exceptions.CampoInvalidoException;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Estratégias de contagem do total de registros em pesquisas paginadas.
+ *
+ * - EXATA: executa o {@code SELECT count(*)} com os mesmos filtros da pesquisa.
+ * - ESTIMADA: usa as estatísticas do planejador do PostgreSQL quando a pesquisa não tem
+ *   filtros (ou filtra apenas por gênero); nos demais casos recorre à contagem exata.
+ * - NENHUMA: não conta; informa apenas se existe próxima página.
+ */
+public enum TipoContagem {
+    EXATA("exata"),
+    ESTIMADA("estimada"),
+    NENHUMA("nenhuma");
+
+    private final String valor;
+
+    TipoContagem(String valor) {
+        this.valor = valor;
+    }
+
+    /**
+     * Converte o valor recebido na requisição para a estratégia correspondente.
+     *
+     * @param valor valor informado (exata, estimada ou nenhuma)
+     * @return estratégia de contagem
+     * @throws CampoInvalidoException se o valor não corresponder a nenhuma estratégia
+     */
+    public static TipoContagem de(String valor) {
+        return Arrays.stream(values())
+                .filter(tipo -> tipo.valor.equalsIgnoreCase(valor))
+                .findFirst()
+                .orElseThrow(() -> new CampoInvalidoException("contagem",
+                        "Valores aceitos: " + Arrays.stream(values())
+                                .map(tipo -> tipo.valor)
+                                .collect(Collectors.joining(", "))));
+    }
+}
@@ -31,6 +31,18 @@ public class UsuarioService {
         repository.save(usuario);
     }
 
+    /**
+     * Grava novamente a senha do usuário com o algoritmo e o custo atuais.
+     * Usado no login, quando a senha gravada foi criptografada com outros parâmetros.
+     *
+     * @param usuario usuário autenticado
+     * @param senha   senha em texto puro, já verificada
+     */
+    public void atualizarSenha(Usuario usuario, String senha) {
+        usuario.setSenha(encoder.encode(senha));
+        repository.save(usuario);
+    }
+
     /**
      * Busca um usuário pelo seu login.
      *
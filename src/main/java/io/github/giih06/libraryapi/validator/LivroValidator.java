@@ -3,39 +3,57 @@ package io.github.giih06.libraryapi.validator;
 import io.github.giih06.libraryapi.exceptions.CampoInvalidoException;
 import io.github.giih06.libraryapi.exceptions.RegistroDuplicadoException;
 import io.github.giih06.libraryapi.model.Livro;
-import io.github.giih06.libraryapi.repository.LivroRepository;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-import java.util.Optional;
+import java.util.Set;
 
 /**
  * Componente responsável pela validação da entidade Livro.
  * Garante integridade dos dados antes de persistir no banco de dados.
+ *
+ * A unicidade do ISBN é garantida pela restrição {@code uk_livro_isbn} do banco: a violação
+ * é convertida em {@link RegistroDuplicadoException} pelo GlobalExceptionHandler, sem uma
+ * consulta prévia a cada cadastro ou atualização.
  */
 @Component
-@RequiredArgsConstructor
 public class LivroValidator {
 
     // Ano a partir do qual o preço do livro se torna obrigatório
     private static final int ANO_EXIGE_PRECO = 2020;
 
-    // Repositório para acesso aos dados de livros
-    private final LivroRepository repository;
-
     /**
      * Realiza validações de negócio sobre a entidade Livro.
-     * Verifica duplicidade de ISBN e obrigatoriedade de preço.
+     * Verifica a obrigatoriedade de preço.
      *
      * @param livro livro a ser validado
-     * @throws RegistroDuplicadoException se o ISBN já estiver cadastrado
      * @throws CampoInvalidoException se o preço for obrigatório e estiver ausente
      */
     public void validar(Livro livro) {
-        if(existeLivroComIsbn(livro)) {
+        validarPreco(livro);
+    }
+
+    /**
+     * Valida um novo livro de um cadastro em lote.
+     *
+     * A duplicidade de ISBN é verificada no conjunto de ISBNs já cadastrados, consultado uma única vez
+     * para o lote inteiro. O ISBN do livro válido é adicionado ao conjunto, então repetições dentro
+     * do próprio lote também são rejeitadas.
+     *
+     * @param livro             livro a ser validado
+     * @param isbnsCadastrados  ISBNs já cadastrados ou aceitos anteriormente no lote
+     * @throws RegistroDuplicadoException se o ISBN já estiver cadastrado
+     * @throws CampoInvalidoException se o preço for obrigatório e estiver ausente
+     */
+    public void validarNovo(Livro livro, Set<String> isbnsCadastrados) {
+        if(isbnsCadastrados.contains(livro.getIsbn())) {
             throw new RegistroDuplicadoException("ISBN já cadastrado no banco de dados");
         }
 
+        validarPreco(livro);
+        isbnsCadastrados.add(livro.getIsbn());
+    }
+
+    private void validarPreco(Livro livro) {
         if(isPrecoObrigatorioAndNulo(livro)) {
             throw new CampoInvalidoException("preço", "Para livros com ano de publicação a partir de 2020, o preço é obrigatório!");
         }
@@ -52,29 +70,4 @@ public class LivroValidator {
         return livro.getPreco() == null                    // comparação correta
                 && livro.getDataPublicacao().getYear() >= ANO_EXIGE_PRECO;
     }
-
-    /**
-     * Verifica se já existe outro livro com o mesmo ISBN cadastrado.
-     * Considera dois cenários:
-     * - Inserção de novo livro: qualquer ISBN existente é duplicado.
-     * - Edição de livro existente: só é duplicado se for de outro livro (IDs diferentes).
-     *
-     * @param livro livro sendo validado
-     * @return true se o ISBN estiver duplicado
-     */
-    private boolean existeLivroComIsbn(Livro livro) {
-        Optional<Livro> livroEncontrado = repository.findByIsbn(livro.getIsbn());
-
-        // CENÁRIO 1: Inserção de novo livro (ID ainda não existe)
-        if (livro.getId() == null) {
-            return livroEncontrado.isPresent();
-        }
-
-        // CENÁRIO 2: Edição de livro existente
-        // Se encontrou outro livro e o ID é diferente, trata-se de duplicidade
-        return livroEncontrado
-                .map(Livro::getId)
-                .stream()
-                .anyMatch(id -> !id.equals(livro.getId()));
-    }
 }
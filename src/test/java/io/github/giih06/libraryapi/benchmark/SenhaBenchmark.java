@@ -0,0 +1,57 @@
+package io.github.giih06.libraryapi.benchmark;
+
+import io.github.giih06.libraryapi.securty.CodificadorSenhas;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verificações de senha por segundo em uma única thread, ou seja, logins por segundo por núcleo,
+ * para cada configuração de {@code libraryapi.seguranca.senhas} ({@code algoritmo:custo}).
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=SenhaBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(1)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+public class SenhaBenchmark {
+
+    @Param({"bcrypt:10", "bcrypt:11", "bcrypt:12", "pbkdf2:310000", "pbkdf2:600000"})
+    public String configuracao;
+
+    private PasswordEncoder encoder;
+    private String senhaCriptografada;
+
+    @Setup
+    public void setUp() {
+        String[] partes = configuracao.split(":");
+        int custo = Integer.parseInt(partes[1]);
+        encoder = partes[0].equals(CodificadorSenhas.BCRYPT)
+                ? CodificadorSenhas.criar(CodificadorSenhas.BCRYPT, custo, 310000)
+                : CodificadorSenhas.criar(partes[0], 10, custo);
+        senhaCriptografada = encoder.encode("senha-do-benchmark");
+    }
+
+    @Benchmark
+    public boolean login() {
+        return encoder.matches("senha-do-benchmark", senhaCriptografada);
+    }
+}
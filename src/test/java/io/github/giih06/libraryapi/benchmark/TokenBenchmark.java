@@ -0,0 +1,104 @@
+package io.github.giih06.libraryapi.benchmark;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.oauth2.server.authorization.config.annotation.web.configuration.OAuth2AuthorizationServerConfiguration;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emissões (assinatura) e verificações de access token por segundo em uma única thread, com os mesmos
+ * encoder e decoder da aplicação, para cada algoritmo de {@code libraryapi.seguranca.jwk.algoritmo}.
+ * O tamanho do token de cada algoritmo é exibido no início da execução.
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Dbenchmark=TokenBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(1)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+public class TokenBenchmark {
+
+    @Param({"RS256", "ES256"})
+    public String algoritmo;
+
+    private JwtEncoder encoder;
+    private JwtDecoder decoder;
+    private JwtEncoderParameters parametros;
+    private String token;
+
+    @Setup
+    public void setUp() throws Exception {
+        SignatureAlgorithm assinatura = SignatureAlgorithm.from(algoritmo);
+        JWK chave = assinatura == SignatureAlgorithm.ES256
+                ? new ECKeyGenerator(Curve.P_256).algorithm(JWSAlgorithm.ES256).keyID(UUID.randomUUID().toString()).generate()
+                : new RSAKeyGenerator(2048).algorithm(JWSAlgorithm.RS256).keyID(UUID.randomUUID().toString()).generate();
+        var jwkSource = new ImmutableJWKSet<>(new JWKSet(chave));
+
+        encoder = new NimbusJwtEncoder(jwkSource);
+        decoder = OAuth2AuthorizationServerConfiguration.jwtDecoder(jwkSource);
+
+        // claims de um access token de usuário (ver tokenCustomizer)
+        Instant agora = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .issuer("http://localhost:8080")
+                .subject("gerente")
+                .audience(List.of("client-production"))
+                .issuedAt(agora)
+                .notBefore(agora)
+                .expiresAt(agora.plus(Duration.ofHours(1)))
+                .id(UUID.randomUUID().toString())
+                .claim("scope", List.of("GERENTE"))
+                .claim("id_usuario", UUID.randomUUID().toString())
+                .claim("authorities", List.of("GERENTE"))
+                .claim("email", "gerente@gmail.com")
+                .build();
+        parametros = JwtEncoderParameters.from(JwsHeader.with(assinatura).keyId(chave.getKeyID()).build(), claims);
+        token = encoder.encode(parametros).getTokenValue();
+        System.out.println(algoritmo + ": token com " + token.length() + " caracteres");
+    }
+
+    @Benchmark
+    public Jwt emitir() {
+        return encoder.encode(parametros);
+    }
+
+    @Benchmark
+    public Jwt verificar() {
+        return decoder.decode(token);
+    }
+}
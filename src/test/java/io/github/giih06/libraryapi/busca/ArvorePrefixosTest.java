@@ -0,0 +1,100 @@
+package io.github.giih06.libraryapi.busca;
+
+import io.github.giih06.libraryapi.busca.ArvorePrefixos.Item;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArvorePrefixosTest {
+
+    ArvorePrefixos<Integer> arvore;
+
+    @BeforeEach
+    void setUp() {
+        arvore = new ArvorePrefixos<>(3);
+        arvore.definir(1, "O Pequeno Príncipe", 5);
+        arvore.definir(2, "O Príncipe Sapo", 8);
+        arvore.definir(3, "Orgulho e Preconceito", 2);
+        arvore.definir(4, "O Pequeno Polegar", 1);
+    }
+
+    static List<Integer> chaves(List<Item<Integer>> itens) {
+        return itens.stream().map(Item::chave).toList();
+    }
+
+    @Test
+    void sugerirSemAcentosPorPopularidadeTest() {
+        assertEquals(List.of(2, 1, 3), chaves(arvore.sugerir("o", 10)));
+        assertEquals(List.of(2, 1, 4), chaves(arvore.sugerir("O P", 10)));
+        assertEquals(List.of(1, 4), chaves(arvore.sugerir("o pequeno", 10)));
+        assertEquals(List.of(2), chaves(arvore.sugerir("o PRÍN", 10)));
+        assertEquals(List.of(2), chaves(arvore.sugerir("o p", 1)));
+        assertTrue(arvore.sugerir("x", 10).isEmpty());
+        assertTrue(arvore.sugerir("o pequenos", 10).isEmpty());
+        assertEquals(List.of(1, 4), chaves(arvore.sugerir("o, pequeno ", 10)));
+        assertTrue(arvore.sugerir("o pequ ", 10).isEmpty());
+    }
+
+    @Test
+    void alterarPopularidadeERemoverTest() {
+        arvore.somarPopularidade(4, 10);
+        assertEquals(List.of(4, 1), chaves(arvore.sugerir("o peq", 10)));
+
+        arvore.remover(4);
+        assertEquals(List.of(1), chaves(arvore.sugerir("o peq", 10)));
+        assertEquals(List.of(2, 1, 3), chaves(arvore.sugerir("", 10)));
+        assertNull(arvore.somarPopularidade(4, 1));
+
+        arvore.definir(1, "Dom Casmurro", 5);
+        assertEquals(List.of(1), chaves(arvore.sugerir("dom", 10)));
+        assertTrue(arvore.sugerir("o peq", 10).isEmpty());
+        assertEquals(3, arvore.tamanho());
+    }
+
+    @Test
+    void sugerirIgualABuscaSequencialTest() {
+        // compara a árvore com uma busca sequencial após inserções, alterações e remoções aleatórias
+        Random random = new Random(42);
+        ArvorePrefixos<Integer> aleatoria = new ArvorePrefixos<>(5);
+        Map<Integer, Item<Integer>> esperados = new HashMap<>();
+        String[] palavras = {"a", "ab", "abc", "abd", "b", "ba", "bab", "c"};
+
+        for (int i = 0; i < 3000; i++) {
+            int chave = random.nextInt(200);
+            int operacao = random.nextInt(4);
+            if (operacao == 0) {
+                aleatoria.remover(chave);
+                esperados.remove(chave);
+            } else if (operacao == 1 && esperados.containsKey(chave)) {
+                long variacao = random.nextInt(21) - 10;
+                Item<Integer> atual = esperados.get(chave);
+                assertEquals(atual.popularidade() + variacao, aleatoria.somarPopularidade(chave, variacao));
+                esperados.put(chave, new Item<>(chave, atual.texto(), atual.normalizado(), atual.popularidade() + variacao));
+            } else {
+                String texto = palavras[random.nextInt(palavras.length)] + " " + palavras[random.nextInt(palavras.length)];
+                long popularidade = random.nextInt(50);
+                aleatoria.definir(chave, texto, popularidade);
+                esperados.put(chave, new Item<>(chave, texto, texto, popularidade));
+            }
+
+            String texto = palavras[random.nextInt(palavras.length)] + " " + palavras[random.nextInt(palavras.length)];
+            String prefixo = texto.substring(0, random.nextInt(texto.length() + 1));
+            List<Long> popularidades = esperados.values().stream()
+                    .filter(item -> item.normalizado().startsWith(prefixo))
+                    .map(Item::popularidade)
+                    .sorted(Comparator.reverseOrder())
+                    .limit(5)
+                    .toList();
+            assertEquals(popularidades,
+                    aleatoria.sugerir(prefixo, 5).stream().map(Item::popularidade).toList());
+        }
+        assertEquals(esperados.size(), aleatoria.tamanho());
+    }
+}
@@ -0,0 +1,115 @@
+package io.github.giih06.libraryapi.busca;
+
+import io.github.giih06.libraryapi.model.GeneroLivro;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndiceInvertidoTest {
+
+    UUID autorMaria = UUID.randomUUID();
+    UUID autorJose = UUID.randomUUID();
+
+    DocumentoLivro principe = new DocumentoLivro(
+            UUID.randomUUID(), "978-85-220-0544-0", "O Pequeno Príncipe", autorMaria, "Maria Conceição",
+            GeneroLivro.FANTASIA, LocalDate.of(1943, 4, 6));
+    DocumentoLivro memorias = new DocumentoLivro(
+            UUID.randomUUID(), "978-85-359-0277-3", "Memórias Póstumas de Brás Cubas", autorJose, "José de Assunção",
+            GeneroLivro.FICCAO, LocalDate.of(1881, 1, 1));
+    DocumentoLivro principeSapo = new DocumentoLivro(
+            UUID.randomUUID(), "111-22-333-4444-5", "O Príncipe Sapo e o Príncipe Encantado", autorJose, "José de Assunção",
+            GeneroLivro.FANTASIA, LocalDate.of(2014, 5, 10));
+
+    IndiceInvertido indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceInvertido();
+        indice.indexar(principe);
+        indice.indexar(memorias);
+        indice.indexar(principeSapo);
+    }
+
+    @Test
+    void buscarSemAcentosTest() {
+        List<UUID> resultado = indice.buscar("pequeno principe", null, null, 10);
+        assertEquals(List.of(principe.id()), resultado);
+    }
+
+    @Test
+    void buscarComErroDeDigitacaoTest() {
+        // "memorias" com uma troca de letras vizinhas e "postumas" sem uma letra
+        assertEquals(List.of(memorias.id()), indice.buscar("memroias pstumas", null, null, 10));
+        assertEquals(List.of(memorias.id()), indice.buscar(null, "9788535902773", null, 10));
+        assertTrue(indice.buscar("memxxxas", null, null, 10).isEmpty());
+    }
+
+    @Test
+    void ordenarPorRelevanciaTest() {
+        // o livro com o termo repetido no título aparece primeiro
+        List<UUID> resultado = indice.buscar("principe", null, null, 10);
+        assertEquals(List.of(principeSapo.id(), principe.id()), resultado);
+    }
+
+    @Test
+    void buscarEmVariosCamposTest() {
+        List<UUID> resultado = indice.buscar("principe", null, "jose assuncao", 10);
+        assertEquals(List.of(principeSapo.id()), resultado);
+    }
+
+    @Test
+    void atualizarERemoverTest() {
+        indice.indexar(new DocumentoLivro(
+                principe.id(), principe.isbn(), "O Grande Príncipe", autorMaria, principe.nomeAutor(),
+                principe.genero(), principe.dataPublicacao()));
+        assertTrue(indice.buscar("pequeno", null, null, 10).isEmpty());
+        assertEquals(List.of(principe.id()), indice.buscar("grande", null, null, 10));
+
+        indice.atualizarAutor(autorJose, "Joaquim Machado");
+        assertEquals(2, indice.buscar(null, null, "machado", 10).size());
+        assertTrue(indice.buscar(null, null, "assuncao", 10).isEmpty());
+        assertEquals(1, indice.buscar(null, null, "machado",
+                documento -> documento.genero() == GeneroLivro.FICCAO, 10).total());
+
+        indice.remover(memorias.id());
+        assertEquals(List.of(principeSapo.id()), indice.buscar(null, null, "machado", 10));
+        assertEquals(2, indice.tamanho());
+    }
+
+    @Test
+    void filtrarAntesDoLimiteTest() {
+        // só o menos relevante atende ao filtro, e ainda assim é encontrado com limite 1
+        IndiceInvertido.Resultado resultado = indice.buscar(
+                "principe", null, null, documento -> documento.dataPublicacao().getYear() == 1943, 1);
+        assertEquals(List.of(principe.id()), resultado.ids());
+        assertEquals(1, resultado.total());
+    }
+
+    @Test
+    void totalSemLimiteTest() {
+        IndiceInvertido.Resultado resultado = indice.buscar(
+                "principe", null, null, documento -> documento.genero() == GeneroLivro.FANTASIA, 1);
+        assertEquals(List.of(principeSapo.id()), resultado.ids());
+        assertEquals(2, resultado.total());
+    }
+
+    @Test
+    void distanciaTest() {
+        assertEquals(0, IndiceInvertido.distancia("livro", "livro", 2));
+        assertEquals(1, IndiceInvertido.distancia("livro", "lviro", 2));
+        assertEquals(2, IndiceInvertido.distancia("livro", "lvr", 2));
+        assertEquals(3, IndiceInvertido.distancia("livro", "abcde", 2));
+    }
+
+    @Test
+    void nomeAutorTest() {
+        assertEquals(Optional.of("José de Assunção"), indice.nomeAutor(autorJose));
+        assertEquals(Optional.empty(), indice.nomeAutor(UUID.randomUUID()));
+    }
+}
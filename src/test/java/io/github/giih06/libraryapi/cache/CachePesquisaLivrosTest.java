@@ -0,0 +1,72 @@
+package io.github.giih06.libraryapi.cache;
+
+import io.github.giih06.libraryapi.cache.CachePesquisaLivros.ChavePesquisa;
+import io.github.giih06.libraryapi.model.GeneroLivro;
+import io.github.giih06.libraryapi.service.TipoBusca;
+import io.github.giih06.libraryapi.service.TipoContagem;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachePesquisaLivrosTest {
+
+    ChavePesquisa fantasia = chave(GeneroLivro.FANTASIA);
+    ChavePesquisa ficcao = chave(GeneroLivro.FICCAO);
+    ChavePesquisa todos = chave(null);
+
+    CachePesquisaLivros cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CachePesquisaLivros(true, 100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        for (ChavePesquisa chave : List.of(fantasia, ficcao, todos)) {
+            cache.guardar(chave, List.of(UUID.randomUUID()), 1L, false, cache.geracaoAtual(chave));
+        }
+    }
+
+    static ChavePesquisa chave(GeneroLivro genero) {
+        return new ChavePesquisa(null, null, null, genero, null, 0, 10, TipoContagem.EXATA, TipoBusca.PADRAO);
+    }
+
+    @Test
+    void alteracaoDePrecoNaoInvalidaTest() {
+        cache.invalidar(new InvalidacaoCacheEvent(Set.of(ChavesSubstitutas.livro(UUID.randomUUID()))));
+
+        assertTrue(cache.buscar(fantasia).isPresent());
+        assertTrue(cache.buscar(todos).isPresent());
+    }
+
+    @Test
+    void cadastroInvalidaGeneroEPesquisasSemGeneroTest() {
+        cache.invalidar(new InvalidacaoCacheEvent(ChavesSubstitutas.pesquisasLivrosAfetadas(GeneroLivro.FANTASIA)));
+
+        assertTrue(cache.buscar(fantasia).isEmpty());
+        assertTrue(cache.buscar(todos).isEmpty());
+        assertTrue(cache.buscar(ficcao).isPresent());
+    }
+
+    @Test
+    void alteracaoGeralInvalidaTodasTest() {
+        cache.invalidar(new InvalidacaoCacheEvent(Set.of(ChavesSubstitutas.PESQUISA_LIVROS)));
+
+        assertTrue(cache.buscar(fantasia).isEmpty());
+        assertTrue(cache.buscar(ficcao).isEmpty());
+        assertTrue(cache.buscar(todos).isEmpty());
+    }
+
+    @Test
+    void descartarResultadoDeGeracaoAnteriorTest() {
+        long geracao = cache.geracaoAtual(ficcao);
+        cache.invalidar(new InvalidacaoCacheEvent(ChavesSubstitutas.pesquisasLivrosAfetadas(GeneroLivro.FICCAO)));
+
+        cache.guardar(ficcao, List.of(UUID.randomUUID()), 1L, false, geracao);
+        assertTrue(cache.buscar(ficcao).isEmpty());
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.giih06.libraryapi.cache;
+
+import io.github.giih06.libraryapi.model.GeneroLivro;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheRespostasTest {
+
+    UUID idLivro = UUID.randomUUID();
+    UUID idAutor = UUID.randomUUID();
+
+    CacheRespostas cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CacheRespostas(true, DataSize.ofMegabytes(1), Duration.ofMinutes(1), new SimpleMeterRegistry());
+    }
+
+    RespostaCacheada resposta(String... chavesSubstitutas) {
+        return new RespostaCacheada(new byte[10], "application/json", "\"0\"", Set.of(chavesSubstitutas));
+    }
+
+    @Test
+    void chaveNormalizadaTest() {
+        var primeira = new MockHttpServletRequest("GET", "/livros");
+        primeira.addParameter("titulo", "principe");
+        primeira.addParameter("genero", "FANTASIA");
+        var segunda = new MockHttpServletRequest("GET", "/livros");
+        segunda.addParameter("genero", "FANTASIA");
+        segunda.addParameter("titulo", "principe");
+
+        var gerente = new TestingAuthenticationToken("a", null, "GERENTE");
+        var operador = new TestingAuthenticationToken("b", null, "OPERADOR");
+
+        assertEquals(cache.gerarChave(primeira, gerente), cache.gerarChave(segunda, new TestingAuthenticationToken("c", null, "GERENTE")));
+        assertNotEquals(cache.gerarChave(primeira, gerente), cache.gerarChave(primeira, operador));
+    }
+
+    @Test
+    void invalidarPorChaveSubstitutaTest() {
+        cache.guardar("detalhe", resposta(ChavesSubstitutas.livro(idLivro), ChavesSubstitutas.autor(idAutor)), cache.geracaoAtual());
+        cache.guardar("fantasia", resposta(ChavesSubstitutas.pesquisaLivrosPorGenero(GeneroLivro.FANTASIA)), cache.geracaoAtual());
+        cache.guardar("autores", resposta(ChavesSubstitutas.PESQUISA_AUTORES), cache.geracaoAtual());
+
+        cache.invalidar(new InvalidacaoCacheEvent(Set.of(ChavesSubstitutas.livro(idLivro))));
+        assertNull(cache.buscar("detalhe"));
+        assertNotNull(cache.buscar("fantasia"));
+
+        cache.invalidar(new InvalidacaoCacheEvent(ChavesSubstitutas.pesquisasLivrosAfetadas(GeneroLivro.FICCAO)));
+        assertNotNull(cache.buscar("fantasia"));
+
+        cache.invalidar(new InvalidacaoCacheEvent(ChavesSubstitutas.pesquisasLivrosAfetadas(GeneroLivro.FANTASIA)));
+        assertNull(cache.buscar("fantasia"));
+        assertNotNull(cache.buscar("autores"));
+    }
+
+    @Test
+    void descartarRespostaMontadaAntesDaInvalidacaoTest() {
+        long geracao = cache.geracaoAtual();
+        cache.invalidar(new InvalidacaoCacheEvent(Set.of(ChavesSubstitutas.livro(idLivro))));
+
+        cache.guardar("detalhe", resposta(ChavesSubstitutas.livro(idLivro)), geracao);
+        assertNull(cache.buscar("detalhe"));
+    }
+}
@@ -1,11 +1,16 @@
 package io.github.giih06.libraryapi.repository;
 
+import io.github.giih06.libraryapi.exceptions.CampoInvalidoException;
 import io.github.giih06.libraryapi.model.Autor;
 import io.github.giih06.libraryapi.model.GeneroLivro;
 import io.github.giih06.libraryapi.model.Livro;
+import io.github.giih06.libraryapi.repository.specs.AutorSpecs;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -14,6 +19,8 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.*;
+
 @SpringBootTest
 public class AutorRepositoryTest {
 
@@ -23,10 +30,16 @@ public class AutorRepositoryTest {
     @Autowired
     LivroRepository livroRepository;
 
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    // ISBN e nome do autor são únicos no banco, então cada execução cadastra valores diferentes
+    static final String SUFIXO = String.valueOf(System.currentTimeMillis() % 100000);
+
     @Test
     public void salvarTest(){
         Autor autor = new Autor();
-        autor.setNome("Maria");
+        autor.setNome("Maria " + SUFIXO);
         autor.setNacionalidade("Italiana");
         autor.setDataNascimento(LocalDate.of(1950, 1, 31));
 
@@ -77,13 +90,13 @@ public class AutorRepositoryTest {
     @Test
     void salvarAutorComLivrosTest(){
         Autor autor = new Autor();
-        autor.setNome("Giulianna");
+        autor.setNome("Giulianna " + SUFIXO);
         autor.setNacionalidade("Mexicana");
         autor.setDataNascimento(LocalDate.of(1930, 1, 11));
 
         Livro livro = new Livro();
         livro.setTitulo("A Branca de Neve");
-        livro.setIsbn("32234-12222");
+        livro.setIsbn("32234-1" + SUFIXO);
         livro.setPreco(BigDecimal.valueOf(25));
         livro.setGenero(GeneroLivro.FANTASIA);
         livro.setDataPublicacao(LocalDate.of(2003, 6, 21));
@@ -92,7 +105,7 @@ public class AutorRepositoryTest {
 
         Livro livro2 = new Livro();
         livro2.setTitulo("Fadas encantadas 2");
-        livro2.setIsbn("32234-53322");
+        livro2.setIsbn("32234-5" + SUFIXO);
         livro2.setPreco(BigDecimal.valueOf(127));
         livro2.setGenero(GeneroLivro.MISTERIO);
         livro2.setDataPublicacao(LocalDate.of(2009, 8, 19));
@@ -117,4 +130,55 @@ public class AutorRepositoryTest {
 
         autor.getLivros().forEach(System.out::println);
     }
+
+    @Test
+    void pesquisaSemAcentoTest() {
+        Autor autor = new Autor();
+        autor.setNome("José Antônio " + SUFIXO);
+        autor.setNacionalidade("Brasileira");
+        autor.setDataNascimento(LocalDate.of(1940, 3, 12));
+        autorRepository.save(autor);
+
+        var specs = AutorSpecs.nomeContem("jose antonio " + SUFIXO).and(AutorSpecs.nacionalidadeContem("BRASIL"));
+        var resultado = autorRepository.findAll(specs, PageRequest.of(0, 10, Sort.by("nome", "id")));
+        assertTrue(resultado.stream().anyMatch(a -> a.getId().equals(autor.getId())));
+
+        // curingas do LIKE digitados pelo usuário são comparados literalmente
+        assertEquals(0, autorRepository.count(AutorSpecs.nomeContem("%")));
+
+        var primeira = autorRepository.findBy(AutorSpecs.nomeContem(SUFIXO), q -> q.sortBy(Sort.by("nome", "id")).limit(1).first());
+        var seguintes = autorRepository.findAll(
+                AutorSpecs.nomeContem(SUFIXO).and(AutorSpecs.aposCursor(primeira.get().getNome(), primeira.get().getId())));
+        assertTrue(seguintes.stream().noneMatch(a -> a.getId().equals(primeira.get().getId())));
+    }
+
+    @Test
+    void quantidadeLivrosTest() {
+        Autor autor = new Autor();
+        autor.setNome("Clarice " + SUFIXO);
+        autor.setNacionalidade("Brasileira");
+        autor.setDataNascimento(LocalDate.of(1920, 12, 10));
+        autorRepository.save(autor);
+        Autor lido = autorRepository.findById(autor.getId()).get();
+
+        transactionTemplate.executeWithoutResult(status -> autorRepository.ajustarQuantidadeLivros(autor.getId(), 2));
+
+        // o ajuste não altera a versão (ETag) do autor e não fica desatualizado no cache de segundo nível
+        Autor ajustado = autorRepository.findById(autor.getId()).get();
+        assertEquals(2, ajustado.getQuantidadeLivros());
+        assertEquals(lido.getVersao(), ajustado.getVersao());
+
+        // gravar o autor lido antes do ajuste não é rejeitado nem sobrescreve o contador
+        lido.setNacionalidade("Brasileira naturalizada");
+        autorRepository.save(lido);
+        assertEquals(2, autorRepository.findById(autor.getId()).get().getQuantidadeLivros());
+
+        assertThrows(CampoInvalidoException.class, () -> transactionTemplate.executeWithoutResult(
+                status -> autorRepository.ajustarQuantidadeLivros(UUID.randomUUID(), 1)));
+
+        // o autor não tem livros de fato: a reconciliação corrige o contador
+        assertTrue(autorRepository.listarQuantidadeLivrosDivergente().contains(autor.getId()));
+        transactionTemplate.executeWithoutResult(status -> autorRepository.reconciliarQuantidadeLivros());
+        assertEquals(0, autorRepository.findById(autor.getId()).get().getQuantidadeLivros());
+    }
 }
@@ -1,19 +1,39 @@
 package io.github.giih06.libraryapi.repository;
 
+import io.github.giih06.libraryapi.busca.DocumentoLivro;
 import io.github.giih06.libraryapi.model.Autor;
 import io.github.giih06.libraryapi.model.GeneroLivro;
 import io.github.giih06.libraryapi.model.Livro;
+import io.github.giih06.libraryapi.repository.projection.ContagemFacetas;
+import io.github.giih06.libraryapi.repository.projection.EstatisticaLivros;
+import io.github.giih06.libraryapi.repository.specs.LivroSpecs;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.text.Normalizer;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 @SpringBootTest
 class LivroRepositoryTest {
 
@@ -23,11 +43,30 @@ class LivroRepositoryTest {
     @Autowired
     AutorRepository autorRepository;
 
+    @Autowired
+    EstatisticasLivrosRepository estatisticasRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    // ISBN e nome do autor são únicos no banco, então cada execução cadastra valores diferentes
+    static final String SUFIXO = String.valueOf(System.currentTimeMillis() % 100000);
+
+    static String semAcentos(String texto) {
+        return Normalizer.normalize(texto, Normalizer.Form.NFD).replaceAll("\\p{M}", "").toLowerCase();
+    }
+
     @Test
     void salvarTest() {
         Livro livro = new Livro();
         livro.setTitulo("Mundo das Fadas");
-        livro.setIsbn("93434-12144");
+        livro.setIsbn("93434-" + SUFIXO);
         livro.setPreco(BigDecimal.valueOf(19));
         livro.setGenero(GeneroLivro.FANTASIA);
         livro.setDataPublicacao(LocalDate.of(2014, 3, 22));
@@ -68,7 +107,7 @@ class LivroRepositoryTest {
     void salvarAutorELivroTest() {
         Livro livro = new Livro();
         livro.setTitulo("O pequeno Príncipe");
-        livro.setIsbn("32234-12144");
+        livro.setIsbn("32234-" + SUFIXO);
         livro.setPreco(BigDecimal.valueOf(69));
         livro.setGenero(GeneroLivro.MISTERIO);
         livro.setDataPublicacao(LocalDate.of(2010, 6, 21));
@@ -76,7 +115,7 @@ class LivroRepositoryTest {
         // Criando um autor sem cascade
 
         Autor autor = new Autor();
-        autor.setNome("Joanna");
+        autor.setNome("Joanna " + SUFIXO);
         autor.setNacionalidade("Brasileira");
         autor.setDataNascimento(LocalDate.of(1991, 12, 27));
 
@@ -187,4 +226,194 @@ class LivroRepositoryTest {
     void updateDataPublicacaoTest() {
         livroRepository.updateDataPublicacao(LocalDate.of(2000,1,1));
     }
-}
\ No newline at end of file
+
+    @Test
+    void estimarQuantidadeLivrosTest() {
+        // sem ANALYZE a tabela pode não ter estatísticas (reltuples = -1)
+        jdbcTemplate.execute("ANALYZE livro");
+
+        Long quantidade = livroRepository.estimarQuantidadeLivros();
+        assertTrue(quantidade >= 0);
+
+        Double fracao = livroRepository.estimarFracaoGenero(GeneroLivro.FANTASIA.name());
+        assertNotNull(fracao);
+        assertTrue(fracao >= 0 && fracao <= 1);
+    }
+
+    @Test
+    void pesquisaTextualTest() {
+        var specs = LivroSpecs.tituloTextual("principe")
+                .and(LivroSpecs.nomeAutorTextual("joana"))
+                .and(LivroSpecs.ordenarPorRelevancia("principe", "joana"));
+        var resultado = livroRepository.findAll(specs, PageRequest.of(0, 10));
+
+        assertFalse(resultado.isEmpty());
+        assertTrue(semAcentos(resultado.getContent().get(0).getTitulo()).contains("principe"));
+    }
+
+    @Test
+    @Transactional
+    void documentosIndiceTrazemGeneroEDataTest() {
+        Livro livro = livroRepository.findAll().get(0);
+
+        DocumentoLivro documento;
+        try (var documentos = livroRepository.listarDocumentosIndice()) {
+            documento = documentos.filter(d -> d.id().equals(livro.getId())).findFirst().orElseThrow();
+        }
+
+        assertEquals(livro.getGenero(), documento.genero());
+        assertEquals(livro.getDataPublicacao(), documento.dataPublicacao());
+        assertEquals(livro.getAutor().getNome(), documento.nomeAutor());
+    }
+
+    @Test
+    @Transactional
+    void resumosTrazemDadosDoAutorTest() {
+        var resumos = livroRepository.listarResumos(LivroSpecs.tituloLike(""), Sort.by("titulo", "id"), 0, 10);
+        assertFalse(resumos.isEmpty());
+
+        resumos.forEach(resumo -> {
+            Livro livro = livroRepository.findById(resumo.id()).orElseThrow();
+            assertEquals(livro.getAutor().getId(), resumo.idAutor());
+            assertEquals(livro.getAutor().getNome(), resumo.nomeAutor());
+            assertEquals(livro.getVersao(), resumo.versao());
+            assertEquals(livro.getAutor().getVersao(), resumo.versaoAutor());
+        });
+    }
+
+    @Test
+    void listarResumosTest() {
+        var padrao = livroRepository.listarResumos(
+                LivroSpecs.tituloLike("pequeno").and(LivroSpecs.nomeAutorLike("mar")), Sort.by("titulo", "id"), 0, 5);
+        assertFalse(padrao.isEmpty());
+        assertTrue(padrao.size() <= 5);
+        padrao.forEach(resumo -> {
+            assertTrue(resumo.titulo().toUpperCase().contains("PEQUENO"));
+            assertTrue(resumo.nomeAutor().toUpperCase().contains("MAR"));
+        });
+        for (int i = 1; i < padrao.size(); i++) {
+            assertTrue(padrao.get(i - 1).titulo().compareTo(padrao.get(i).titulo()) <= 0);
+        }
+
+        var textual = LivroSpecs.tituloTextual("principe")
+                .and(LivroSpecs.nomeAutorTextual("joana"))
+                .and(LivroSpecs.ordenarPorRelevancia("principe", "joana"));
+        var resultado = livroRepository.listarResumos(textual, Sort.unsorted(), 0, 5);
+        assertFalse(resultado.isEmpty());
+        assertEquals(Math.min(5, livroRepository.count(textual)), resultado.size());
+        assertTrue(semAcentos(resultado.get(0).titulo()).contains("principe"));
+    }
+
+    @Test
+    @Transactional(readOnly = true)
+    void percorrerResumosTest() {
+        var specs = LivroSpecs.generoEqual(GeneroLivro.FICCAO);
+        try (var livros = livroRepository.percorrerResumos(specs, 2)) {
+            assertEquals(livroRepository.count(specs), livros.count());
+        }
+    }
+
+    @Test
+    void listarIsbnsCadastradosTest() {
+        var isbns = livroRepository.findAll(PageRequest.of(0, 3)).map(Livro::getIsbn).toList();
+        var cadastrados = livroRepository.listarIsbnsCadastrados(
+                List.of(isbns.get(0), isbns.get(1), isbns.get(2), "000-0000000000"));
+        assertTrue(cadastrados.containsAll(isbns) && !cadastrados.contains("000-0000000000"));
+    }
+
+    @Test
+    void isbnDuplicadoTest() {
+        Livro existente = livroRepository.findAll(PageRequest.of(0, 1)).getContent().get(0);
+
+        Livro livro = new Livro();
+        livro.setTitulo("ISBN repetido");
+        livro.setIsbn(existente.getIsbn());
+        livro.setGenero(GeneroLivro.FICCAO);
+        livro.setDataPublicacao(LocalDate.of(2014, 3, 22));
+        livro.setAutor(autorRepository.findAll(PageRequest.of(0, 1)).getContent().get(0));
+
+        var erro = assertThrows(DataIntegrityViolationException.class, () -> livroRepository.save(livro));
+        assertTrue(erro.getMessage().contains("uk_livro_isbn"));
+    }
+
+    @Test
+    void versaoDesatualizadaTest() {
+        UUID id = livroRepository.findAll(PageRequest.of(0, 1)).getContent().get(0).getId();
+        Livro primeiraLeitura = livroRepository.findById(id).orElseThrow();
+        Livro segundaLeitura = livroRepository.findById(id).orElseThrow();
+
+        // o preço precisa mudar para que o primeiro save gere um UPDATE e incremente a versão
+        BigDecimal preco = primeiraLeitura.getPreco() == null ? BigDecimal.ZERO : primeiraLeitura.getPreco();
+        primeiraLeitura.setPreco(preco.add(BigDecimal.ONE));
+        livroRepository.save(primeiraLeitura);
+
+        segundaLeitura.setPreco(preco.add(BigDecimal.TEN));
+        assertThrows(OptimisticLockingFailureException.class, () -> livroRepository.save(segundaLeitura));
+    }
+
+    @Test
+    void cacheSegundoNivelTest() {
+        UUID id = livroRepository.findAll(PageRequest.of(0, 1)).getContent().get(0).getId();
+        livroRepository.findById(id);
+
+        var regiao = entityManagerFactory.unwrap(SessionFactory.class).getStatistics()
+                .getDomainDataRegionStatistics("livro");
+        long acertos = regiao.getHitCount();
+        livroRepository.findById(id);
+        assertEquals(acertos + 1, regiao.getHitCount());
+    }
+
+    @Test
+    void updateEmMassaInvalidaCacheTest() {
+        UUID id = livroRepository.findAll(PageRequest.of(0, 1)).getContent().get(0).getId();
+        livroRepository.findById(id);
+        assertTrue(entityManagerFactory.getCache().contains(Livro.class, id));
+
+        // o UPDATE em massa é desfeito, mas a região do cache é invalidada ao fim da transação
+        transactionTemplate.executeWithoutResult(status -> {
+            livroRepository.updateDataPublicacao(LocalDate.of(2000, 1, 1));
+            status.setRollbackOnly();
+        });
+        assertFalse(entityManagerFactory.getCache().contains(Livro.class, id));
+    }
+
+    @Test
+    void estatisticasTest() {
+        UUID id = livroRepository.findAll(PageRequest.of(0, 1)).getContent().get(0).getId();
+        livroRepository.findById(id);
+        assertTrue(entityManagerFactory.getCache().contains(Livro.class, id));
+
+        transactionTemplate.executeWithoutResult(status -> estatisticasRepository.atualizar());
+
+        // a atualização das views não invalida o cache de segundo nível das entidades
+        assertTrue(entityManagerFactory.getCache().contains(Livro.class, id));
+
+        List<EstatisticaLivros> porGenero = estatisticasRepository.listarPorGenero();
+        assertEquals(livroRepository.count(), porGenero.stream().mapToLong(EstatisticaLivros::quantidade).sum());
+        porGenero.forEach(e -> {
+            // grupos em que nenhum livro tem preço não têm agregados de preço
+            if (e.precoMinimo() == null) {
+                assertNull(e.precoMedio());
+                assertNull(e.precoMaximo());
+            } else {
+                assertTrue(e.precoMinimo().compareTo(e.precoMedio()) <= 0);
+                assertTrue(e.precoMedio().compareTo(e.precoMaximo()) <= 0);
+            }
+        });
+    }
+
+    @Test
+    void contarFacetasTest() {
+        var ficcao = LivroSpecs.generoEqual(GeneroLivro.FICCAO);
+        List<ContagemFacetas> contagens = livroRepository.contarFacetas(ficcao);
+
+        assertTrue(contagens.stream().allMatch(c -> c.genero() == GeneroLivro.FICCAO));
+        assertEquals(livroRepository.count(ficcao), contagens.stream().mapToLong(ContagemFacetas::quantidade).sum());
+
+        // a ordenação por relevância da busca textual é ignorada na consulta agrupada
+        var textual = LivroSpecs.tituloTextual("principe")
+                .and(LivroSpecs.ordenarPorRelevancia("principe", null));
+        assertEquals(livroRepository.count(textual),
+                livroRepository.contarFacetas(textual).stream().mapToLong(ContagemFacetas::quantidade).sum());
+    }
+}
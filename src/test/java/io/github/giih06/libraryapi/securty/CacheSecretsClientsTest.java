@@ -0,0 +1,65 @@
+package io.github.giih06.libraryapi.securty;
+
+import io.github.giih06.libraryapi.service.ClientAlteradoEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheSecretsClientsTest {
+
+    int verificacoes;
+    PasswordEncoder encoder;
+    CacheSecretsClients cache;
+    String secretCriptografado;
+
+    @BeforeEach
+    void setUp() {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+        secretCriptografado = bcrypt.encode("secret");
+        cache = new CacheSecretsClients(new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return bcrypt.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                verificacoes++;
+                return bcrypt.matches(rawPassword, encodedPassword);
+            }
+        }, 100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        encoder = cache.getPasswordEncoder();
+    }
+
+    @Test
+    void secretCorretoVerificadoUmaVezTest() {
+        assertTrue(encoder.matches("secret", secretCriptografado));
+        assertTrue(encoder.matches("secret", secretCriptografado));
+        assertEquals(1, verificacoes);
+
+        // outro secret criptografado (ex.: secret alterado) não aproveita a verificação anterior
+        assertTrue(encoder.matches("secret", new BCryptPasswordEncoder(4).encode("secret")));
+        assertEquals(2, verificacoes);
+    }
+
+    @Test
+    void secretErradoSempreVerificadoTest() {
+        assertFalse(encoder.matches("errado", secretCriptografado));
+        assertFalse(encoder.matches("errado", secretCriptografado));
+        assertEquals(2, verificacoes);
+    }
+
+    @Test
+    void clientAlteradoDescartaVerificacoesTest() {
+        assertTrue(encoder.matches("secret", secretCriptografado));
+        cache.clientAlterado(new ClientAlteradoEvent("client"));
+        assertTrue(encoder.matches("secret", secretCriptografado));
+        assertEquals(2, verificacoes);
+    }
+}
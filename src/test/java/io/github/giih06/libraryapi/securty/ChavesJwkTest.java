@@ -0,0 +1,89 @@
+package io.github.giih06.libraryapi.securty;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChavesJwkTest {
+
+    @TempDir
+    Path diretorio;
+
+    static List<String> ids(ChavesJwk chavesJwk) {
+        return chavesJwk.get(new JWKSelector(new JWKMatcher.Builder().build()), null)
+                .stream()
+                .map(JWK::getKeyID)
+                .toList();
+    }
+
+    static ChavesJwk criar(Path arquivo, Duration atrasoAtivacao, Duration retencao) {
+        return new ChavesJwk(arquivo, Duration.ofDays(30), atrasoAtivacao, retencao, "RS256");
+    }
+
+    @Test
+    void instanciasCompartilhamChavesDoArquivoTest() {
+        Path arquivo = diretorio.resolve("jwks.json");
+        ChavesJwk primeira = criar(arquivo, Duration.ofMinutes(5), Duration.ofHours(2));
+        ChavesJwk segunda = criar(arquivo, Duration.ofMinutes(5), Duration.ofHours(2));
+
+        assertTrue(Files.exists(arquivo));
+        assertEquals(1, ids(primeira).size());
+        assertEquals(ids(primeira), ids(segunda));
+        assertEquals(primeira.getIdChaveAtiva(), segunda.getIdChaveAtiva());
+    }
+
+    @Test
+    void rotacaoAtivaNovaChaveERemoveAntigaTest() throws Exception {
+        Path arquivo = diretorio.resolve("jwks.json");
+        JWK antiga = new RSAKeyGenerator(2048)
+                .keyID("antiga")
+                .issueTime(Date.from(Instant.now().minus(Duration.ofDays(31))))
+                .generate();
+        Files.writeString(arquivo, new JWKSet(antiga).toString(false));
+
+        // a nova chave é criada, mas só assina após o atraso de ativação
+        ChavesJwk chavesJwk = criar(arquivo, Duration.ofMinutes(5), Duration.ofHours(2));
+        assertEquals(2, ids(chavesJwk).size());
+        assertEquals("antiga", chavesJwk.getIdChaveAtiva());
+
+        // sem atraso, a nova chave assina e a antiga continua verificando durante a retenção
+        chavesJwk = criar(arquivo, Duration.ZERO, Duration.ofHours(2));
+        assertNotEquals("antiga", chavesJwk.getIdChaveAtiva());
+        assertTrue(ids(chavesJwk).contains("antiga"));
+
+        // após a retenção, a antiga é removida do arquivo
+        chavesJwk = criar(arquivo, Duration.ZERO, Duration.ZERO);
+        assertEquals(List.of(chavesJwk.getIdChaveAtiva()), ids(chavesJwk));
+        assertEquals(1, JWKSet.load(arquivo.toFile()).size());
+    }
+
+    @Test
+    void trocaDeAlgoritmoCriaChaveECTest() {
+        Path arquivo = diretorio.resolve("jwks.json");
+        ChavesJwk rsa = criar(arquivo, Duration.ZERO, Duration.ofHours(2));
+        assertEquals(SignatureAlgorithm.RS256, rsa.getAlgoritmoChaveAtiva());
+
+        ChavesJwk ec = new ChavesJwk(arquivo, Duration.ofDays(30), Duration.ZERO, Duration.ofHours(2), "ES256");
+        assertEquals(SignatureAlgorithm.ES256, ec.getAlgoritmoChaveAtiva());
+        // a chave RSA continua verificando os tokens já emitidos
+        assertEquals(2, ids(ec).size());
+        assertTrue(ids(ec).contains(rsa.getIdChaveAtiva()));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new ChavesJwk(arquivo, Duration.ofDays(30), Duration.ZERO, Duration.ofHours(2), "HS256"));
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.giih06.libraryapi.securty;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CodificadorSenhasTest {
+
+    PasswordEncoder bcrypt5 = CodificadorSenhas.criar(CodificadorSenhas.BCRYPT, 5, 1000);
+
+    @Test
+    void senhaSemPrefixoVerificadaERefeitaTest() {
+        // senhas gravadas antes da configuração: BCrypt sem prefixo, de outro custo
+        String antiga = new BCryptPasswordEncoder(6).encode("senha");
+
+        assertTrue(bcrypt5.matches("senha", antiga));
+        assertFalse(bcrypt5.matches("errada", antiga));
+        assertTrue(bcrypt5.upgradeEncoding(antiga));
+    }
+
+    @Test
+    void refazSenhaComOutroCustoOuAlgoritmoTest() {
+        String atual = bcrypt5.encode("senha");
+        assertTrue(atual.startsWith("{bcrypt}$2a$05$"));
+        assertFalse(bcrypt5.upgradeEncoding(atual));
+
+        // custo maior ou menor que o configurado
+        assertTrue(CodificadorSenhas.criar(CodificadorSenhas.BCRYPT, 4, 1000).upgradeEncoding(atual));
+        assertTrue(CodificadorSenhas.criar(CodificadorSenhas.BCRYPT, 6, 1000).upgradeEncoding(atual));
+
+        PasswordEncoder pbkdf2 = CodificadorSenhas.criar(CodificadorSenhas.PBKDF2, 5, 1000);
+        assertTrue(pbkdf2.matches("senha", atual));
+        assertTrue(pbkdf2.upgradeEncoding(atual));
+        assertTrue(pbkdf2.encode("senha").startsWith("{pbkdf2@1000}"));
+        assertTrue(bcrypt5.matches("senha", pbkdf2.encode("senha")));
+    }
+
+    @Test
+    void pbkdf2ComIteracoesAnterioresTest() {
+        String antiga = CodificadorSenhas.criar(CodificadorSenhas.PBKDF2, 5, 1000).encode("senha");
+        assertFalse(CodificadorSenhas.criar(CodificadorSenhas.PBKDF2, 5, 1000).upgradeEncoding(antiga));
+
+        // sem as iterações anteriores, a senha não pode ser verificada
+        assertFalse(CodificadorSenhas.criar(CodificadorSenhas.PBKDF2, 5, 2000).matches("senha", antiga));
+
+        PasswordEncoder pbkdf2 = CodificadorSenhas.criar(CodificadorSenhas.PBKDF2, 5, 2000, 1000);
+        assertTrue(pbkdf2.matches("senha", antiga));
+        assertFalse(pbkdf2.matches("errada", antiga));
+        assertTrue(pbkdf2.upgradeEncoding(antiga));
+
+        String refeita = pbkdf2.encode("senha");
+        assertTrue(refeita.startsWith("{pbkdf2@2000}"));
+        assertFalse(pbkdf2.upgradeEncoding(refeita));
+    }
+
+    @Test
+    void pbkdf2SemIteracoesNoPrefixoTest() {
+        // gravada antes de as iterações fazerem parte do prefixo
+        String antiga = "{pbkdf2}" + new Pbkdf2PasswordEncoder("", 16, 1000,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256).encode("senha");
+
+        PasswordEncoder pbkdf2 = CodificadorSenhas.criar(CodificadorSenhas.PBKDF2, 5, 2000, 1000);
+        assertTrue(pbkdf2.matches("senha", antiga));
+        assertFalse(pbkdf2.matches("errada", antiga));
+        assertTrue(pbkdf2.upgradeEncoding(antiga));
+    }
+
+    @Test
+    void algoritmoNaoSuportadoTest() {
+        assertThrows(IllegalArgumentException.class, () -> CodificadorSenhas.criar("md5", 10, 1000));
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.giih06.libraryapi.service;
+
+import io.github.giih06.libraryapi.exceptions.OperacaoNaoPermitidaException;
+import io.github.giih06.libraryapi.model.Autor;
+import io.github.giih06.libraryapi.model.GeneroLivro;
+import io.github.giih06.libraryapi.model.Livro;
+import io.github.giih06.libraryapi.repository.AutorRepository;
+import io.github.giih06.libraryapi.repository.LivroRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class AutorServiceTest {
+
+    @Autowired
+    AutorService autorService;
+
+    @Autowired
+    AutorRepository autorRepository;
+
+    @Autowired
+    LivroRepository livroRepository;
+
+    // ISBN e nome do autor são únicos no banco, então cada execução cadastra valores diferentes
+    static final String SUFIXO = String.valueOf(System.currentTimeMillis() % 100000);
+
+    @Test
+    void deletarAutorComContadorDesatualizadoTest() {
+        Autor autor = new Autor();
+        autor.setNome("Cecília " + SUFIXO);
+        autor.setNacionalidade("Brasileira");
+        autor.setDataNascimento(LocalDate.of(1901, 11, 7));
+        autorRepository.save(autor);
+
+        // livro gravado sem passar pelo LivroService: o contador do autor continua zero
+        Livro livro = new Livro();
+        livro.setTitulo("Ou isto ou aquilo");
+        livro.setIsbn("77777-" + SUFIXO);
+        livro.setGenero(GeneroLivro.FICCAO);
+        livro.setDataPublicacao(LocalDate.of(1964, 1, 1));
+        livro.setAutor(autor);
+        livroRepository.save(livro);
+
+        Autor carregado = autorRepository.findById(autor.getId()).orElseThrow();
+        assertEquals(0, carregado.getQuantidadeLivros());
+        assertThrows(OperacaoNaoPermitidaException.class, () -> autorService.deletar(carregado));
+        assertTrue(autorRepository.existsById(autor.getId()));
+
+        livroRepository.delete(livro);
+        autorService.deletar(autorRepository.findById(autor.getId()).orElseThrow());
+        assertFalse(autorRepository.existsById(autor.getId()));
+    }
+}
@@ -0,0 +1,155 @@
+package io.github.giih06.libraryapi.service;
+
+import io.github.giih06.libraryapi.cache.CacheRespostas;
+import io.github.giih06.libraryapi.cache.ChavesSubstitutas;
+import io.github.giih06.libraryapi.cache.RespostaCacheada;
+import io.github.giih06.libraryapi.exceptions.CampoInvalidoException;
+import io.github.giih06.libraryapi.model.Autor;
+import io.github.giih06.libraryapi.model.GeneroLivro;
+import io.github.giih06.libraryapi.model.Livro;
+import io.github.giih06.libraryapi.repository.AutorRepository;
+import io.github.giih06.libraryapi.repository.LivroRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class LivroServiceTest {
+
+    @Autowired
+    LivroService livroService;
+
+    @Autowired
+    AutorRepository autorRepository;
+
+    @Autowired
+    LivroRepository livroRepository;
+
+    @Autowired
+    CacheRespostas cacheRespostas;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    // ISBN e nome do autor são únicos no banco, então cada execução cadastra valores diferentes
+    static final String SUFIXO = String.valueOf(System.currentTimeMillis() % 100000);
+
+    @Test
+    void deletarPorGeneroInvalidaLivrosRemovidosTest() {
+        Autor autor = new Autor();
+        autor.setNome("Agatha " + SUFIXO);
+        autor.setNacionalidade("Britânica");
+        autor.setDataNascimento(LocalDate.of(1890, 9, 15));
+        autorRepository.save(autor);
+
+        Livro livro = new Livro();
+        livro.setTitulo("O Caso dos Dez Negrinhos");
+        livro.setIsbn("88888-" + SUFIXO);
+        livro.setGenero(GeneroLivro.MISTERIO);
+        livro.setDataPublicacao(LocalDate.of(1939, 11, 6));
+        livro.setAutor(autor);
+        livroService.salvar(livro);
+
+        // resposta de GET /livros/{id} marcada com a chave substituta do livro
+        String chave = "GET /livros/" + livro.getId();
+        cacheRespostas.guardar(chave, new RespostaCacheada(new byte[10], "application/json", "\"0\"",
+                Set.of(ChavesSubstitutas.livro(livro.getId()))), cacheRespostas.geracaoAtual());
+        assertNotNull(cacheRespostas.buscar(chave));
+
+        livroService.deletarPorGenero(GeneroLivro.MISTERIO);
+        assertNull(cacheRespostas.buscar(chave));
+
+        assertEquals(0, autorRepository.findById(autor.getId()).orElseThrow().getQuantidadeLivros());
+        autorRepository.deleteById(autor.getId());
+    }
+
+    @Test
+    void tamanhoPaginaInvalidoTest() {
+        for (int tamanhoPagina : new int[]{0, -1, 10_000_000}) {
+            var erro = assertThrows(CampoInvalidoException.class, () -> livroService.pesquisaPorCursor(
+                    null, null, null, null, null, null, tamanhoPagina, TipoBusca.PADRAO));
+            assertEquals("tamanhoPagina", erro.getCampo());
+
+            assertThrows(CampoInvalidoException.class, () -> livroService.pesquisa(
+                    null, null, null, null, null, 0, tamanhoPagina, TipoContagem.EXATA, TipoBusca.PADRAO));
+        }
+    }
+
+    @Test
+    void atualizarParcialSomenteDoPrecoTest() {
+        Autor autor = new Autor();
+        autor.setNome("Clarice " + SUFIXO);
+        autor.setNacionalidade("Brasileira");
+        autor.setDataNascimento(LocalDate.of(1920, 12, 10));
+        autorRepository.save(autor);
+
+        Livro livro = new Livro();
+        livro.setTitulo("A Hora da Estrela");
+        livro.setIsbn("77777-" + SUFIXO);
+        livro.setGenero(GeneroLivro.ROMANCE);
+        livro.setDataPublicacao(LocalDate.of(1977, 10, 26));
+        livro.setPreco(new BigDecimal("39.90"));
+        livro.setAutor(autor);
+        livroService.salvar(livro);
+
+        Autor autorAntes = autorRepository.findById(autor.getId()).orElseThrow();
+        long versaoAntes = livroRepository.findById(livro.getId()).orElseThrow().getVersao();
+
+        // respostas que exibem o livro, uma pesquisa do gênero e o autor com a quantidade de livros
+        String chaveLivro = "GET /livros/" + livro.getId();
+        String chavePesquisa = "GET /livros?genero=ROMANCE";
+        String chaveAutor = "GET /autores/" + autor.getId();
+        guardar(chaveLivro, Set.of(ChavesSubstitutas.livro(livro.getId())));
+        guardar(chavePesquisa, ChavesSubstitutas.pesquisasLivrosAfetadas(GeneroLivro.ROMANCE));
+        guardar(chaveAutor, Set.of(ChavesSubstitutas.autor(autor.getId()),
+                ChavesSubstitutas.quantidadeLivros(autor.getId())));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Livro carregado = livroRepository.findById(livro.getId()).orElseThrow();
+            // alterado por fora da entidade: só é sobrescrito se o UPDATE gravar colunas não alteradas
+            jdbcTemplate.update("UPDATE livro SET titulo = ? WHERE id = ?", "A Hora da Estrela (ed. 2)", livro.getId());
+
+            livroService.atualizarParcial(carregado, null, null, null, null, new BigDecimal("45.00"), null);
+        });
+
+        Livro atualizado = livroRepository.findById(livro.getId()).orElseThrow();
+        assertEquals(0, new BigDecimal("45.00").compareTo(atualizado.getPreco()));
+        assertEquals("A Hora da Estrela (ed. 2)", jdbcTemplate.queryForObject(
+                "SELECT titulo FROM livro WHERE id = ?", String.class, livro.getId()));
+        assertEquals("77777-" + SUFIXO, atualizado.getIsbn());
+        assertEquals(GeneroLivro.ROMANCE, atualizado.getGenero());
+        assertEquals(LocalDate.of(1977, 10, 26), atualizado.getDataPublicacao());
+        assertEquals(autor.getId(), atualizado.getAutor().getId());
+        // a versão é incrementada a cada atualização
+        assertEquals(versaoAntes + 1, atualizado.getVersao());
+
+        Autor autorDepois = autorRepository.findById(autor.getId()).orElseThrow();
+        assertEquals(1, autorDepois.getQuantidadeLivros());
+        assertEquals(autorAntes.getQuantidadeLivros(), autorDepois.getQuantidadeLivros());
+        assertEquals(autorAntes.getVersao(), autorDepois.getVersao());
+
+        // o preço não é filtro das pesquisas nem altera o autor: só a resposta do livro é invalidada
+        assertNull(cacheRespostas.buscar(chaveLivro));
+        assertNotNull(cacheRespostas.buscar(chavePesquisa));
+        assertNotNull(cacheRespostas.buscar(chaveAutor));
+
+        livroService.deletar(atualizado);
+        autorRepository.deleteById(autor.getId());
+    }
+
+    private void guardar(String chave, Set<String> chavesSubstitutas) {
+        cacheRespostas.guardar(chave, new RespostaCacheada(new byte[10], "application/json", "\"0\"",
+                chavesSubstitutas), cacheRespostas.geracaoAtual());
+    }
+}